@@ -0,0 +1,102 @@
+package com.shop.demo.persistence.id;
+
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Bulk load of the migrated {@code products} table with random UUIDs versus {@link TimeOrderedUuidGenerator} ids.
+ * Every invocation inserts {@code rows} products in JDBC batches into a fresh in-memory database, so later batches
+ * go into a primary key index that already holds the earlier rows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ProductInsertBenchmark {
+    private static final BigDecimal PRICE = new BigDecimal("19.99");
+
+    @Param({"RANDOM", "TIME_ORDERED"})
+    private IdStrategy idStrategy;
+
+    @Param({"500000"})
+    private int rows;
+
+    @Param({"1000"})
+    private int batchSize;
+
+    private int database;
+    private Connection connection;
+
+    public enum IdStrategy {
+        RANDOM(UUID::randomUUID),
+        TIME_ORDERED(TimeOrderedUuidGenerator::next);
+
+        private final Supplier<UUID> ids;
+
+        IdStrategy(Supplier<UUID> ids) {
+            this.ids = ids;
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void createDatabase() throws SQLException {
+        var url = "jdbc:h2:mem:insert-benchmark-" + database++ + ";DB_CLOSE_DELAY=-1";
+        Flyway.configure()
+                .dataSource(url, "sa", "")
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+        connection = DriverManager.getConnection(url, "sa", "");
+        connection.setAutoCommit(false);
+    }
+
+    @Benchmark
+    public int insertProducts() throws SQLException {
+        var inserted = 0;
+        try (var statement = connection.prepareStatement(
+                "insert into products (id, name, price, version) values (?, ?, ?, 0)")) {
+            while (inserted < rows) {
+                for (int i = 0; i < batchSize; i++) {
+                    statement.setObject(1, idStrategy.ids.get());
+                    statement.setString(2, "Benchmark product");
+                    statement.setBigDecimal(3, PRICE);
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+                connection.commit();
+                inserted += batchSize;
+            }
+        }
+        return inserted;
+    }
+
+    @TearDown(Level.Iteration)
+    public void dropDatabase() throws SQLException {
+        try (var statement = connection.createStatement()) {
+            statement.execute("shutdown");
+        }
+        connection.close();
+    }
+}
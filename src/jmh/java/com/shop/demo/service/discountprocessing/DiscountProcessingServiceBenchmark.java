@@ -0,0 +1,97 @@
+package com.shop.demo.service.discountprocessing;
+
+import com.shop.demo.persistence.discountpolicy.entity.DiscountType;
+import com.shop.demo.service.discountpolicy.model.DiscountPolicyModel;
+import com.shop.demo.service.discountprocessing.cache.QuoteCache;
+import com.shop.demo.service.discountprocessing.config.CalculationMode;
+import com.shop.demo.service.discountprocessing.config.DiscountProcessingProperties;
+import com.shop.demo.service.discountprocessing.executor.CalculationExecutor;
+import com.shop.demo.service.discountprocessing.factory.DiscountCalculationFactory;
+import com.shop.demo.service.discountprocessing.limit.CalculationLimiter;
+import com.shop.demo.service.discountprocessing.model.DiscountProcessingResult;
+import com.shop.demo.service.discountprocessing.strategy.AmountDiscountStrategy;
+import com.shop.demo.service.discountprocessing.strategy.PercentageDiscountStrategy;
+import com.shop.demo.service.product.model.ProductModel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end {@link DiscountProcessingService#calculate(UUID, int)} against a stubbed {@link StubProductService},
+ * covering tier lookup, strategy dispatch and result assembly.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DiscountProcessingServiceBenchmark {
+
+    @Param({"0", "2", "8", "32"})
+    private int policyCount;
+
+    @Param({"1", "10", "1000"})
+    private int quantity;
+
+    @Param({"DECIMAL", "FIXED_POINT"})
+    private CalculationMode calculationMode;
+
+    @Param({"true", "false"})
+    private boolean cacheEnabled;
+
+    private DiscountProcessingService discountProcessingService;
+    private UUID productId;
+
+    @Setup
+    public void setUp() {
+        var policies = new ArrayList<DiscountPolicyModel>();
+        for (int i = 0; i < policyCount; i++) {
+            var type = i % 2 == 0 ? DiscountType.PERCENTAGE : DiscountType.AMOUNT;
+            policies.add(DiscountPolicyModel.builder()
+                    .id(UUID.randomUUID())
+                    .type(type)
+                    .threshold(1 + i * 5)
+                    .value(type == DiscountType.PERCENTAGE
+                            ? BigDecimal.valueOf(5 + i, 0).setScale(2)
+                            : BigDecimal.valueOf(100 + i * 25L, 2))
+                    .build());
+        }
+
+        productId = UUID.randomUUID();
+        var product = ProductModel.builder()
+                .id(productId)
+                .name("Benchmark product")
+                .price(new BigDecimal("19.99"))
+                .discountPolicies(policies)
+                .build();
+
+        var properties = new DiscountProcessingProperties();
+        properties.setCalculationMode(calculationMode);
+        properties.getCache().setEnabled(cacheEnabled);
+        var factory = new DiscountCalculationFactory(new AmountDiscountStrategy(), new PercentageDiscountStrategy());
+        discountProcessingService = new DiscountProcessingServiceImpl(new StubProductService(product), factory,
+                properties, new QuoteCache(properties),
+                new CalculationExecutor(properties, new SimpleMeterRegistry()),
+                new CalculationLimiter(properties, new SimpleMeterRegistry()));
+    }
+
+    @Benchmark
+    public DiscountProcessingResult calculate() {
+        return discountProcessingService.calculate(productId, quantity);
+    }
+}
@@ -0,0 +1,93 @@
+package com.shop.demo.service.discountprocessing;
+
+import com.shop.demo.service.pagination.KeysetPage;
+import com.shop.demo.service.product.ProductService;
+import com.shop.demo.service.product.model.ProductModel;
+import org.springframework.data.domain.Pageable;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * {@link ProductService} serving a single in-memory product, so benchmarks measure pricing rather than the database.
+ */
+class StubProductService implements ProductService {
+    private final ProductModel product;
+
+    StubProductService(ProductModel product) {
+        this.product = product;
+    }
+
+    @Override
+    public ProductModel getProduct(UUID id) {
+        return ProductModel.builder()
+                .id(product.getId())
+                .name(product.getName())
+                .price(product.getPrice())
+                .discountPolicies(product.getDiscountPolicies())
+                .build();
+    }
+
+    @Override
+    public List<ProductModel> getProducts(Collection<UUID> ids) {
+        return ids.stream().map(this::getProduct).toList();
+    }
+
+    @Override
+    public void forEachProduct(Consumer<ProductModel> consumer) {
+        consumer.accept(getProduct(product.getId()));
+    }
+
+    @Override
+    public ProductModel addDiscountPolicy(UUID productId, UUID discountPolicyId) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public ProductModel removeDiscountPolicy(UUID productId, UUID discountPolicyId) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public int addDiscountPolicyToProducts(UUID discountPolicyId, Collection<UUID> productIds) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public int removeDiscountPolicyFromProducts(UUID discountPolicyId, Collection<UUID> productIds) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public List<ProductModel> getAllProducts(Pageable pageable) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public KeysetPage<ProductModel> scrollProducts(String cursor, int size) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public KeysetPage<ProductModel> scrollProductsByDiscountPolicy(UUID discountPolicyId, String cursor, int size) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public ProductModel createProduct(String name, BigDecimal price) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public ProductModel updateProduct(UUID id, String name, BigDecimal price) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void deleteProduct(UUID id) {
+        throw new UnsupportedOperationException();
+    }
+}
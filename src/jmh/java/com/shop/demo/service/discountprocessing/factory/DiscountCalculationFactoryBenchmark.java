@@ -0,0 +1,41 @@
+package com.shop.demo.service.discountprocessing.factory;
+
+import com.shop.demo.persistence.discountpolicy.entity.DiscountType;
+import com.shop.demo.service.discountprocessing.strategy.AmountDiscountStrategy;
+import com.shop.demo.service.discountprocessing.strategy.DiscountCalculationStrategy;
+import com.shop.demo.service.discountprocessing.strategy.PercentageDiscountStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Strategy lookup cost paid once per applicable policy on every quote.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DiscountCalculationFactoryBenchmark {
+
+    @Param({"AMOUNT", "PERCENTAGE"})
+    private DiscountType discountType;
+
+    private final DiscountCalculationFactory factory =
+            new DiscountCalculationFactory(new AmountDiscountStrategy(), new PercentageDiscountStrategy());
+
+    @Benchmark
+    public DiscountCalculationStrategy getStrategy() {
+        return factory.getStrategy(discountType);
+    }
+}
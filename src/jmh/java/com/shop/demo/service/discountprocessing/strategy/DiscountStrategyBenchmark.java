@@ -0,0 +1,71 @@
+package com.shop.demo.service.discountprocessing.strategy;
+
+import com.shop.demo.service.discountprocessing.money.Cents;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single discount calculation of both strategies in decimal and fixed-point form.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DiscountStrategyBenchmark {
+    private static final BigDecimal PRICE = new BigDecimal("19.99");
+    private static final BigDecimal PERCENTAGE = new BigDecimal("12.50");
+    private static final BigDecimal AMOUNT = new BigDecimal("5.00");
+
+    @Param({"1", "10", "1000"})
+    private int quantity;
+
+    private final PercentageDiscountStrategy percentageStrategy = new PercentageDiscountStrategy();
+    private final AmountDiscountStrategy amountStrategy = new AmountDiscountStrategy();
+
+    private BigDecimal basePrice;
+    private long basePriceCents;
+    private long percentageCents;
+    private long amountCents;
+
+    @Setup
+    public void setUp() {
+        basePrice = PRICE.multiply(BigDecimal.valueOf(quantity));
+        basePriceCents = Cents.toCents(basePrice);
+        percentageCents = Cents.toCents(PERCENTAGE);
+        amountCents = Cents.toCents(AMOUNT);
+    }
+
+    @Benchmark
+    public BigDecimal percentageDecimal() {
+        return percentageStrategy.calculateDiscount(basePrice, PERCENTAGE);
+    }
+
+    @Benchmark
+    public long percentageFixedPoint() {
+        return percentageStrategy.calculateDiscountCents(basePriceCents, percentageCents);
+    }
+
+    @Benchmark
+    public BigDecimal amountDecimal() {
+        return amountStrategy.calculateDiscount(basePrice, AMOUNT);
+    }
+
+    @Benchmark
+    public long amountFixedPoint() {
+        return amountStrategy.calculateDiscountCents(basePriceCents, amountCents);
+    }
+}
@@ -0,0 +1,133 @@
+package com.shop.demo.service.product.mapper;
+
+import com.shop.demo.persistence.discountpolicy.entity.DiscountPolicyEntity;
+import com.shop.demo.persistence.discountpolicy.entity.DiscountType;
+import com.shop.demo.persistence.product.entity.ProductEntity;
+import com.shop.demo.service.discountpolicy.cache.DiscountPolicyInterner;
+import com.shop.demo.service.discountpolicy.mapper.DiscountPolicyMapper;
+import com.shop.demo.service.product.model.ProductModel;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Retained heap of a synthetic in-memory catalog mapped by {@link ProductMapper}, with discount policies interned
+ * by {@link DiscountPolicyInterner} or copied per product as before. The catalog's products reference a small
+ * pool of policies; the per-iteration {@code retainedBytes} counter is the used heap after a full GC minus the
+ * baseline. Run with {@code gradle jmh -Pjmh.includes=ProductMapperFootprintBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class ProductMapperFootprintBenchmark {
+    private static final int POLICY_POOL_SIZE = 16;
+    private static final int PRODUCT_SHAPES = 1024;
+
+    @Param({"1000000"})
+    private int catalogSize;
+
+    @Param({"true", "false"})
+    private boolean interned;
+
+    private final List<ProductEntity> shapes = new ArrayList<>();
+    private Function<ProductEntity, ProductModel> mapping;
+    private List<ProductModel> catalog;
+    private long baselineBytes;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+        public long retainedBytes;
+    }
+
+    @Setup
+    public void setUp() {
+        var policies = new ArrayList<DiscountPolicyEntity>();
+        for (int i = 0; i < POLICY_POOL_SIZE; i++) {
+            var policy = new DiscountPolicyEntity();
+            policy.setId(UUID.randomUUID());
+            policy.setVersion(0L);
+            policy.setType(i % 2 == 0 ? DiscountType.PERCENTAGE : DiscountType.AMOUNT);
+            policy.setThreshold(1 + i);
+            policy.setDiscountValue(BigDecimal.valueOf(100 + i, 2));
+            policies.add(policy);
+        }
+
+        for (int i = 0; i < PRODUCT_SHAPES; i++) {
+            var product = new ProductEntity();
+            product.setId(UUID.randomUUID());
+            product.setName("Product " + i);
+            product.setPrice(new BigDecimal("19.99"));
+            for (int j = 0; j < 1 + i % 4; j++) {
+                product.getDiscountPolicies().add(policies.get((i + j * 5) % POLICY_POOL_SIZE));
+            }
+            shapes.add(product);
+        }
+
+        var discountPolicyMapper = new DiscountPolicyMapper();
+        if (interned) {
+            var productMapper = new ProductMapper(discountPolicyMapper, new DiscountPolicyInterner(discountPolicyMapper));
+            mapping = productMapper::entityToModel;
+        } else {
+            mapping = entity -> ProductModel.builder()
+                    .id(entity.getId())
+                    .name(entity.getName())
+                    .price(entity.getPrice())
+                    .discountPolicies(entity.getDiscountPolicies().stream()
+                            .map(discountPolicyMapper::entityToModel)
+                            .toList())
+                    .build();
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void measureBaseline() {
+        catalog = null;
+        baselineBytes = usedHeapAfterGc();
+    }
+
+    @Benchmark
+    public List<ProductModel> mapCatalog(Footprint footprint) {
+        var models = new ArrayList<ProductModel>(catalogSize);
+        for (int i = 0; i < catalogSize; i++) {
+            models.add(mapping.apply(shapes.get(i % PRODUCT_SHAPES)));
+        }
+        catalog = models;
+        footprint.retainedBytes = usedHeapAfterGc() - baselineBytes;
+        return models;
+    }
+
+    @TearDown(Level.Iteration)
+    public void releaseCatalog() {
+        catalog = null;
+    }
+
+    private static long usedHeapAfterGc() {
+        var runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,134 @@
+package com.shop.demo.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Closed-loop load test of {@code POST /v1/discount-processing/calculate} against a running application. For every
+ * concurrency level it starts that many clients, each sending its next request as soon as the previous one
+ * completes, and prints throughput and latency percentiles. Run it once against the default platform-thread
+ * server and once against the {@code virtual-threads} profile to compare the two.
+ *
+ * <p>Arguments: {@code baseUrl clients duration}, e.g. {@code http://localhost:8080 1000,2500,5000,10000 30s}.
+ */
+public final class QuoteLoadTest {
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*\"([0-9a-f-]{36})\"");
+    private static final Duration WARM_UP = Duration.ofSeconds(5);
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    private final URI baseUri;
+
+    private QuoteLoadTest(URI baseUri) {
+        this.baseUri = baseUri;
+    }
+
+    public static void main(String[] args) throws Exception {
+        var baseUri = URI.create(args.length > 0 ? args[0] : "http://localhost:8080");
+        var clientCounts = Arrays.stream((args.length > 1 ? args[1] : "1000,2500,5000,10000").split(","))
+                .mapToInt(Integer::parseInt)
+                .toArray();
+        var duration = Duration.parse("PT" + (args.length > 2 ? args[2] : "30s").toUpperCase());
+
+        var loadTest = new QuoteLoadTest(baseUri);
+        var body = "{\"productId\":\"" + loadTest.createProduct() + "\",\"quantity\":10}";
+
+        System.out.printf("%8s %12s %10s %10s %10s %10s%n", "clients", "req/s", "p50 ms", "p99 ms", "max ms", "errors");
+        for (int clients : clientCounts) {
+            loadTest.run(clients, WARM_UP, body);
+            var result = loadTest.run(clients, duration, body);
+            System.out.printf("%8d %12.1f %10.1f %10.1f %10.1f %10d%n", clients,
+                    result.throughput(duration), result.percentileMillis(0.50), result.percentileMillis(0.99),
+                    result.percentileMillis(1.0), result.errors.get());
+        }
+    }
+
+    private String createProduct() throws Exception {
+        var productId = post("/v1/products", "{\"name\":\"Load test product\",\"price\":19.99}");
+        var policyId = post("/v1/discount-policies",
+                "{\"type\":\"PERCENTAGE\",\"threshold\":" + (1 + (System.nanoTime() & 0xFFFF)) + ",\"value\":5.00}");
+        post("/v1/products/" + productId + "/discount-policies/" + policyId, "");
+        return productId;
+    }
+
+    private String post(String path, String body) throws Exception {
+        var response = client.send(request(path, body), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(path + " returned " + response.statusCode() + ": " + response.body());
+        }
+        var matcher = ID.matcher(response.body());
+        return matcher.find() ? matcher.group(1) : null;
+    }
+
+    private HttpRequest request(String path, String body) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private Result run(int clients, Duration duration, String body) {
+        var deadline = System.nanoTime() + duration.toNanos();
+        var result = new Result();
+        var request = request("/v1/discount-processing/calculate", body);
+        var loops = new CompletableFuture<?>[clients];
+        for (int i = 0; i < clients; i++) {
+            loops[i] = loop(request, deadline, result);
+        }
+        CompletableFuture.allOf(loops).join();
+        return result;
+    }
+
+    private CompletableFuture<Void> loop(HttpRequest request, long deadline, Result result) {
+        if (System.nanoTime() - deadline >= 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+        var start = System.nanoTime();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .handle((response, error) -> {
+                    result.record(System.nanoTime() - start, error == null && response.statusCode() == 200);
+                    return null;
+                })
+                .thenCompose(ignored -> loop(request, deadline, result));
+    }
+
+    private static final class Result {
+        private final ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        private final AtomicLong completed = new AtomicLong();
+        private final AtomicLong errors = new AtomicLong();
+        private long[] sorted;
+
+        void record(long latencyNanos, boolean success) {
+            latencies.add(latencyNanos);
+            completed.incrementAndGet();
+            if (!success) {
+                errors.incrementAndGet();
+            }
+        }
+
+        double throughput(Duration duration) {
+            return completed.get() / (duration.toMillis() / 1000.0);
+        }
+
+        double percentileMillis(double percentile) {
+            if (sorted == null) {
+                sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+            }
+            if (sorted.length == 0) {
+                return Double.NaN;
+            }
+            var index = (int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1);
+            return sorted[Math.max(index, 0)] / 1_000_000.0;
+        }
+    }
+}
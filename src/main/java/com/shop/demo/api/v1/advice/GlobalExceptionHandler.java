@@ -2,10 +2,12 @@ package com.shop.demo.api.v1.advice;
 
 import com.shop.demo.api.v1.advice.dto.ErrorResponse;
 import com.shop.demo.exception.AbstractShopDemoException;
+import org.springframework.core.NestedExceptionUtils;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -22,9 +24,22 @@ public class GlobalExceptionHandler {
     public ResponseEntity<ErrorResponse> handleShopDemoException(AbstractShopDemoException ex) {
         return ResponseEntity
                 .status(ex.getErrorStatus())
+                .headers(ex.getErrorHeaders())
                 .body(buildErrorResponse(ex));
     }
 
+    /**
+     * A bulkhead that has no connection left for the request fails the connection acquisition, which the
+     * transaction manager reports as a failure to begin the transaction.
+     */
+    @ExceptionHandler(CannotCreateTransactionException.class)
+    public ResponseEntity<ErrorResponse> handleCannotCreateTransactionException(CannotCreateTransactionException ex) {
+        if (NestedExceptionUtils.getMostSpecificCause(ex) instanceof AbstractShopDemoException cause) {
+            return handleShopDemoException(cause);
+        }
+        throw ex;
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleMethodArgumentNotValidException(MethodArgumentNotValidException ex) {
         var responseBody = ErrorResponse.builder()
@@ -0,0 +1,47 @@
+package com.shop.demo.api.v1.bulkhead;
+
+import com.shop.demo.service.concurrency.bulkhead.Bulkhead;
+import com.shop.demo.service.concurrency.bulkhead.BulkheadContext;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Admits a request into its API group's bulkhead, or fails it with 503 when the group is saturated. The permit is
+ * held until the request completes, including any asynchronous processing, and is released exactly once.
+ */
+public class BulkheadInterceptor implements AsyncHandlerInterceptor {
+    private final Bulkhead bulkhead;
+    private final String permitAttribute;
+
+    public BulkheadInterceptor(Bulkhead bulkhead) {
+        this.bulkhead = bulkhead;
+        this.permitAttribute = BulkheadInterceptor.class.getName() + "." + bulkhead.getName();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getAttribute(permitAttribute) == null) {
+            bulkhead.acquireCall();
+            request.setAttribute(permitAttribute, Boolean.TRUE);
+        }
+        BulkheadContext.set(bulkhead);
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        BulkheadContext.clear();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        BulkheadContext.clear();
+        if (request.getAttribute(permitAttribute) != null) {
+            request.removeAttribute(permitAttribute);
+            bulkhead.releaseCall();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.shop.demo.api.v1.bulkhead.config;
+
+import com.shop.demo.api.v1.bulkhead.BulkheadInterceptor;
+import com.shop.demo.service.concurrency.bulkhead.Bulkhead;
+import com.shop.demo.service.concurrency.bulkhead.BulkheadTaskDecorator;
+import com.shop.demo.service.concurrency.config.BulkheadProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Puts every API group configured under {@code shop.bulkhead.groups} behind its own {@link Bulkhead}, so that a
+ * saturated group is rejected with 503 instead of taking request threads and connections from the others.
+ * The {@link TaskDecorator} is picked up by Spring Boot's {@code applicationTaskExecutor}, which runs asynchronous
+ * request processing such as streamed responses, so that work stays in the request's bulkhead.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "shop.bulkhead", name = "enabled", havingValue = "true")
+public class BulkheadWebConfiguration implements WebMvcConfigurer {
+    private final BulkheadProperties properties;
+    private final List<Bulkhead> bulkheads;
+
+    public BulkheadWebConfiguration(BulkheadProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.bulkheads = properties.getGroups().entrySet().stream()
+                .map(group -> new Bulkhead(group.getKey(), group.getValue(), meterRegistry))
+                .toList();
+    }
+
+    @Bean
+    public TaskDecorator bulkheadTaskDecorator() {
+        return new BulkheadTaskDecorator();
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        for (Bulkhead bulkhead : bulkheads) {
+            var group = properties.getGroups().get(bulkhead.getName());
+            registry.addInterceptor(new BulkheadInterceptor(bulkhead))
+                    .addPathPatterns(group.getPathPatterns())
+                    .excludePathPatterns(group.getExcludedPathPatterns());
+        }
+    }
+}
@@ -4,6 +4,9 @@ import com.shop.demo.api.v1.advice.dto.ErrorResponse;
 import com.shop.demo.api.v1.discountpolicy.dto.AddDiscountPolicyRequest;
 import com.shop.demo.api.v1.discountpolicy.dto.DiscountPolicyResponse;
 import com.shop.demo.api.v1.discountpolicy.dto.UpdateDiscountPolicyRequest;
+import com.shop.demo.api.v1.pagination.dto.CursorPageResponse;
+import com.shop.demo.api.v1.pagination.dto.ScrollRequest;
+import com.shop.demo.api.v1.product.dto.ProductResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -12,6 +15,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -61,6 +65,56 @@ public interface DiscountPolicyApi {
             @Parameter(description = "Number of items per page", required = true, example = "10")
             @RequestParam int pageSize);
 
+    @Operation(
+            summary = "Scroll discount policies",
+            description = "Retrieves a page of discount policies ordered by ID. Pass the returned nextCursor to get " +
+                    "the next page; every page costs the same regardless of its position and no total count is calculated"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Discount policies retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = CursorPageResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid cursor or page size",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+            )
+    })
+    @GetMapping("/scroll")
+    ResponseEntity<CursorPageResponse<DiscountPolicyResponse>> scrollDiscountPolicies(
+            @ParameterObject @Valid ScrollRequest request);
+
+    @Operation(
+            summary = "Scroll products using a discount policy",
+            description = "Retrieves a page of the products the discount policy is attached to, ordered by ID. " +
+                    "Pass the returned nextCursor to get the next page; the lookup goes through the policy index, " +
+                    "so its cost depends on the number of affected products rather than on the catalog size"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Products retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = CursorPageResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid cursor or page size",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Discount policy not found",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+            )
+    })
+    @GetMapping("/{discountPolicyId}/products")
+    ResponseEntity<CursorPageResponse<ProductResponse>> scrollDiscountPolicyProducts(
+            @Parameter(description = "ID of the discount policy", required = true)
+            @PathVariable UUID discountPolicyId,
+            @ParameterObject @Valid ScrollRequest request);
+
     @Operation(
             summary = "Create new discount policy",
             description = "Creates a new discount policy with the provided details"
@@ -4,9 +4,14 @@ import com.shop.demo.api.v1.discountpolicy.api.DiscountPolicyApi;
 import com.shop.demo.api.v1.discountpolicy.dto.AddDiscountPolicyRequest;
 import com.shop.demo.api.v1.discountpolicy.dto.DiscountPolicyResponse;
 import com.shop.demo.api.v1.discountpolicy.dto.UpdateDiscountPolicyRequest;
+import com.shop.demo.api.v1.pagination.dto.CursorPageResponse;
+import com.shop.demo.api.v1.pagination.dto.ScrollRequest;
+import com.shop.demo.api.v1.product.dto.ProductResponse;
 import com.shop.demo.service.discountpolicy.DiscountPolicyService;
 import com.shop.demo.service.discountpolicy.mapper.DiscountPolicyMapper;
 import com.shop.demo.service.discountpolicy.model.DiscountPolicyModel;
+import com.shop.demo.service.product.ProductService;
+import com.shop.demo.service.product.mapper.ProductMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.http.ResponseEntity;
@@ -20,6 +25,8 @@ import java.util.UUID;
 public class DiscountPolicyController implements DiscountPolicyApi {
     private final DiscountPolicyService discountPolicyService;
     private final DiscountPolicyMapper mapper;
+    private final ProductService productService;
+    private final ProductMapper productMapper;
 
     @Override
     public ResponseEntity<DiscountPolicyResponse> getDiscountPolicy(UUID discountPolicyId) {
@@ -35,6 +42,27 @@ public class DiscountPolicyController implements DiscountPolicyApi {
         return ResponseEntity.ok(response);
     }
 
+    @Override
+    public ResponseEntity<CursorPageResponse<DiscountPolicyResponse>> scrollDiscountPolicies(ScrollRequest request) {
+        var result = discountPolicyService.scrollDiscountPolicies(request.getCursor(), request.getSize());
+        var response = CursorPageResponse.<DiscountPolicyResponse>builder()
+                .items(mapper.modelToResponse(result.getItems()))
+                .nextCursor(result.getNextCursor())
+                .build();
+        return ResponseEntity.ok(response);
+    }
+
+    @Override
+    public ResponseEntity<CursorPageResponse<ProductResponse>> scrollDiscountPolicyProducts(UUID discountPolicyId,
+                                                                                          ScrollRequest request) {
+        var result = productService.scrollProductsByDiscountPolicy(discountPolicyId, request.getCursor(), request.getSize());
+        var response = CursorPageResponse.<ProductResponse>builder()
+                .items(productMapper.modelToResponse(result.getItems()))
+                .nextCursor(result.getNextCursor())
+                .build();
+        return ResponseEntity.ok(response);
+    }
+
     @Override
     public ResponseEntity<DiscountPolicyResponse> addDiscountPolicy(AddDiscountPolicyRequest request) {
         var result = discountPolicyService.addDiscountPolicy(request.getType(), request.getThreshold(), request.getValue());
@@ -1,8 +1,13 @@
 package com.shop.demo.api.v1.discountprocessing.api;
 
 import com.shop.demo.api.v1.advice.dto.ErrorResponse;
+import com.shop.demo.api.v1.discountprocessing.dto.CalculateCartRequest;
 import com.shop.demo.api.v1.discountprocessing.dto.CalculateDiscountRequest;
+import com.shop.demo.api.v1.discountprocessing.dto.PriceCurveResponse;
+import com.shop.demo.api.v1.discountprocessing.dto.PriceListRequest;
+import com.shop.demo.service.discountprocessing.model.CartProcessingResult;
 import com.shop.demo.service.discountprocessing.model.DiscountProcessingResult;
+import com.shop.demo.service.discountprocessing.model.PriceListEntry;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -11,10 +16,18 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.UUID;
 
 @Tag(name = "Discount Processing", description = "API for processing product discounts")
 @RequestMapping("/v1/discount-processing")
@@ -39,10 +52,87 @@ public interface DiscountProcessingApi {
             responseCode = "404",
             description = "Product not found",
             content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "503",
+            description = "Concurrency limit reached (with Retry-After), calculation capacity exhausted or calculation timed out",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class))
         )
     })
     @PostMapping("/calculate")
-    ResponseEntity<DiscountProcessingResult> calculate(
+    DeferredResult<ResponseEntity<DiscountProcessingResult>> calculate(
             @Parameter(description = "Discount calculation request", required = true)
             @Valid @RequestBody CalculateDiscountRequest request);
+
+    @Operation(
+        summary = "Calculate discounts for cart",
+        description = "Calculates applicable discounts for every cart line and the cart totals, " +
+                "loading all products of the cart at once"
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Cart discounts calculated successfully",
+            content = @Content(schema = @Schema(implementation = CartProcessingResult.class))
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid input parameters",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "One or more products not found",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+        )
+    })
+    @PostMapping("/calculate-cart")
+    ResponseEntity<CartProcessingResult> calculateCart(
+            @Parameter(description = "Cart discount calculation request", required = true)
+            @Valid @RequestBody CalculateCartRequest request);
+
+    @Operation(
+        summary = "Get price curve of product",
+        description = "Returns every quantity breakpoint of the product with the discount policies applied from it " +
+                "and the price formula, so the price of any quantity can be calculated without further calls"
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Price curve calculated successfully",
+            content = @Content(schema = @Schema(implementation = PriceCurveResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Product not found",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+        )
+    })
+    @GetMapping("/products/{productId}/price-curve")
+    ResponseEntity<PriceCurveResponse> getPriceCurve(
+            @Parameter(description = "Product ID", required = true)
+            @PathVariable UUID productId);
+
+    @Operation(
+        summary = "Export price list",
+        description = "Streams the discounted price of every product at the given quantity " +
+                "as newline-delimited JSON, one product per line ordered by product ID"
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Price list streamed successfully",
+            content = @Content(
+                mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                schema = @Schema(implementation = PriceListEntry.class))
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid input parameters",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+        )
+    })
+    @GetMapping(value = "/price-list", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    ResponseEntity<StreamingResponseBody> exportPriceList(
+            @ParameterObject @Valid PriceListRequest request);
 }
@@ -1,20 +1,97 @@
 package com.shop.demo.api.v1.discountprocessing.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.shop.demo.api.v1.discountprocessing.api.DiscountProcessingApi;
+import com.shop.demo.api.v1.discountprocessing.dto.CalculateCartRequest;
 import com.shop.demo.api.v1.discountprocessing.dto.CalculateDiscountRequest;
+import com.shop.demo.api.v1.discountprocessing.dto.PriceCurveResponse;
+import com.shop.demo.api.v1.discountprocessing.dto.PriceListRequest;
 import com.shop.demo.service.discountprocessing.DiscountProcessingService;
+import com.shop.demo.service.discountprocessing.mapper.PriceCurveMapper;
+import com.shop.demo.service.discountprocessing.model.CartItem;
+import com.shop.demo.service.discountprocessing.model.CartProcessingResult;
 import com.shop.demo.service.discountprocessing.model.DiscountProcessingResult;
+import com.shop.demo.service.discountprocessing.model.PriceListEntry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
 
 @RestController
 @RequiredArgsConstructor
 public class DiscountProcessingController implements DiscountProcessingApi {
     private final DiscountProcessingService discountProcessingService;
+    private final PriceCurveMapper priceCurveMapper;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Releases the servlet thread while the quote is calculated on the calculation executor. A request that times out
+     * on the servlet side or whose connection fails cancels the calculation.
+     */
+    @Override
+    public DeferredResult<ResponseEntity<DiscountProcessingResult>> calculate(CalculateDiscountRequest request) {
+        var future = discountProcessingService.calculateAsync(request.getProductId(), request.getQuantity());
+        var result = new DeferredResult<ResponseEntity<DiscountProcessingResult>>();
+        result.onTimeout(() -> future.cancel(true));
+        result.onError(error -> future.cancel(true));
+        future.whenComplete((value, error) -> {
+            if (error != null) {
+                result.setErrorResult(error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause()
+                        : error);
+            } else {
+                result.setResult(ResponseEntity.ok(value));
+            }
+        });
+        return result;
+    }
+
+    @Override
+    public ResponseEntity<CartProcessingResult> calculateCart(CalculateCartRequest request) {
+        var items = request.getItems().stream()
+                .map(item -> CartItem.builder()
+                        .productId(item.getProductId())
+                        .quantity(item.getQuantity())
+                        .build())
+                .toList();
+        return ResponseEntity.ok(discountProcessingService.calculateCart(items));
+    }
+
+    @Override
+    public ResponseEntity<PriceCurveResponse> getPriceCurve(UUID productId) {
+        var priceCurve = discountProcessingService.getPriceCurve(productId);
+        return ResponseEntity.ok(priceCurveMapper.modelToResponse(priceCurve));
+    }
 
     @Override
-    public ResponseEntity<DiscountProcessingResult> calculate(CalculateDiscountRequest request) {
-        return ResponseEntity.ok(discountProcessingService.calculate(request.getProductId(), request.getQuantity()));
+    public ResponseEntity<StreamingResponseBody> exportPriceList(PriceListRequest request) {
+        var writer = objectMapper.writerFor(PriceListEntry.class)
+                .withRootValueSeparator((String) null)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        StreamingResponseBody body = outputStream -> {
+            try (var generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                discountProcessingService.exportPriceList(request.getQuantity(), entry -> {
+                    try {
+                        writer.writeValue(generator, entry);
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 }
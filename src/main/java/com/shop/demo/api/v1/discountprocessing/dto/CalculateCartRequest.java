@@ -0,0 +1,20 @@
+package com.shop.demo.api.v1.discountprocessing.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Schema(description = "Request for calculating discounts of a whole cart")
+public class CalculateCartRequest {
+    @Schema(description = "Cart lines to calculate discounts for",
+           required = true)
+    @NotEmpty(message = "Cart must contain at least one line")
+    @Size(max = 500, message = "Cart must not contain more than 500 lines")
+    private List<@NotNull @Valid CalculateDiscountRequest> items;
+}
@@ -0,0 +1,27 @@
+package com.shop.demo.api.v1.discountprocessing.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+@Builder
+@Getter
+@Schema(description = "Piecewise price curve of a product over all quantities. Within a segment the price of " +
+        "quantity q is totalPrice = unitPrice * q, discount = round(totalPrice * percentageDiscount / 100, 2, HALF_EVEN) " +
+        "+ amountDiscount and finalPrice = max(0, totalPrice - discount)")
+public class PriceCurveResponse {
+    @Schema(description = "Product ID",
+            example = "123e4567-e89b-12d3-a456-426614174000")
+    private UUID productId;
+
+    @Schema(description = "Price of a single product before discount",
+            example = "20.00")
+    private BigDecimal unitPrice;
+
+    @Schema(description = "Consecutive quantity segments starting at quantity 1, the last one is unbounded")
+    private List<PriceCurveSegmentResponse> segments;
+}
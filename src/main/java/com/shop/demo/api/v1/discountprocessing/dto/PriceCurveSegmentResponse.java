@@ -0,0 +1,38 @@
+package com.shop.demo.api.v1.discountprocessing.dto;
+
+import com.shop.demo.api.v1.discountpolicy.dto.DiscountPolicyResponse;
+import com.shop.demo.service.discountprocessing.model.DiscountProcessingResult;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Builder
+@Getter
+@Schema(description = "Range of quantities sharing the same applicable discount policies")
+public class PriceCurveSegmentResponse {
+    @Schema(description = "First quantity of the segment",
+            example = "5")
+    private int fromQuantity;
+
+    @Schema(description = "Last quantity of the segment, null for the last segment",
+            example = "9",
+            nullable = true)
+    private Integer toQuantity;
+
+    @Schema(description = "Discount policies applied to every quantity of the segment")
+    private List<DiscountPolicyResponse> policies;
+
+    @Schema(description = "Percentage taken off the total price",
+            example = "10.00")
+    private BigDecimal percentageDiscount;
+
+    @Schema(description = "Fixed amount taken off the total price",
+            example = "5.00")
+    private BigDecimal amountDiscount;
+
+    @Schema(description = "Calculated price at the first quantity of the segment")
+    private DiscountProcessingResult startPrice;
+}
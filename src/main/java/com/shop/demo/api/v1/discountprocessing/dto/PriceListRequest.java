@@ -0,0 +1,16 @@
+package com.shop.demo.api.v1.discountprocessing.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+
+@Data
+@Schema(description = "Request for exporting the price list of all products")
+public class PriceListRequest {
+    @Schema(description = "Quantity of products to calculate prices for",
+           example = "5",
+           minimum = "1",
+           required = true)
+    @Positive(message = "Quantity must be greater than zero")
+    private int quantity;
+}
@@ -0,0 +1,20 @@
+package com.shop.demo.api.v1.pagination.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Builder
+@Schema(description = "Page of a cursor-based listing")
+public class CursorPageResponse<T> {
+    @Schema(description = "Items of the page ordered by ID")
+    private List<T> items;
+
+    @Schema(description = "Cursor of the next page, null when this is the last page",
+            example = "Ej5FZ-ibEtOkVkJmFBdAAA",
+            nullable = true)
+    private String nextCursor;
+}
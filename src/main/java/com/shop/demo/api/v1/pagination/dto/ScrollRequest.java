@@ -0,0 +1,22 @@
+package com.shop.demo.api.v1.pagination.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+
+@Data
+@Schema(description = "Request for a page of a cursor-based listing")
+public class ScrollRequest {
+    @Schema(description = "Cursor returned as nextCursor by the previous page, omitted for the first page",
+           example = "Ej5FZ-ibEtOkVkJmFBdAAA")
+    private String cursor;
+
+    @Schema(description = "Number of items per page",
+           example = "20",
+           minimum = "1",
+           maximum = "500")
+    @Min(value = 1, message = "Size must be greater than or equal to 1")
+    @Max(value = 500, message = "Size must be less than or equal to 500")
+    private int size = 20;
+}
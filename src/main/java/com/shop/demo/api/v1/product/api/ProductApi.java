@@ -1,6 +1,10 @@
 package com.shop.demo.api.v1.product.api;
 
 import com.shop.demo.api.v1.advice.dto.ErrorResponse;
+import com.shop.demo.api.v1.pagination.dto.CursorPageResponse;
+import com.shop.demo.api.v1.pagination.dto.ScrollRequest;
+import com.shop.demo.api.v1.product.dto.BulkDiscountPolicyRequest;
+import com.shop.demo.api.v1.product.dto.BulkDiscountPolicyResponse;
 import com.shop.demo.api.v1.product.dto.CreateProductRequest;
 import com.shop.demo.api.v1.product.dto.ProductResponse;
 import com.shop.demo.api.v1.product.dto.UpdateProductRequest;
@@ -12,6 +16,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -61,6 +66,27 @@ public interface ProductApi {
             @Parameter(description = "Number of items per page", required = true, example = "10")
             @RequestParam int pageSize);
 
+    @Operation(
+        summary = "Scroll products",
+        description = "Retrieves a page of products ordered by ID. Pass the returned nextCursor to get the next page; " +
+                "every page costs the same regardless of its position and no total count is calculated"
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Products retrieved successfully",
+            content = @Content(schema = @Schema(implementation = CursorPageResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid cursor or page size",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+        )
+    })
+    @GetMapping("/scroll")
+    ResponseEntity<CursorPageResponse<ProductResponse>> scrollProducts(
+            @ParameterObject @Valid ScrollRequest request);
+
     @Operation(
         summary = "Create new product",
         description = "Creates a new product with the provided details"
@@ -149,6 +175,11 @@ public interface ProductApi {
             responseCode = "400",
             description = "Product already contains this discount policy",
             content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "409",
+            description = "The product kept being modified concurrently",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class))
         )
     })
     @PostMapping("/{productId}/discount-policies/{discountPolicyId}")
@@ -180,4 +211,71 @@ public interface ProductApi {
             @PathVariable UUID productId,
             @Parameter(description = "ID of the discount policy to remove", required = true)
             @PathVariable UUID discountPolicyId);
+
+    @Operation(
+        summary = "Add discount policy to many products",
+        description = "Adds a discount policy to all given products in one operation. Nothing is changed when " +
+                "any product is missing or already contains a policy with the same type, threshold and value"
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Discount policy added successfully",
+            content = @Content(schema = @Schema(implementation = BulkDiscountPolicyResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid input data",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Product or discount policy not found",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "406",
+            description = "A product already contains the same discount policy",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "409",
+            description = "The products kept being modified concurrently",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+        )
+    })
+    @PostMapping("/discount-policies/{discountPolicyId}/attach")
+    ResponseEntity<BulkDiscountPolicyResponse> addDiscountPolicyToProducts(
+            @Parameter(description = "ID of the discount policy to add", required = true)
+            @PathVariable UUID discountPolicyId,
+            @Parameter(description = "Products to add the discount policy to", required = true)
+            @RequestBody @Valid BulkDiscountPolicyRequest request);
+
+    @Operation(
+        summary = "Remove discount policy from many products",
+        description = "Removes a discount policy from all given products in one operation"
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Discount policy removed successfully",
+            content = @Content(schema = @Schema(implementation = BulkDiscountPolicyResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid input data",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Product not found",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+        )
+    })
+    @PostMapping("/discount-policies/{discountPolicyId}/detach")
+    ResponseEntity<BulkDiscountPolicyResponse> removeDiscountPolicyFromProducts(
+            @Parameter(description = "ID of the discount policy to remove", required = true)
+            @PathVariable UUID discountPolicyId,
+            @Parameter(description = "Products to remove the discount policy from", required = true)
+            @RequestBody @Valid BulkDiscountPolicyRequest request);
 }
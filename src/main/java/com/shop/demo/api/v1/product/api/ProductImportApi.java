@@ -0,0 +1,47 @@
+package com.shop.demo.api.v1.product.api;
+
+import com.shop.demo.service.product.model.ProductImportResult;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+import java.io.InputStream;
+
+@Tag(name = "Products", description = "API for managing products")
+@RequestMapping("/v1/products")
+public interface ProductImportApi {
+
+    @Operation(
+        summary = "Import products",
+        description = "Creates products from an NDJSON body (one create product request per line) or a CSV body " +
+                "(name,price with an optional header). Rows are validated one by one and inserted in batches; " +
+                "invalid rows are reported and do not stop the import"
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Import finished",
+            content = @Content(schema = @Schema(implementation = ProductImportResult.class))
+        ),
+        @ApiResponse(
+            responseCode = "415",
+            description = "Unsupported content type"
+        )
+    })
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, "text/csv"})
+    ResponseEntity<ProductImportResult> importProducts(
+            @Parameter(hidden = true)
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            @Parameter(description = "NDJSON or CSV rows", required = true)
+            InputStream body);
+}
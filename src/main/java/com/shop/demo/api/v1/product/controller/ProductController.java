@@ -1,6 +1,10 @@
 package com.shop.demo.api.v1.product.controller;
 
+import com.shop.demo.api.v1.pagination.dto.CursorPageResponse;
+import com.shop.demo.api.v1.pagination.dto.ScrollRequest;
 import com.shop.demo.api.v1.product.api.ProductApi;
+import com.shop.demo.api.v1.product.dto.BulkDiscountPolicyRequest;
+import com.shop.demo.api.v1.product.dto.BulkDiscountPolicyResponse;
 import com.shop.demo.api.v1.product.dto.CreateProductRequest;
 import com.shop.demo.api.v1.product.dto.ProductResponse;
 import com.shop.demo.api.v1.product.dto.UpdateProductRequest;
@@ -33,6 +37,16 @@ public class ProductController implements ProductApi {
         return ResponseEntity.ok(response);
     }
 
+    @Override
+    public ResponseEntity<CursorPageResponse<ProductResponse>> scrollProducts(ScrollRequest request) {
+        var result = productService.scrollProducts(request.getCursor(), request.getSize());
+        var response = CursorPageResponse.<ProductResponse>builder()
+                .items(mapper.modelToResponse(result.getItems()))
+                .nextCursor(result.getNextCursor())
+                .build();
+        return ResponseEntity.ok(response);
+    }
+
     @Override
     public ResponseEntity<ProductResponse> createProduct(CreateProductRequest request) {
         var result = productService.createProduct(request.getName(), request.getPrice());
@@ -66,4 +80,25 @@ public class ProductController implements ProductApi {
         var response = mapper.modelToResponse(result);
         return ResponseEntity.ok(response);
     }
+
+    @Override
+    public ResponseEntity<BulkDiscountPolicyResponse> addDiscountPolicyToProducts(UUID discountPolicyId,
+                                                                                  BulkDiscountPolicyRequest request) {
+        var updated = productService.addDiscountPolicyToProducts(discountPolicyId, request.getProductIds());
+        return ResponseEntity.ok(bulkResponse(discountPolicyId, updated));
+    }
+
+    @Override
+    public ResponseEntity<BulkDiscountPolicyResponse> removeDiscountPolicyFromProducts(UUID discountPolicyId,
+                                                                                       BulkDiscountPolicyRequest request) {
+        var updated = productService.removeDiscountPolicyFromProducts(discountPolicyId, request.getProductIds());
+        return ResponseEntity.ok(bulkResponse(discountPolicyId, updated));
+    }
+
+    private BulkDiscountPolicyResponse bulkResponse(UUID discountPolicyId, int updated) {
+        return BulkDiscountPolicyResponse.builder()
+                .discountPolicyId(discountPolicyId)
+                .updatedProducts(updated)
+                .build();
+    }
 }
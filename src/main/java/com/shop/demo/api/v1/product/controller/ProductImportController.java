@@ -0,0 +1,26 @@
+package com.shop.demo.api.v1.product.controller;
+
+import com.shop.demo.api.v1.product.api.ProductImportApi;
+import com.shop.demo.api.v1.product.importer.ProductImportReader;
+import com.shop.demo.service.product.importing.ProductImportService;
+import com.shop.demo.service.product.model.ProductImportResult;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.InputStream;
+
+@RestController
+@RequiredArgsConstructor
+public class ProductImportController implements ProductImportApi {
+    private final ProductImportService productImportService;
+    private final ProductImportReader reader;
+
+    @Override
+    public ResponseEntity<ProductImportResult> importProducts(MediaType contentType, InputStream body) {
+        try (var rows = reader.read(body, contentType)) {
+            return ResponseEntity.ok(productImportService.importProducts(rows));
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.shop.demo.api.v1.product.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Schema(description = "Request for attaching or detaching a discount policy to many products")
+public class BulkDiscountPolicyRequest {
+    @Schema(description = "IDs of the products to update",
+            required = true)
+    @NotEmpty(message = "Product ids must not be empty")
+    @Size(max = 10_000, message = "Product ids must not contain more than 10000 ids")
+    private List<@NotNull UUID> productIds;
+}
@@ -0,0 +1,20 @@
+package com.shop.demo.api.v1.product.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.UUID;
+
+@Builder
+@Getter
+@Schema(description = "Response of a bulk discount policy update")
+public class BulkDiscountPolicyResponse {
+    @Schema(description = "ID of the discount policy",
+            example = "123e4567-e89b-12d3-a456-426614174000")
+    private UUID discountPolicyId;
+
+    @Schema(description = "Number of products whose discount policies were changed",
+            example = "250")
+    private int updatedProducts;
+}
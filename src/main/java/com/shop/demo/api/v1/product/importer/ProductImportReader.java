@@ -0,0 +1,161 @@
+package com.shop.demo.api.v1.product.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.shop.demo.api.v1.product.dto.CreateProductRequest;
+import com.shop.demo.service.product.model.ProductImportRow;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Lazily parses a bulk import body into {@link ProductImportRow}s. Every row is validated with the same constraints
+ * as {@link CreateProductRequest}, so only the current line is held in memory.
+ */
+@Component
+public class ProductImportReader {
+    public static final MediaType TEXT_CSV = MediaType.valueOf("text/csv");
+    private static final String CSV_HEADER = "name,price";
+
+    private final ObjectReader jsonReader;
+    private final Validator validator;
+
+    public ProductImportReader(ObjectMapper objectMapper, Validator validator) {
+        this.jsonReader = objectMapper.readerFor(CreateProductRequest.class);
+        this.validator = validator;
+    }
+
+    /**
+     * Returns the rows of the body; the stream must be closed to release the body.
+     */
+    public Stream<ProductImportRow> read(InputStream body, MediaType contentType) {
+        var csv = TEXT_CSV.isCompatibleWith(contentType);
+        var reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        var lineNumber = new AtomicLong();
+
+        return reader.lines()
+                .map(line -> new Line(lineNumber.incrementAndGet(), line))
+                .filter(line -> !line.getText().isBlank())
+                .filter(line -> !(csv && line.getNumber() == 1 && CSV_HEADER.equalsIgnoreCase(line.getText().strip())))
+                .map(line -> csv ? parseCsv(line) : parseJson(line))
+                .onClose(() -> close(reader));
+    }
+
+    private ProductImportRow parseJson(Line line) {
+        try {
+            return validate(line.getNumber(), jsonReader.readValue(line.getText()));
+        } catch (JsonProcessingException e) {
+            return failure(line.getNumber(), "Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private ProductImportRow parseCsv(Line line) {
+        var fields = splitCsv(line.getText());
+        if (fields == null || fields.size() != 2) {
+            return failure(line.getNumber(), "Expected 2 CSV fields: name,price");
+        }
+
+        var request = new CreateProductRequest();
+        request.setName(fields.get(0));
+        try {
+            request.setPrice(fields.get(1).isBlank() ? null : new BigDecimal(fields.get(1).strip()));
+        } catch (NumberFormatException e) {
+            return failure(line.getNumber(), "price:Price must be a number");
+        }
+        return validate(line.getNumber(), request);
+    }
+
+    private ProductImportRow validate(long lineNumber, CreateProductRequest request) {
+        var violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return failure(lineNumber, violations.stream()
+                    .map(this::describe)
+                    .sorted()
+                    .collect(Collectors.joining(";")));
+        }
+        if (request.getPrice() == null) {
+            return failure(lineNumber, "price:Price must not be null");
+        }
+
+        return ProductImportRow.builder()
+                .lineNumber(lineNumber)
+                .name(request.getName())
+                .price(request.getPrice())
+                .build();
+    }
+
+    private String describe(ConstraintViolation<CreateProductRequest> violation) {
+        return String.format("%s:%s", violation.getPropertyPath(), violation.getMessage());
+    }
+
+    private ProductImportRow failure(long lineNumber, String error) {
+        return ProductImportRow.builder()
+                .lineNumber(lineNumber)
+                .error(error)
+                .build();
+    }
+
+    /**
+     * Splits a single-line RFC 4180 record; returns {@code null} for an unterminated quoted field.
+     */
+    private List<String> splitCsv(String line) {
+        var fields = new ArrayList<String>();
+        var field = new StringBuilder();
+        var quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            var c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private void close(BufferedReader reader) {
+        try {
+            reader.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Value
+    private static class Line {
+        long number;
+        String text;
+    }
+}
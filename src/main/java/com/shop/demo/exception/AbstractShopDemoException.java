@@ -1,5 +1,6 @@
 package com.shop.demo.exception;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 
 public abstract class AbstractShopDemoException extends RuntimeException {
@@ -19,6 +20,10 @@ public abstract class AbstractShopDemoException extends RuntimeException {
         return DEFAULT_STATUS;
     }
 
+    public HttpHeaders getErrorHeaders() {
+        return HttpHeaders.EMPTY;
+    }
+
     public ServiceErrorCode getErrorCode() {
         return this.errorCode;
     }
@@ -10,6 +10,12 @@ public enum ServiceErrorCode {
     DISCOUNT_POLICY_ALREADY_EXISTS("discount_policy_already_exists"),
     PRODUCT_ALREADY_CONTAINS_POLICY("product_already_contains_discount_policy"),
     UNSUPPORTED_DISCOUNT_TYPE("unsupported_discount_type"),
+    INVALID_CURSOR("invalid_cursor"),
+    CONCURRENT_UPDATE("concurrent_update"),
+    CALCULATION_REJECTED("calculation_rejected"),
+    CALCULATION_TIMEOUT("calculation_timeout"),
+    CALCULATION_LIMIT_EXCEEDED("calculation_limit_exceeded"),
+    BULKHEAD_FULL("bulkhead_full"),
     FIELD_VALIDATION("field_validation");
 
     private final String code;
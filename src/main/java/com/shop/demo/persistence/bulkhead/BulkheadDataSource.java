@@ -0,0 +1,86 @@
+package com.shop.demo.persistence.bulkhead;
+
+import com.shop.demo.service.concurrency.bulkhead.Bulkhead;
+import com.shop.demo.service.concurrency.bulkhead.BulkheadContext;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Partitions the connection pool between bulkheads: a connection requested on behalf of a bulkhead counts against
+ * its connection limit until it is closed. Connections requested outside of any bulkhead, such as by migrations and
+ * background jobs, are not limited.
+ */
+public class BulkheadDataSource extends DelegatingDataSource implements AutoCloseable {
+
+    public BulkheadDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        var bulkhead = BulkheadContext.current();
+        if (bulkhead == null) {
+            return super.getConnection();
+        }
+
+        bulkhead.acquireConnection();
+        try {
+            return releasingOnClose(super.getConnection(), bulkhead);
+        } catch (SQLException | RuntimeException e) {
+            bulkhead.releaseConnection();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        var bulkhead = BulkheadContext.current();
+        if (bulkhead == null) {
+            return super.getConnection(username, password);
+        }
+
+        bulkhead.acquireConnection();
+        try {
+            return releasingOnClose(super.getConnection(username, password), bulkhead);
+        } catch (SQLException | RuntimeException e) {
+            bulkhead.releaseConnection();
+            throw e;
+        }
+    }
+
+    /**
+     * Closes the wrapped pool on shutdown, which the container would otherwise no longer see behind the wrapper.
+     */
+    @Override
+    public void close() throws Exception {
+        if (getTargetDataSource() instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private static Connection releasingOnClose(Connection connection, Bulkhead bulkhead) {
+        var released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if ("close".equals(method.getName()) && released.compareAndSet(false, true)) {
+                        try {
+                            connection.close();
+                        } finally {
+                            bulkhead.releaseConnection();
+                        }
+                        return null;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+}
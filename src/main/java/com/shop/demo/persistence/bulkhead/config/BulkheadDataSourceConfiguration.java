@@ -0,0 +1,52 @@
+package com.shop.demo.persistence.bulkhead.config;
+
+import com.shop.demo.persistence.bulkhead.BulkheadDataSource;
+import com.shop.demo.service.concurrency.config.BulkheadProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.Objects;
+
+/**
+ * Wraps the application datasource, either the auto-configured pool or the read/write routing datasource, in a
+ * {@link BulkheadDataSource} when {@code shop.bulkhead.enabled} is set. Startup fails when the groups' connection
+ * caps add up to more than the pool that serves writes, because a group could then hold connections another group
+ * was meant to keep.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "shop.bulkhead", name = "enabled", havingValue = "true")
+public class BulkheadDataSourceConfiguration {
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+
+    @Bean
+    public static BeanPostProcessor bulkheadDataSourcePostProcessor(ObjectProvider<BulkheadProperties> properties) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource pool && !pool.isReadOnly()) {
+                    checkConnectionCaps(properties.getObject(), pool.getMaximumPoolSize());
+                }
+                return bean instanceof DataSource dataSource && DATA_SOURCE_BEAN.equals(beanName)
+                        ? new BulkheadDataSource(dataSource)
+                        : bean;
+            }
+        };
+    }
+
+    static void checkConnectionCaps(BulkheadProperties properties, int maximumPoolSize) {
+        var caps = properties.getGroups().values().stream()
+                .map(BulkheadProperties.Group::getMaxConnections)
+                .filter(Objects::nonNull)
+                .mapToInt(Integer::intValue)
+                .sum();
+        if (caps > maximumPoolSize) {
+            throw new IllegalStateException("Bulkhead connection caps add up to " + caps
+                    + ", more than the " + maximumPoolSize + " connections of the pool");
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.shop.demo.persistence.constraint;
+
+import org.hibernate.exception.ConstraintViolationException;
+
+/**
+ * Tells which constraint a failed write violated, from the name Hibernate extracted for its dialect rather than from
+ * the driver's message.
+ */
+public final class ConstraintViolations {
+
+    private ConstraintViolations() {
+    }
+
+    public static boolean isViolationOf(Throwable failure, String constraintName) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                return constraintName.equalsIgnoreCase(unqualified(violation.getConstraintName()));
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Some dialects, such as H2's, report the name quoted, qualified with its schema and followed by the columns.
+     */
+    private static String unqualified(String reportedName) {
+        if (reportedName == null) {
+            return null;
+        }
+        var name = reportedName.replace("\"", "").strip();
+        var end = name.indexOf(' ');
+        if (end >= 0) {
+            name = name.substring(0, end);
+        }
+        return name.substring(name.lastIndexOf('.') + 1);
+    }
+}
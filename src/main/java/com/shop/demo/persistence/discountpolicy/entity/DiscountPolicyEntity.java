@@ -1,17 +1,27 @@
 package com.shop.demo.persistence.discountpolicy.entity;
 
+import com.shop.demo.persistence.id.TimeOrderedUuid;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 import java.util.UUID;
 
-@Table(name = "discount_policies")
+@Table(name = "discount_policies", uniqueConstraints = @UniqueConstraint(
+        name = DiscountPolicyEntity.UNIQUE_TYPE_THRESHOLD_VALUE,
+        columnNames = {"type", "threshold", "discount_value"}))
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = DiscountPolicyEntity.CACHE_REGION)
 @Data
 public class DiscountPolicyEntity {
+    public static final String UNIQUE_TYPE_THRESHOLD_VALUE = "uk_discount_policies_type_threshold_value";
+    public static final String CACHE_REGION = "discount-policies";
+
     @Id
-    @GeneratedValue
+    @TimeOrderedUuid
     private UUID id;
 
     @Enumerated(EnumType.STRING)
@@ -21,4 +31,7 @@ public class DiscountPolicyEntity {
 
     @Column(name = "discount_value")
     private BigDecimal discountValue;
+
+    @Version
+    private Long version;
 }
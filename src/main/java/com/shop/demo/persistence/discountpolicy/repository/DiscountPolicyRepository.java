@@ -2,14 +2,41 @@ package com.shop.demo.persistence.discountpolicy.repository;
 
 import com.shop.demo.persistence.discountpolicy.entity.DiscountPolicyEntity;
 import com.shop.demo.persistence.discountpolicy.entity.DiscountType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface DiscountPolicyRepository extends JpaRepository<DiscountPolicyEntity, UUID> {
-    Optional<DiscountPolicyEntity> findByTypeAndThresholdAndDiscountValue(DiscountType type,
-                                                                          Integer threshold,
-                                                                          BigDecimal discountValue);
+    List<DiscountPolicyEntity> findAllByOrderByIdAsc(Limit limit);
+
+    List<DiscountPolicyEntity> findByIdGreaterThanOrderByIdAsc(UUID id, Limit limit);
+
+    @Query("select d.type from DiscountPolicyEntity d where d.id = :id")
+    Optional<DiscountType> findTypeById(@Param("id") UUID id);
+
+    @Modifying
+    @Query("update DiscountPolicyEntity d set d.threshold = :threshold, d.discountValue = :value, " +
+            "d.version = d.version + 1 where d.id = :id")
+    int updateThresholdAndValue(@Param("id") UUID id,
+                                @Param("threshold") int threshold,
+                                @Param("value") BigDecimal value);
+
+    /**
+     * Native so the join rows are removed by the ON DELETE CASCADE foreign key; the query spaces make Hibernate
+     * evict the cached policies and product policy collections, which would otherwise still reference the policy.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "discount_policies"))
+    @Query(value = "delete from discount_policies where id = :id", nativeQuery = true)
+    int deleteDiscountPolicyById(@Param("id") UUID id);
 }
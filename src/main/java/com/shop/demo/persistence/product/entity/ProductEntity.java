@@ -1,8 +1,11 @@
 package com.shop.demo.persistence.product.entity;
 
 import com.shop.demo.persistence.discountpolicy.entity.DiscountPolicyEntity;
+import com.shop.demo.persistence.id.TimeOrderedUuid;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 import java.util.HashSet;
@@ -13,19 +16,29 @@ import java.util.UUID;
 @Entity
 @Data
 public class ProductEntity {
+    public static final String DISCOUNT_POLICIES_CACHE_REGION = "product-discount-policies";
+    public static final String UNIQUE_DISCOUNT_POLICY_LINK = "uk_product_discount_policy_product_policy";
+
     @Id
-    @GeneratedValue
+    @TimeOrderedUuid
     private UUID id;
 
     private String name;
 
     private BigDecimal price;
 
+    @Version
+    private Long version;
+
     @ManyToMany
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = ProductEntity.DISCOUNT_POLICIES_CACHE_REGION)
     @JoinTable(
             name = "product_discount_policy",
             joinColumns = @JoinColumn(name = "product_id"),
-            inverseJoinColumns = @JoinColumn(name = "discount_policy_id")
+            inverseJoinColumns = @JoinColumn(name = "discount_policy_id"),
+            uniqueConstraints = @UniqueConstraint(
+                    name = ProductEntity.UNIQUE_DISCOUNT_POLICY_LINK,
+                    columnNames = {"product_id", "discount_policy_id"})
     )
     private Set<DiscountPolicyEntity> discountPolicies = new HashSet<>();
 }
@@ -0,0 +1,14 @@
+package com.shop.demo.persistence.product.repository;
+
+import com.shop.demo.persistence.product.entity.ProductEntity;
+
+import java.util.function.Consumer;
+
+public interface ProductCursorRepository {
+
+    /**
+     * Scrolls all products ordered by id with a forward-only cursor and passes each one, together with its
+     * discount policies, to the consumer. Entities are detached and only one product is held at a time.
+     */
+    void forEachWithDiscountPolicies(Consumer<ProductEntity> consumer);
+}
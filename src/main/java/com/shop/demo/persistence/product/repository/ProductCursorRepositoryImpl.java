@@ -0,0 +1,77 @@
+package com.shop.demo.persistence.product.repository;
+
+import com.shop.demo.persistence.discountpolicy.entity.DiscountPolicyEntity;
+import com.shop.demo.persistence.discountpolicy.entity.DiscountType;
+import com.shop.demo.persistence.product.entity.ProductEntity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+@RequiredArgsConstructor
+public class ProductCursorRepositoryImpl implements ProductCursorRepository {
+    private static final int FETCH_SIZE = 500;
+
+    private static final String SELECT_PRODUCTS_WITH_DISCOUNT_POLICIES = """
+            select p.id, p.name, p.price, dp.id, dp.type, dp.threshold, dp.discount_value
+            from products p
+                     left join product_discount_policy pdp on pdp.product_id = p.id
+                     left join discount_policies dp on dp.id = pdp.discount_policy_id
+            order by p.id""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void forEachWithDiscountPolicies(Consumer<ProductEntity> consumer) {
+        var handler = new GroupingRowCallbackHandler(consumer);
+        jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement(SELECT_PRODUCTS_WITH_DISCOUNT_POLICIES,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(FETCH_SIZE);
+            return statement;
+        }, handler);
+        handler.flush();
+    }
+
+    /**
+     * Collects the joined rows of one product and hands the product over once the cursor moves past it.
+     */
+    @RequiredArgsConstructor
+    private static class GroupingRowCallbackHandler implements RowCallbackHandler {
+        private final Consumer<ProductEntity> consumer;
+        private ProductEntity current;
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            var productId = rs.getObject(1, UUID.class);
+            if (current == null || !current.getId().equals(productId)) {
+                flush();
+                current = new ProductEntity();
+                current.setId(productId);
+                current.setName(rs.getString(2));
+                current.setPrice(rs.getBigDecimal(3));
+            }
+
+            var discountPolicyId = rs.getObject(4, UUID.class);
+            if (discountPolicyId != null) {
+                var discountPolicy = new DiscountPolicyEntity();
+                discountPolicy.setId(discountPolicyId);
+                discountPolicy.setType(DiscountType.valueOf(rs.getString(5)));
+                discountPolicy.setThreshold(rs.getInt(6));
+                discountPolicy.setDiscountValue(rs.getBigDecimal(7));
+                current.getDiscountPolicies().add(discountPolicy);
+            }
+        }
+
+        void flush() {
+            if (current != null) {
+                consumer.accept(current);
+                current = null;
+            }
+        }
+    }
+}
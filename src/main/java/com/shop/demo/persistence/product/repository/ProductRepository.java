@@ -1,11 +1,109 @@
 package com.shop.demo.persistence.product.repository;
 
 import com.shop.demo.persistence.product.entity.ProductEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface ProductRepository extends JpaRepository<ProductEntity, UUID> {
+public interface ProductRepository extends JpaRepository<ProductEntity, UUID>, ProductCursorRepository {
+
+    @Query("select p.id from ProductEntity p")
+    Slice<UUID> findIdsBy(Pageable pageable);
+
+    @Query("select p.id from ProductEntity p order by p.id")
+    List<UUID> findIdsOrderById(Limit limit);
+
+    @Query("select p.id from ProductEntity p where p.id > :after order by p.id")
+    List<UUID> findIdsAfterOrderById(@Param("after") UUID after, Limit limit);
+
+    /**
+     * Reverse lookup of the products linked to a policy, served by the (discount_policy_id, product_id) index.
+     */
+    @Query("select p.id from ProductEntity p join p.discountPolicies d where d.id = :discountPolicyId")
+    List<UUID> findIdsByDiscountPolicy(@Param("discountPolicyId") UUID discountPolicyId);
+
+    @Query("select p.id from ProductEntity p join p.discountPolicies d " +
+            "where d.id = :discountPolicyId order by p.id")
+    List<UUID> findIdsByDiscountPolicyOrderById(@Param("discountPolicyId") UUID discountPolicyId, Limit limit);
+
+    @Query("select p.id from ProductEntity p join p.discountPolicies d " +
+            "where d.id = :discountPolicyId and p.id > :after order by p.id")
+    List<UUID> findIdsByDiscountPolicyAfterOrderById(@Param("discountPolicyId") UUID discountPolicyId,
+                                                     @Param("after") UUID after,
+                                                     Limit limit);
+
+    @Query("select p from ProductEntity p left join fetch p.discountPolicies where p.id = :id")
+    Optional<ProductEntity> findWithDiscountPoliciesById(@Param("id") UUID id);
+
+    @Query("select distinct p from ProductEntity p left join fetch p.discountPolicies where p.id in :ids")
+    List<ProductEntity> findAllWithDiscountPoliciesByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Query("select p.id from ProductEntity p where p.id in :ids")
+    List<UUID> findIdsByIdIn(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Returns the products that already have a policy with the same type, threshold and value as the given one.
+     */
+    @Query("select distinct p.id from ProductEntity p join p.discountPolicies existing, DiscountPolicyEntity policy " +
+            "where policy.id = :discountPolicyId and p.id in :productIds " +
+            "and existing.type = policy.type " +
+            "and existing.threshold = policy.threshold " +
+            "and existing.discountValue = policy.discountValue")
+    List<UUID> findIdsWithSameDiscountPolicy(@Param("discountPolicyId") UUID discountPolicyId,
+                                             @Param("productIds") Collection<UUID> productIds);
+
+    @Modifying
+    @Query("update ProductEntity p set p.name = :name, p.price = :price, p.version = p.version + 1 where p.id = :id")
+    int updateNameAndPrice(@Param("id") UUID id, @Param("name") String name, @Param("price") BigDecimal price);
+
+    @Modifying
+    @Query("update ProductEntity p set p.version = p.version + 1 where p.id in :ids")
+    int incrementVersions(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Native so the join rows are removed by the ON DELETE CASCADE foreign key instead of a separate statement.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "products"))
+    @Query(value = "delete from products where id = :id", nativeQuery = true)
+    int deleteProductById(@Param("id") UUID id);
+
+    /**
+     * The native link statements are synchronized on the discount_policies table: Hibernate evicts the regions
+     * backed by it, i.e. the product policy collections and the cached policies themselves, instead of the whole
+     * second-level cache. The join table alone does not work as a query space, because Hibernate files the
+     * many-to-many collection under the table of its elements.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "discount_policies"))
+    @Query(value = "insert into product_discount_policy (product_id, discount_policy_id) " +
+            "select p.id, :discountPolicyId from products p where p.id in :productIds " +
+            "and not exists (select 1 from product_discount_policy link " +
+            "where link.product_id = p.id and link.discount_policy_id = :discountPolicyId)",
+            nativeQuery = true)
+    int insertDiscountPolicyLinks(@Param("discountPolicyId") UUID discountPolicyId,
+                                  @Param("productIds") Collection<UUID> productIds);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "discount_policies"))
+    @Query(value = "delete from product_discount_policy " +
+            "where discount_policy_id = :discountPolicyId and product_id in :productIds",
+            nativeQuery = true)
+    int deleteDiscountPolicyLinks(@Param("discountPolicyId") UUID discountPolicyId,
+                                  @Param("productIds") Collection<UUID> productIds);
 }
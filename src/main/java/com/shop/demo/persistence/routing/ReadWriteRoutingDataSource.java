@@ -0,0 +1,60 @@
+package com.shop.demo.persistence.routing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Hands out replica connections inside read-only transactions and primary connections everywhere else. A replica
+ * that is unreachable or lagging behind is skipped and the read goes to the primary. Must be wrapped in a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}, because the transaction manager
+ * asks for a connection before the read-only flag of the new transaction is visible.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+    public static final String PRIMARY = "primary";
+    public static final String REPLICA = "replica";
+    public static final String ROUTING_METRIC = "datasource.routing";
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final Counter writes;
+    private final Counter reads;
+    private final Counter fallbacks;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor,
+                                      MeterRegistry meterRegistry) {
+        this.lagMonitor = lagMonitor;
+        this.writes = routingCounter(meterRegistry, PRIMARY, "write");
+        this.reads = routingCounter(meterRegistry, REPLICA, "read");
+        this.fallbacks = routingCounter(meterRegistry, PRIMARY, "replica_unavailable");
+        meterRegistry.gauge("datasource.replica.lag", lagMonitor, ReplicaLagMonitor::getLagSeconds);
+
+        setTargetDataSources(Map.of(PRIMARY, primary, REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            writes.increment();
+            return PRIMARY;
+        }
+        if (!lagMonitor.isReplicaUsable()) {
+            fallbacks.increment();
+            return PRIMARY;
+        }
+        reads.increment();
+        return REPLICA;
+    }
+
+    private static Counter routingCounter(MeterRegistry meterRegistry, String pool, String reason) {
+        return Counter.builder(ROUTING_METRIC)
+                .description("Connections handed out per pool")
+                .tag("pool", pool)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,87 @@
+package com.shop.demo.persistence.routing;
+
+import com.shop.demo.persistence.routing.config.ReplicaDataSourceProperties;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks whether the replica may serve reads. The replica is probed once per check interval on a background
+ * thread, so routing a connection only reads the last result and never waits for an unreachable replica; the
+ * replica is unusable until the first probe succeeds, when it cannot be reached or when its lag exceeds the
+ * configured maximum.
+ */
+public class ReplicaLagMonitor implements AutoCloseable {
+    private static final int PROBE_TIMEOUT_SECONDS = 1;
+
+    private final DataSource replica;
+    private final String lagQuery;
+    private final double maxLagSeconds;
+    private final ScheduledExecutorService scheduler;
+    private volatile boolean usable;
+    private volatile double lagSeconds = Double.NaN;
+
+    public ReplicaLagMonitor(DataSource replica, ReplicaDataSourceProperties properties) {
+        this.replica = replica;
+        this.lagQuery = properties.getLagQuery();
+        this.maxLagSeconds = properties.getMaxLag().toMillis() / 1000.0;
+
+        var threadFactory = new CustomizableThreadFactory("replica-lag-monitor-");
+        threadFactory.setDaemon(true);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        this.scheduler.scheduleWithFixedDelay(this::probe, 0, properties.getLagCheckInterval().toNanos(),
+                TimeUnit.NANOSECONDS);
+    }
+
+    public boolean isReplicaUsable() {
+        return usable;
+    }
+
+    /**
+     * Last measured lag in seconds, {@code NaN} while the replica is unreachable.
+     */
+    public double getLagSeconds() {
+        return lagSeconds;
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    private void probe() {
+        try (var connection = replica.getConnection()) {
+            var lag = lagQuery == null ? reachability(connection) : queryLag(connection);
+            lagSeconds = lag;
+            usable = lag <= maxLagSeconds;
+        } catch (SQLException | RuntimeException e) {
+            // A probe that throws would cancel the schedule, so every failure just marks the replica unusable
+            lagSeconds = Double.NaN;
+            usable = false;
+        }
+    }
+
+    private double reachability(Connection connection) throws SQLException {
+        if (!connection.isValid(PROBE_TIMEOUT_SECONDS)) {
+            throw new SQLException("Replica connection is not valid");
+        }
+        return 0;
+    }
+
+    private double queryLag(Connection connection) throws SQLException {
+        try (var statement = connection.createStatement()) {
+            statement.setQueryTimeout(PROBE_TIMEOUT_SECONDS);
+            try (var resultSet = statement.executeQuery(lagQuery)) {
+                if (!resultSet.next()) {
+                    throw new SQLException("Lag query returned no rows");
+                }
+                return resultSet.getDouble(1);
+            }
+        }
+    }
+}
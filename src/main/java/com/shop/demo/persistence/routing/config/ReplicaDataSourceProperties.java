@@ -0,0 +1,26 @@
+package com.shop.demo.persistence.routing.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "shop.datasource.replica")
+public class ReplicaDataSourceProperties {
+    private boolean enabled = false;
+    private String url;
+    private String username;
+    private String password;
+    private int maximumPoolSize = 10;
+    /**
+     * Query run on the replica that returns its replication lag in seconds. Without it the replica is only
+     * checked for reachability.
+     */
+    private String lagQuery;
+    private Duration maxLag = Duration.ofSeconds(5);
+    /**
+     * Delay between two lag probes. Must be positive; the probe runs on a background thread.
+     */
+    private Duration lagCheckInterval = Duration.ofSeconds(1);
+}
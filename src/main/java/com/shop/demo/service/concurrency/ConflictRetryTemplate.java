@@ -0,0 +1,68 @@
+package com.shop.demo.service.concurrency;
+
+import com.shop.demo.persistence.constraint.ConstraintViolations;
+import com.shop.demo.persistence.product.entity.ProductEntity;
+import com.shop.demo.service.concurrency.config.ConflictRetryProperties;
+import com.shop.demo.service.concurrency.exception.ConcurrentUpdateException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Runs a callback in its own transaction and replays it when the transaction loses a race: an optimistic lock
+ * failure on a {@code @Version} column, a lock timeout, or a duplicate product policy link inserted concurrently.
+ * Every attempt re-reads the current state, so the callback's own checks decide the outcome of the retry.
+ * After {@link ConflictRetryProperties#getMaxAttempts()} attempts a {@link ConcurrentUpdateException} is thrown.
+ * Other integrity violations, such as a foreign key or NOT NULL failure, are permanent and rethrown unchanged.
+ */
+@Component
+@RequiredArgsConstructor
+public class ConflictRetryTemplate {
+    private final TransactionTemplate transactionTemplate;
+    private final ConflictRetryProperties properties;
+
+    public <T> T execute(TransactionCallback<T> callback) {
+        RuntimeException lastConflict = null;
+        for (int attempt = 1; attempt <= properties.getMaxAttempts(); attempt++) {
+            try {
+                return transactionTemplate.execute(callback);
+            } catch (ConcurrencyFailureException e) {
+                lastConflict = e;
+                backoff(attempt);
+            } catch (DataIntegrityViolationException e) {
+                if (!ConstraintViolations.isViolationOf(e, ProductEntity.UNIQUE_DISCOUNT_POLICY_LINK)) {
+                    throw e;
+                }
+                lastConflict = e;
+                backoff(attempt);
+            }
+        }
+
+        var exception = new ConcurrentUpdateException("The resource was modified concurrently, " +
+                "gave up after " + properties.getMaxAttempts() + " attempts");
+        exception.initCause(lastConflict);
+        throw exception;
+    }
+
+    /**
+     * Sleeps for a random time up to {@code backoff * attempt} so competing writers do not retry in lockstep.
+     */
+    private void backoff(int attempt) {
+        var maxMillis = properties.getBackoff().toMillis() * attempt;
+        if (attempt == properties.getMaxAttempts() || maxMillis <= 0) {
+            return;
+        }
+
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(maxMillis + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConcurrentUpdateException("Interrupted while waiting to retry a concurrent update");
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.shop.demo.service.concurrency;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Coalesces concurrent calls for the same key: the first caller runs the call, everyone arriving while it is in
+ * flight waits for it and gets the same outcome. A failure is shared only when {@code sharedFailure} accepts it, for
+ * failures every caller would get as well, such as a missing row or an unreachable database. Other failures may
+ * belong to the leading caller alone, such as a rejection by its bulkhead, and so may an interrupted leading call;
+ * waiting callers then run the call themselves, as they do when the leading call takes longer than the maximum wait.
+ * Nothing is remembered once the call has finished, so this is not a cache, it only keeps a burst of misses from
+ * turning into a burst of identical queries.
+ */
+public class SingleFlight<K, V> {
+    private final ConcurrentHashMap<K, CompletableFuture<V>> calls = new ConcurrentHashMap<>();
+    private final Duration maxWait;
+    private final Predicate<RuntimeException> sharedFailure;
+
+    public SingleFlight(Duration maxWait, Predicate<RuntimeException> sharedFailure) {
+        this.maxWait = maxWait;
+        this.sharedFailure = sharedFailure;
+    }
+
+    public V execute(K key, Function<K, V> call) {
+        var flight = new CompletableFuture<V>();
+        var inFlight = calls.putIfAbsent(key, flight);
+        if (inFlight != null) {
+            return await(inFlight).orElseGet(() -> call.apply(key));
+        }
+
+        try {
+            var result = call.apply(key);
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            var shared = !Thread.currentThread().isInterrupted() && sharedFailure.test(e);
+            flight.completeExceptionally(shared ? e : new LeaderOnlyFailure(e));
+            throw e;
+        } catch (Error e) {
+            flight.completeExceptionally(new LeaderOnlyFailure(e));
+            throw e;
+        } finally {
+            calls.remove(key, flight);
+        }
+    }
+
+    /**
+     * Makes callers arriving from now on start a new call for the key instead of joining one that may have read
+     * data older than a change that was just committed. Callers already waiting still get the running call's result.
+     */
+    public void forget(K key) {
+        calls.remove(key);
+    }
+
+    public void forgetAll() {
+        calls.clear();
+    }
+
+    /**
+     * Waits interruptibly for the leading call and rethrows its shared failure. Empty when the failure was the
+     * leading caller's own or the call did not finish within the maximum wait.
+     */
+    private Optional<V> await(CompletableFuture<V> flight) {
+        try {
+            return Optional.ofNullable(flight.get(maxWait.toNanos(), TimeUnit.NANOSECONDS));
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof LeaderOnlyFailure) {
+                return Optional.empty();
+            }
+            throw (RuntimeException) e.getCause();
+        } catch (TimeoutException e) {
+            return Optional.empty();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            var cancelled = new CancellationException("Interrupted while waiting for a concurrent call");
+            cancelled.initCause(e);
+            throw cancelled;
+        }
+    }
+
+    /**
+     * Marks a failure of the leading call that waiting callers must not inherit.
+     */
+    private static final class LeaderOnlyFailure extends RuntimeException {
+        private LeaderOnlyFailure(Throwable cause) {
+            super(cause);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.shop.demo.service.concurrency.bulkhead;
+
+import com.shop.demo.service.concurrency.config.BulkheadProperties;
+import com.shop.demo.service.concurrency.exception.BulkheadFullException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Caps the number of concurrent calls of one API group and the number of pooled connections they hold. A call that
+ * finds the group full waits for at most {@code maxWait}, and only while fewer than {@code maxQueuedCalls} others
+ * are waiting too; everything beyond that is rejected at once with a {@link BulkheadFullException}.
+ */
+public class Bulkhead {
+    public static final String CALLS = "calls";
+    public static final String CONNECTIONS = "connections";
+
+    @Getter
+    private final String name;
+    private final int maxConcurrentCalls;
+    private final int maxQueuedCalls;
+    private final Duration maxWait;
+    private final Semaphore calls;
+    private final AtomicInteger queuedCalls = new AtomicInteger();
+    private final Integer maxConnections;
+    private final Duration connectionTimeout;
+    private final Semaphore connections;
+    private final Counter rejectedCalls;
+    private final Counter rejectedConnections;
+
+    public Bulkhead(String name, BulkheadProperties.Group group, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.maxConcurrentCalls = group.getMaxConcurrentCalls();
+        this.maxQueuedCalls = group.getMaxQueuedCalls();
+        this.maxWait = group.getMaxWait();
+        this.calls = new Semaphore(maxConcurrentCalls);
+        this.maxConnections = group.getMaxConnections();
+        this.connectionTimeout = group.getConnectionTimeout();
+        this.connections = maxConnections != null ? new Semaphore(maxConnections) : null;
+
+        gauge(meterRegistry, "bulkhead.calls.active", "Calls currently running in the bulkhead",
+                Bulkhead::getActiveCalls);
+        gauge(meterRegistry, "bulkhead.calls.queued", "Calls waiting to enter the bulkhead",
+                Bulkhead::getQueuedCalls);
+        gauge(meterRegistry, "bulkhead.calls.max", "Maximum concurrent calls of the bulkhead",
+                bulkhead -> bulkhead.maxConcurrentCalls);
+        if (connections != null) {
+            gauge(meterRegistry, "bulkhead.connections.active", "Connections currently held by the bulkhead",
+                    Bulkhead::getActiveConnections);
+            gauge(meterRegistry, "bulkhead.connections.max", "Maximum connections of the bulkhead",
+                    bulkhead -> bulkhead.maxConnections);
+        }
+        this.rejectedCalls = rejections(meterRegistry, CALLS);
+        this.rejectedConnections = rejections(meterRegistry, CONNECTIONS);
+    }
+
+    public void acquireCall() {
+        if (calls.tryAcquire()) {
+            return;
+        }
+        if (queuedCalls.incrementAndGet() > maxQueuedCalls) {
+            queuedCalls.decrementAndGet();
+            rejectedCalls.increment();
+            throw new BulkheadFullException("Bulkhead=" + name + " is full");
+        }
+        try {
+            if (!tryAcquire(calls, maxWait)) {
+                rejectedCalls.increment();
+                throw new BulkheadFullException("Bulkhead=" + name + " is full");
+            }
+        } finally {
+            queuedCalls.decrementAndGet();
+        }
+    }
+
+    public void releaseCall() {
+        calls.release();
+    }
+
+    public void acquireConnection() {
+        if (connections != null && !tryAcquire(connections, connectionTimeout)) {
+            rejectedConnections.increment();
+            throw new BulkheadFullException("Bulkhead=" + name + " has no connection available");
+        }
+    }
+
+    public void releaseConnection() {
+        if (connections != null) {
+            connections.release();
+        }
+    }
+
+    public int getActiveCalls() {
+        return maxConcurrentCalls - calls.availablePermits();
+    }
+
+    public int getQueuedCalls() {
+        return queuedCalls.get();
+    }
+
+    public int getActiveConnections() {
+        return connections != null ? maxConnections - connections.availablePermits() : 0;
+    }
+
+    private boolean tryAcquire(Semaphore semaphore, Duration timeout) {
+        try {
+            return semaphore.tryAcquire(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void gauge(MeterRegistry meterRegistry, String metric, String description,
+                       ToDoubleFunction<Bulkhead> value) {
+        Gauge.builder(metric, this, value)
+                .description(description)
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+
+    private Counter rejections(MeterRegistry meterRegistry, String resource) {
+        return Counter.builder("bulkhead.rejections")
+                .description("Calls and connection requests rejected by the bulkhead")
+                .tag("name", name)
+                .tag("resource", resource)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,28 @@
+package com.shop.demo.service.concurrency.bulkhead;
+
+/**
+ * Bulkhead of the request the current thread works for. Set by the web layer for the servlet thread and carried
+ * over by executors that run work on behalf of the request, so that connections are charged to the right group.
+ */
+public final class BulkheadContext {
+    private static final ThreadLocal<Bulkhead> CURRENT = new ThreadLocal<>();
+
+    private BulkheadContext() {
+    }
+
+    public static Bulkhead current() {
+        return CURRENT.get();
+    }
+
+    public static void set(Bulkhead bulkhead) {
+        if (bulkhead == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(bulkhead);
+        }
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+}
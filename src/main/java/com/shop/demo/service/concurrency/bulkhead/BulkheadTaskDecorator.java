@@ -0,0 +1,28 @@
+package com.shop.demo.service.concurrency.bulkhead;
+
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * Carries the {@link BulkheadContext} of the submitting thread over to the task, so work handed to an executor on
+ * behalf of a request, such as a streamed response body, still has its connections charged to the request's group.
+ */
+public class BulkheadTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable task) {
+        var bulkhead = BulkheadContext.current();
+        if (bulkhead == null) {
+            return task;
+        }
+
+        return () -> {
+            var previous = BulkheadContext.current();
+            BulkheadContext.set(bulkhead);
+            try {
+                task.run();
+            } finally {
+                BulkheadContext.set(previous);
+            }
+        };
+    }
+}
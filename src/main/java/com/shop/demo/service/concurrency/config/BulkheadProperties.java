@@ -0,0 +1,32 @@
+package com.shop.demo.service.concurrency.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "shop.bulkhead")
+public class BulkheadProperties {
+    private boolean enabled = false;
+    private Map<String, Group> groups = new LinkedHashMap<>();
+
+    @Data
+    public static class Group {
+        private List<String> pathPatterns = new ArrayList<>();
+        private List<String> excludedPathPatterns = new ArrayList<>();
+        private int maxConcurrentCalls = 50;
+        private int maxQueuedCalls = 0;
+        private Duration maxWait = Duration.ZERO;
+        /**
+         * Share of the connection pool the group may hold at once. The caps of all groups must add up to no more
+         * than the pool size, so every group's share stays free for it. Unbounded when not set.
+         */
+        private Integer maxConnections;
+        private Duration connectionTimeout = Duration.ofSeconds(1);
+    }
+}
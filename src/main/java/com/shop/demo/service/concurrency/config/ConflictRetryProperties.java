@@ -0,0 +1,13 @@
+package com.shop.demo.service.concurrency.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "shop.conflict-retry")
+public class ConflictRetryProperties {
+    private int maxAttempts = 5;
+    private Duration backoff = Duration.ofMillis(10);
+}
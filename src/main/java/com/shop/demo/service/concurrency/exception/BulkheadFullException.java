@@ -0,0 +1,16 @@
+package com.shop.demo.service.concurrency.exception;
+
+import com.shop.demo.exception.AbstractShopDemoException;
+import com.shop.demo.exception.ServiceErrorCode;
+import org.springframework.http.HttpStatus;
+
+public class BulkheadFullException extends AbstractShopDemoException {
+    public BulkheadFullException(String message) {
+        super(ServiceErrorCode.BULKHEAD_FULL, message);
+    }
+
+    @Override
+    public HttpStatus getErrorStatus() {
+        return HttpStatus.SERVICE_UNAVAILABLE;
+    }
+}
@@ -0,0 +1,16 @@
+package com.shop.demo.service.concurrency.exception;
+
+import com.shop.demo.exception.AbstractShopDemoException;
+import com.shop.demo.exception.ServiceErrorCode;
+import org.springframework.http.HttpStatus;
+
+public class ConcurrentUpdateException extends AbstractShopDemoException {
+    public ConcurrentUpdateException(String message) {
+        super(ServiceErrorCode.CONCURRENT_UPDATE, message);
+    }
+
+    @Override
+    public HttpStatus getErrorStatus() {
+        return HttpStatus.CONFLICT;
+    }
+}
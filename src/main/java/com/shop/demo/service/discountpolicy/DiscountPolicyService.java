@@ -2,6 +2,7 @@ package com.shop.demo.service.discountpolicy;
 
 import com.shop.demo.persistence.discountpolicy.entity.DiscountType;
 import com.shop.demo.service.discountpolicy.model.DiscountPolicyModel;
+import com.shop.demo.service.pagination.KeysetPage;
 import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
@@ -15,6 +16,8 @@ public interface DiscountPolicyService {
 
     List<DiscountPolicyModel> getAllDiscountPolicies(Pageable pageable);
 
+    KeysetPage<DiscountPolicyModel> scrollDiscountPolicies(String cursor, int size);
+
     DiscountPolicyModel updateDiscountPolicy(UUID id, int threshold, BigDecimal value);
 
     void deleteDiscountPolicy(UUID id);
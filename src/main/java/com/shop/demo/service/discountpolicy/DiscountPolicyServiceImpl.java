@@ -1,16 +1,25 @@
 package com.shop.demo.service.discountpolicy;
 
+import com.shop.demo.persistence.constraint.ConstraintViolations;
 import com.shop.demo.persistence.discountpolicy.entity.DiscountPolicyEntity;
 import com.shop.demo.persistence.discountpolicy.entity.DiscountType;
 import com.shop.demo.persistence.discountpolicy.repository.DiscountPolicyRepository;
+import com.shop.demo.persistence.product.repository.ProductRepository;
+import com.shop.demo.service.discountpolicy.event.DiscountPolicyChangedEvent;
 import com.shop.demo.service.discountpolicy.exception.DiscountPolicyAlreadyExistsException;
 import com.shop.demo.service.discountpolicy.exception.DiscountPolicyNotFoundException;
 import com.shop.demo.service.discountpolicy.mapper.DiscountPolicyMapper;
 import com.shop.demo.service.discountpolicy.model.DiscountPolicyModel;
+import com.shop.demo.service.pagination.KeysetCursor;
+import com.shop.demo.service.pagination.KeysetPage;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -20,18 +29,23 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class DiscountPolicyServiceImpl implements DiscountPolicyService {
     private final DiscountPolicyRepository discountPolicyRepository;
+    private final ProductRepository productRepository;
     private final DiscountPolicyMapper mapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     @Override
     public DiscountPolicyModel addDiscountPolicy(DiscountType type, int threshold, BigDecimal value) {
-        checkIfAlreadyExists(type, threshold, value);
-
         var entity = new DiscountPolicyEntity();
         entity.setType(type);
         entity.setThreshold(threshold);
         entity.setDiscountValue(value);
-        entity = discountPolicyRepository.save(entity);
+        try {
+            entity = discountPolicyRepository.saveAndFlush(entity);
+        } catch (DataIntegrityViolationException e) {
+            throw alreadyExistsOrRethrow(e, String.format("Policy with same type=%s, threshold=%s and value=%s " +
+                    "already exists", type, threshold, value));
+        }
         return mapper.entityToModel(entity);
     }
 
@@ -51,34 +65,67 @@ public class DiscountPolicyServiceImpl implements DiscountPolicyService {
                 .toList();
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public KeysetPage<DiscountPolicyModel> scrollDiscountPolicies(String cursor, int size) {
+        var limit = Limit.of(size + 1);
+        var entities = StringUtils.hasText(cursor)
+                ? discountPolicyRepository.findByIdGreaterThanOrderByIdAsc(KeysetCursor.decode(cursor), limit)
+                : discountPolicyRepository.findAllByOrderByIdAsc(limit);
+
+        var hasNext = entities.size() > size;
+        var pageEntities = hasNext ? entities.subList(0, size) : entities;
+        return KeysetPage.<DiscountPolicyModel>builder()
+                .items(pageEntities.stream().map(mapper::entityToModel).toList())
+                .nextCursor(hasNext ? KeysetCursor.encode(pageEntities.get(size - 1).getId()) : null)
+                .build();
+    }
+
     @Transactional
     @Override
     public DiscountPolicyModel updateDiscountPolicy(UUID id, int threshold, BigDecimal value) {
-        var entity = discountPolicyRepository.findById(id)
-                .orElseThrow(() -> new DiscountPolicyNotFoundException("Policy with id=" + id + " not found"));
-        checkIfAlreadyExists(entity.getType(), threshold, value);
+        int updated;
+        try {
+            updated = discountPolicyRepository.updateThresholdAndValue(id, threshold, value);
+        } catch (DataIntegrityViolationException e) {
+            throw alreadyExistsOrRethrow(e, String.format("Policy of the same type with threshold=%s and value=%s " +
+                    "already exists", threshold, value));
+        }
+        if (updated == 0) {
+            throw new DiscountPolicyNotFoundException("Policy with id=" + id + " not found");
+        }
 
-        entity.setThreshold(threshold);
-        entity.setDiscountValue(value);
-        entity = discountPolicyRepository.save(entity);
+        var type = discountPolicyRepository.findTypeById(id)
+                .orElseThrow(() -> new DiscountPolicyNotFoundException("Policy with id=" + id + " not found"));
+        eventPublisher.publishEvent(new DiscountPolicyChangedEvent(id, productRepository.findIdsByDiscountPolicy(id)));
 
-        return mapper.entityToModel(entity);
+        return DiscountPolicyModel.builder()
+                .id(id)
+                .type(type)
+                .threshold(threshold)
+                .value(value)
+                .build();
     }
 
     @Transactional
     @Override
     public void deleteDiscountPolicy(UUID id) {
-        discountPolicyRepository.deleteById(id);
+        // Read before the delete, which removes the links through ON DELETE CASCADE
+        var productIds = productRepository.findIdsByDiscountPolicy(id);
+        if (discountPolicyRepository.deleteDiscountPolicyById(id) == 0) {
+            throw new DiscountPolicyNotFoundException("Policy with id=" + id + " not found");
+        }
+        eventPublisher.publishEvent(new DiscountPolicyChangedEvent(id, productIds));
     }
 
-    private void checkIfAlreadyExists(DiscountType type, int threshold, BigDecimal value) {
-        var similarEntity =
-                discountPolicyRepository.findByTypeAndThresholdAndDiscountValue(type, threshold, value);
-
-        if (similarEntity.isPresent()) {
-            var msg = String.format("Policy with same type=%s, threshold=%s and value=%s already exists with id=%s",
-                    type, threshold, value, similarEntity.get().getId());
-            throw new DiscountPolicyAlreadyExistsException(msg);
+    /**
+     * Duplicates are rejected by the unique index on (type, threshold, discount_value) rather than a prior lookup,
+     * so two concurrent writes of the same policy cannot both succeed. Other integrity violations are rethrown.
+     */
+    private RuntimeException alreadyExistsOrRethrow(DataIntegrityViolationException e, String msg) {
+        if (ConstraintViolations.isViolationOf(e, DiscountPolicyEntity.UNIQUE_TYPE_THRESHOLD_VALUE)) {
+            return new DiscountPolicyAlreadyExistsException(msg);
         }
+        return e;
     }
 }
@@ -0,0 +1,51 @@
+package com.shop.demo.service.discountpolicy.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.shop.demo.persistence.discountpolicy.entity.DiscountPolicyEntity;
+import com.shop.demo.service.discountpolicy.mapper.DiscountPolicyMapper;
+import com.shop.demo.service.discountpolicy.model.DiscountPolicyModel;
+import lombok.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Flyweight registry of immutable {@link DiscountPolicyModel} snapshots keyed by policy id and version, so
+ * every product carrying a policy references the same instance instead of its own copy. A policy update bumps
+ * the version and therefore yields a new snapshot; snapshots are weakly held and disappear once no product
+ * model references them anymore.
+ */
+@Component
+public class DiscountPolicyInterner {
+    private final DiscountPolicyMapper mapper;
+    private final Cache<Key, DiscountPolicyModel> snapshots = Caffeine.newBuilder()
+            .weakValues()
+            .build();
+
+    public DiscountPolicyInterner(DiscountPolicyMapper mapper) {
+        this.mapper = mapper;
+    }
+
+    /**
+     * Returns the shared snapshot of the entity. Entities that were not persisted yet have no version to key
+     * the snapshot by and are mapped to a fresh model.
+     */
+    public DiscountPolicyModel intern(DiscountPolicyEntity entity) {
+        if (entity.getId() == null || entity.getVersion() == null) {
+            return mapper.entityToModel(entity);
+        }
+        return snapshots.get(new Key(entity.getId(), entity.getVersion()), key -> mapper.entityToModel(entity));
+    }
+
+    long size() {
+        snapshots.cleanUp();
+        return snapshots.estimatedSize();
+    }
+
+    @Value
+    private static class Key {
+        UUID id;
+        long version;
+    }
+}
@@ -0,0 +1,16 @@
+package com.shop.demo.service.discountpolicy.event;
+
+import lombok.Value;
+
+import java.util.Collection;
+import java.util.UUID;
+
+@Value
+public class DiscountPolicyChangedEvent {
+    UUID discountPolicyId;
+    /**
+     * Products linked to the policy when it changed, collected in the changing transaction because a deleted
+     * policy's links are gone once it commits.
+     */
+    Collection<UUID> productIds;
+}
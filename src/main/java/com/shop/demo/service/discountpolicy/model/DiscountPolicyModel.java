@@ -7,11 +7,15 @@ import lombok.Getter;
 import java.math.BigDecimal;
 import java.util.UUID;
 
+/**
+ * Immutable snapshot of a discount policy. Product models share these instances, see
+ * {@link com.shop.demo.service.discountpolicy.cache.DiscountPolicyInterner}.
+ */
 @Builder
 @Getter
 public class DiscountPolicyModel {
-    private UUID id;
-    private DiscountType type;
-    private int threshold;
-    private BigDecimal value;
+    private final UUID id;
+    private final DiscountType type;
+    private final int threshold;
+    private final BigDecimal value;
 }
@@ -0,0 +1,121 @@
+package com.shop.demo.service.discountpolicy.model;
+
+import com.shop.demo.persistence.discountpolicy.entity.DiscountType;
+import com.shop.demo.service.discountprocessing.money.Cents;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Immutable per-product lookup table of discount policies. Policies are grouped by {@link DiscountType}
+ * and sorted by threshold, so the policy applicable to a quantity is found with a binary search.
+ * When several policies of a type share a threshold, the first one in the source order wins.
+ * Policy values are also kept as cents for the fixed-point calculation mode.
+ */
+public final class DiscountTierTable {
+    private static final DiscountType[] TYPES = DiscountType.values();
+    private static final int[] NO_THRESHOLDS = new int[0];
+    private static final DiscountPolicyModel[] NO_POLICIES = new DiscountPolicyModel[0];
+    private static final long[] NO_VALUES = new long[0];
+
+    private final int[][] thresholds = new int[TYPES.length][];
+    private final DiscountPolicyModel[][] policies = new DiscountPolicyModel[TYPES.length][];
+    private final long[][] valueCents = new long[TYPES.length][];
+    private final int[] tierStarts;
+    private boolean fixedPointCompatible = true;
+
+    private DiscountTierTable(Collection<DiscountPolicyModel> source) {
+        for (DiscountType type : TYPES) {
+            var sorted = source.stream()
+                    .filter(Objects::nonNull)
+                    .filter(policy -> policy.getValue() != null && policy.getType() == type)
+                    .sorted(Comparator.comparingInt(DiscountPolicyModel::getThreshold))
+                    .toArray(DiscountPolicyModel[]::new);
+            compile(type, sorted);
+        }
+        tierStarts = Arrays.stream(thresholds)
+                .flatMapToInt(Arrays::stream)
+                .sorted()
+                .distinct()
+                .toArray();
+    }
+
+    public static DiscountTierTable of(Collection<DiscountPolicyModel> policies) {
+        return new DiscountTierTable(policies == null ? List.of() : policies);
+    }
+
+    public DiscountPolicyModel findApplicable(DiscountType type, int quantity) {
+        var index = findApplicableIndex(type, quantity);
+        return index < 0 ? null : policies[type.ordinal()][index];
+    }
+
+    /**
+     * Returns the tier index of the policy applicable to the quantity, or {@code -1} if none applies.
+     */
+    public int findApplicableIndex(DiscountType type, int quantity) {
+        var index = Arrays.binarySearch(thresholds[type.ordinal()], quantity);
+        return index < 0 ? -index - 2 : index;
+    }
+
+    /**
+     * Returns the quantity tier: {@code 0} below the lowest threshold, otherwise {@code i + 1} where {@code i} is the
+     * index of the highest threshold (of any type) reached. All quantities of a tier share the same applicable policies.
+     */
+    public int findTier(int quantity) {
+        var index = Arrays.binarySearch(tierStarts, quantity);
+        return (index < 0 ? -index - 2 : index) + 1;
+    }
+
+    /**
+     * Returns the sorted distinct thresholds of all types, i.e. the first quantity of every tier above {@code 0}.
+     */
+    public int[] getTierStarts() {
+        return tierStarts.clone();
+    }
+
+    public DiscountPolicyModel getPolicy(DiscountType type, int index) {
+        return policies[type.ordinal()][index];
+    }
+
+    public long getValueCents(DiscountType type, int index) {
+        return valueCents[type.ordinal()][index];
+    }
+
+    /**
+     * Whether every policy value has an exact cents representation.
+     */
+    public boolean isFixedPointCompatible() {
+        return fixedPointCompatible;
+    }
+
+    private void compile(DiscountType type, DiscountPolicyModel[] sorted) {
+        if (sorted.length == 0) {
+            thresholds[type.ordinal()] = NO_THRESHOLDS;
+            policies[type.ordinal()] = NO_POLICIES;
+            valueCents[type.ordinal()] = NO_VALUES;
+            return;
+        }
+
+        var uniqueThresholds = new int[sorted.length];
+        var uniquePolicies = new DiscountPolicyModel[sorted.length];
+        var size = 0;
+        for (DiscountPolicyModel policy : sorted) {
+            if (size == 0 || uniqueThresholds[size - 1] != policy.getThreshold()) {
+                uniqueThresholds[size] = policy.getThreshold();
+                uniquePolicies[size] = policy;
+                size++;
+            }
+        }
+        thresholds[type.ordinal()] = Arrays.copyOf(uniqueThresholds, size);
+        policies[type.ordinal()] = Arrays.copyOf(uniquePolicies, size);
+        valueCents[type.ordinal()] = new long[size];
+        for (int i = 0; i < size; i++) {
+            var cents = Cents.toCents(uniquePolicies[i].getValue());
+            fixedPointCompatible &= cents != Cents.UNREPRESENTABLE;
+            valueCents[type.ordinal()][i] = cents;
+        }
+    }
+}
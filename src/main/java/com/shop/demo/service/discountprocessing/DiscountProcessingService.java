@@ -1,9 +1,24 @@
 package com.shop.demo.service.discountprocessing;
 
+import com.shop.demo.service.discountprocessing.model.CartItem;
+import com.shop.demo.service.discountprocessing.model.CartProcessingResult;
 import com.shop.demo.service.discountprocessing.model.DiscountProcessingResult;
+import com.shop.demo.service.discountprocessing.model.PriceCurve;
+import com.shop.demo.service.discountprocessing.model.PriceListEntry;
 
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 public interface DiscountProcessingService {
     DiscountProcessingResult calculate(UUID productId, int quantity);
+
+    CompletableFuture<DiscountProcessingResult> calculateAsync(UUID productId, int quantity);
+
+    CartProcessingResult calculateCart(List<CartItem> items);
+
+    PriceCurve getPriceCurve(UUID productId);
+
+    void exportPriceList(int quantity, Consumer<PriceListEntry> consumer);
 }
@@ -2,76 +2,244 @@ package com.shop.demo.service.discountprocessing;
 
 import com.shop.demo.persistence.discountpolicy.entity.DiscountType;
 import com.shop.demo.service.discountpolicy.model.DiscountPolicyModel;
+import com.shop.demo.service.discountprocessing.cache.QuoteCache;
+import com.shop.demo.service.discountprocessing.cache.QuoteCache.ProductSnapshot;
+import com.shop.demo.service.discountprocessing.config.CalculationMode;
+import com.shop.demo.service.discountprocessing.config.DiscountProcessingProperties;
+import com.shop.demo.service.discountprocessing.exception.CalculationLimitExceededException;
+import com.shop.demo.service.discountprocessing.executor.CalculationExecutor;
 import com.shop.demo.service.discountprocessing.factory.DiscountCalculationFactory;
+import com.shop.demo.service.discountprocessing.limit.CalculationLimiter;
+import com.shop.demo.service.discountprocessing.model.CartItem;
+import com.shop.demo.service.discountprocessing.model.CartItemResult;
+import com.shop.demo.service.discountprocessing.model.CartProcessingResult;
 import com.shop.demo.service.discountprocessing.model.DiscountProcessingResult;
+import com.shop.demo.service.discountprocessing.model.PriceCurve;
+import com.shop.demo.service.discountprocessing.model.PriceCurveSegment;
+import com.shop.demo.service.discountprocessing.model.PriceListEntry;
+import com.shop.demo.service.discountprocessing.model.TierQuote;
+import com.shop.demo.service.discountprocessing.money.Cents;
 import com.shop.demo.service.product.ProductService;
-import com.shop.demo.service.product.model.ProductModel;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 @Service
 @RequiredArgsConstructor
 public class DiscountProcessingServiceImpl implements DiscountProcessingService {
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
     private final ProductService productService;
     private final DiscountCalculationFactory discountCalculationFactory;
+    private final DiscountProcessingProperties properties;
+    private final QuoteCache quoteCache;
+    private final CalculationExecutor calculationExecutor;
+    private final CalculationLimiter calculationLimiter;
 
     @Override
     public DiscountProcessingResult calculate(UUID productId, int quantity) {
-        var product = productService.getProduct(productId);
-        var applicableDiscounts = getApplicableDiscounts(product, quantity);
+        return calculate(quoteCache.getSnapshot(productId, productService::getProduct), quantity);
+    }
 
-        var totalPrice = product.getPrice().multiply(BigDecimal.valueOf(quantity));
-        var totalDiscount = calculateTotalDiscount(totalPrice, applicableDiscounts);
-        var finalPrice = calculateFinalPrice(totalPrice, totalDiscount);
+    /**
+     * Admits the calculation through the adaptive limiter before it is scheduled, so excess load is shed before it
+     * queues. The permit is held until the calculation has left its thread, not just until the future times out, so
+     * calculations still stuck in the database keep counting against the limit. The returned future is the
+     * executor's own, so cancelling it still cancels the calculation.
+     */
+    @Override
+    public CompletableFuture<DiscountProcessingResult> calculateAsync(UUID productId, int quantity) {
+        CalculationLimiter.Permit permit;
+        try {
+            permit = calculationLimiter.acquire();
+        } catch (CalculationLimitExceededException e) {
+            return CompletableFuture.failedFuture(e);
+        }
 
-        return DiscountProcessingResult.builder()
-                .totalPrice(totalPrice)
-                .discount(totalDiscount)
-                .finalPrice(finalPrice)
+        return calculationExecutor.submit(() -> calculate(productId, quantity), permit::release);
+    }
+
+    @Override
+    public CartProcessingResult calculateCart(List<CartItem> items) {
+        var productIds = items.stream().map(CartItem::getProductId).collect(Collectors.toSet());
+        var snapshots = quoteCache.getSnapshots(productIds, productService::getProducts);
+
+        var itemResults = items.stream()
+                .map(item -> calculateCartItem(snapshots.get(item.getProductId()), item.getQuantity()))
+                .toList();
+
+        return CartProcessingResult.builder()
+                .items(itemResults)
+                .totalPrice(sum(itemResults, CartItemResult::getTotalPrice))
+                .discount(sum(itemResults, CartItemResult::getDiscount))
+                .finalPrice(sum(itemResults, CartItemResult::getFinalPrice))
                 .build();
     }
 
-    private Map<DiscountType, DiscountPolicyModel> getApplicableDiscounts(ProductModel product, int quantity) {
-        var applicableDiscounts = new HashMap<DiscountType, DiscountPolicyModel>();
+    /**
+     * Builds one segment per quantity tier of the product, starting at quantity 1. The segment boundaries are the
+     * sorted policy thresholds, and every quantity of a segment is priced with the same tier quote.
+     */
+    @Override
+    public PriceCurve getPriceCurve(UUID productId) {
+        var snapshot = quoteCache.getSnapshot(productId, productService::getProduct);
+        var breakpoints = breakpoints(snapshot.getProduct().getDiscountTiers().getTierStarts());
 
-        for (DiscountPolicyModel policy : product.getDiscountPolicies()) {
-            if (isDiscountApplicable(policy, quantity)) {
-                updateApplicableDiscounts(applicableDiscounts, policy);
-            }
+        var segments = new ArrayList<PriceCurveSegment>(breakpoints.length);
+        for (int i = 0; i < breakpoints.length; i++) {
+            var fromQuantity = breakpoints[i];
+            var tierQuote = quoteCache.getTierQuote(snapshot, fromQuantity);
+            segments.add(PriceCurveSegment.builder()
+                    .fromQuantity(fromQuantity)
+                    .toQuantity(i + 1 < breakpoints.length ? breakpoints[i + 1] - 1 : null)
+                    .policies(tierQuote.getPolicies())
+                    .percentageDiscount(formulaValue(tierQuote, DiscountType.PERCENTAGE))
+                    .amountDiscount(formulaValue(tierQuote, DiscountType.AMOUNT))
+                    .startPrice(calculate(tierQuote, fromQuantity))
+                    .build());
         }
 
-        return applicableDiscounts;
+        return PriceCurve.builder()
+                .productId(productId)
+                .unitPrice(snapshot.getProduct().getPrice())
+                .segments(segments)
+                .build();
     }
 
-    private boolean isDiscountApplicable(DiscountPolicyModel policy, int quantity) {
-        return policy != null &&
-                policy.getValue() != null &&
-                quantity >= policy.getThreshold();
+    /**
+     * Prices the whole catalog while it is scrolled, bypassing the quote cache so a full export
+     * neither evicts hot entries nor keeps more than the current product in memory.
+     */
+    @Override
+    public void exportPriceList(int quantity, Consumer<PriceListEntry> consumer) {
+        productService.forEachProduct(product -> {
+            var result = calculate(TierQuote.resolve(product, quantity), quantity);
+            consumer.accept(PriceListEntry.builder()
+                    .productId(product.getId())
+                    .name(product.getName())
+                    .quantity(quantity)
+                    .totalPrice(result.getTotalPrice())
+                    .discount(result.getDiscount())
+                    .finalPrice(result.getFinalPrice())
+                    .build());
+        });
     }
 
-    private void updateApplicableDiscounts(Map<DiscountType, DiscountPolicyModel> applicableDiscounts,
-                                           DiscountPolicyModel newPolicy) {
-        applicableDiscounts.merge(
-                newPolicy.getType(),
-                newPolicy,
-                (existing, candidate) -> candidate.getThreshold() > existing.getThreshold() ? candidate : existing
-        );
+    private int[] breakpoints(int[] tierStarts) {
+        return IntStream.concat(IntStream.of(1), Arrays.stream(tierStarts).filter(start -> start > 1)).toArray();
     }
 
-    private BigDecimal calculateTotalDiscount(BigDecimal totalPrice,
-                                              Map<DiscountType, DiscountPolicyModel> applicableDiscounts) {
+    /**
+     * Value of the applied policy of the given type as used by the price formula. Policies the strategies ignore,
+     * such as percentages above 100, contribute zero.
+     */
+    private BigDecimal formulaValue(TierQuote tierQuote, DiscountType type) {
+        return tierQuote.getPolicies().stream()
+                .filter(policy -> policy.getType() == type && isEffective(policy))
+                .map(DiscountPolicyModel::getValue)
+                .findFirst()
+                .orElse(BigDecimal.ZERO);
+    }
 
-        return applicableDiscounts.values().stream()
-                .map(discountPolicy -> calculateDiscountByPolicy(totalPrice, discountPolicy))
+    private boolean isEffective(DiscountPolicyModel policy) {
+        var value = policy.getValue();
+        return switch (policy.getType()) {
+            case PERCENTAGE -> value.signum() >= 0 && value.compareTo(HUNDRED) <= 0;
+            case AMOUNT -> value.signum() >= 0;
+        };
+    }
+
+    private CartItemResult calculateCartItem(ProductSnapshot snapshot, int quantity) {
+        var result = calculate(snapshot, quantity);
+        return CartItemResult.builder()
+                .productId(snapshot.getProduct().getId())
+                .quantity(quantity)
+                .totalPrice(result.getTotalPrice())
+                .discount(result.getDiscount())
+                .finalPrice(result.getFinalPrice())
+                .build();
+    }
+
+    private BigDecimal sum(List<CartItemResult> itemResults, Function<CartItemResult, BigDecimal> amount) {
+        return itemResults.stream()
+                .map(amount)
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
     }
 
+    private DiscountProcessingResult calculate(ProductSnapshot snapshot, int quantity) {
+        return calculate(quoteCache.getTierQuote(snapshot, quantity), quantity);
+    }
+
+    private DiscountProcessingResult calculate(TierQuote tierQuote, int quantity) {
+        if (properties.getCalculationMode() == CalculationMode.FIXED_POINT && isFixedPointCompatible(tierQuote)) {
+            try {
+                return calculateFixedPoint(tierQuote, quantity);
+            } catch (ArithmeticException overflow) {
+                // amounts beyond the long range are priced by the decimal path below
+            }
+        }
+        return calculateDecimal(tierQuote, quantity);
+    }
+
+    private boolean isFixedPointCompatible(TierQuote tierQuote) {
+        var product = tierQuote.getProduct();
+        return product.getPriceCents() != Cents.UNREPRESENTABLE && product.getDiscountTiers().isFixedPointCompatible();
+    }
+
+    private DiscountProcessingResult calculateFixedPoint(TierQuote tierQuote, int quantity) {
+        var policies = tierQuote.getPolicies();
+        var totalPriceCents = Math.multiplyExact(tierQuote.getProduct().getPriceCents(), quantity);
+        var totalDiscountCents = 0L;
+        var hasScaledDiscount = false;
+
+        for (int i = 0; i < policies.size(); i++) {
+            var strategy = discountCalculationFactory.getStrategy(policies.get(i).getType());
+            var discountCents = strategy.calculateDiscountCents(totalPriceCents, tierQuote.getPolicyValueCents()[i]);
+            if (discountCents != Cents.NO_DISCOUNT) {
+                totalDiscountCents = Math.addExact(totalDiscountCents, discountCents);
+                hasScaledDiscount = true;
+            }
+        }
+
+        var finalPriceCents = totalPriceCents - totalDiscountCents;
+        return DiscountProcessingResult.builder()
+                .totalPrice(Cents.toBigDecimal(totalPriceCents))
+                .discount(hasScaledDiscount ? Cents.toBigDecimal(totalDiscountCents) : BigDecimal.ZERO)
+                .finalPrice(finalPriceCents < 0 ? BigDecimal.ZERO : Cents.toBigDecimal(finalPriceCents))
+                .build();
+    }
+
+    private DiscountProcessingResult calculateDecimal(TierQuote tierQuote, int quantity) {
+        var totalPrice = tierQuote.getProduct().getPrice().multiply(BigDecimal.valueOf(quantity));
+        var totalDiscount = calculateTotalDiscount(totalPrice, tierQuote.getPolicies());
+        var finalPrice = calculateFinalPrice(totalPrice, totalDiscount);
+
+        return DiscountProcessingResult.builder()
+                .totalPrice(totalPrice)
+                .discount(totalDiscount)
+                .finalPrice(finalPrice)
+                .build();
+    }
+
+    private BigDecimal calculateTotalDiscount(BigDecimal totalPrice, List<DiscountPolicyModel> applicableDiscounts) {
+        var totalDiscount = BigDecimal.ZERO;
+        for (DiscountPolicyModel policy : applicableDiscounts) {
+            totalDiscount = totalDiscount.add(calculateDiscountByPolicy(totalPrice, policy));
+        }
+        return totalDiscount;
+    }
+
     private BigDecimal calculateDiscountByPolicy(BigDecimal totalPrice, DiscountPolicyModel policy) {
         var strategy = discountCalculationFactory.getStrategy(policy.getType());
         return strategy.calculateDiscount(totalPrice, policy.getValue());
@@ -0,0 +1,148 @@
+package com.shop.demo.service.discountprocessing.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.shop.demo.service.discountpolicy.event.DiscountPolicyChangedEvent;
+import com.shop.demo.service.discountprocessing.config.DiscountProcessingProperties;
+import com.shop.demo.service.discountprocessing.model.TierQuote;
+import com.shop.demo.service.product.event.ProductChangedEvent;
+import com.shop.demo.service.product.model.ProductModel;
+import lombok.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of product snapshots and their resolved {@link TierQuote}s for the quote path.
+ * Entries are versioned per product and per policy change, versions are bumped after the changing
+ * transaction commits, so a stale snapshot is never served once a write is visible in the database.
+ * Versions come from one increasing sequence and are kept for as many products as snapshots; a product whose
+ * version was evicted reads the highest evicted version, which is newer than any snapshot taken before it.
+ */
+@Component
+public class QuoteCache {
+    private final boolean enabled;
+    private final Cache<UUID, ProductSnapshot> snapshots;
+    private final Cache<QuoteKey, TierQuote> tierQuotes;
+    private final Cache<UUID, Long> productVersions;
+    private final AtomicLong productVersionSequence = new AtomicLong();
+    private final AtomicLong evictedProductVersion = new AtomicLong();
+    private final AtomicLong policyVersion = new AtomicLong();
+
+    public QuoteCache(DiscountProcessingProperties properties) {
+        var cacheProperties = properties.getCache();
+        this.enabled = cacheProperties.isEnabled();
+        this.snapshots = Caffeine.newBuilder()
+                .maximumSize(cacheProperties.getMaximumProducts())
+                .build();
+        this.tierQuotes = Caffeine.newBuilder()
+                .maximumSize(cacheProperties.getMaximumTiers())
+                .build();
+        this.productVersions = Caffeine.newBuilder()
+                .maximumSize(cacheProperties.getMaximumProducts())
+                .executor(Runnable::run)
+                .<UUID, Long>evictionListener((productId, version, cause) ->
+                        evictedProductVersion.accumulateAndGet(version, Math::max))
+                .build();
+    }
+
+    public ProductSnapshot getSnapshot(UUID productId, Function<UUID, ProductModel> loader) {
+        var snapshot = snapshots.getIfPresent(productId);
+        if (snapshot != null && isCurrent(snapshot)) {
+            return snapshot;
+        }
+
+        var productVersion = productVersion(productId);
+        var currentPolicyVersion = policyVersion.get();
+        snapshot = new ProductSnapshot(loader.apply(productId), productVersion, currentPolicyVersion);
+        store(snapshot);
+        return snapshot;
+    }
+
+    public Map<UUID, ProductSnapshot> getSnapshots(Collection<UUID> productIds,
+                                                   Function<Collection<UUID>, List<ProductModel>> loader) {
+        var result = new HashMap<UUID, ProductSnapshot>();
+        var productVersionsBeforeLoad = new HashMap<UUID, Long>();
+        for (UUID productId : productIds) {
+            var snapshot = snapshots.getIfPresent(productId);
+            if (snapshot != null && isCurrent(snapshot)) {
+                result.put(productId, snapshot);
+            } else {
+                productVersionsBeforeLoad.put(productId, productVersion(productId));
+            }
+        }
+
+        if (!productVersionsBeforeLoad.isEmpty()) {
+            var currentPolicyVersion = policyVersion.get();
+            for (ProductModel product : loader.apply(productVersionsBeforeLoad.keySet())) {
+                var snapshot = new ProductSnapshot(product, productVersionsBeforeLoad.get(product.getId()),
+                        currentPolicyVersion);
+                store(snapshot);
+                result.put(product.getId(), snapshot);
+            }
+        }
+        return result;
+    }
+
+    public TierQuote getTierQuote(ProductSnapshot snapshot, int quantity) {
+        var product = snapshot.getProduct();
+        if (!enabled) {
+            return TierQuote.resolve(product, quantity);
+        }
+
+        var key = new QuoteKey(product.getId(), snapshot.getProductVersion(), snapshot.getPolicyVersion(),
+                product.getDiscountTiers().findTier(quantity));
+        return tierQuotes.get(key, ignored -> TierQuote.resolve(product, quantity));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        productVersions.put(event.getProductId(), productVersionSequence.incrementAndGet());
+        snapshots.invalidate(event.getProductId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDiscountPolicyChanged(DiscountPolicyChangedEvent event) {
+        policyVersion.incrementAndGet();
+        snapshots.invalidateAll();
+        tierQuotes.invalidateAll();
+    }
+
+    private void store(ProductSnapshot snapshot) {
+        if (enabled) {
+            snapshots.put(snapshot.getProduct().getId(), snapshot);
+        }
+    }
+
+    private boolean isCurrent(ProductSnapshot snapshot) {
+        return snapshot.getProductVersion() == productVersion(snapshot.getProduct().getId()) &&
+                snapshot.getPolicyVersion() == policyVersion.get();
+    }
+
+    private long productVersion(UUID productId) {
+        var version = productVersions.getIfPresent(productId);
+        return version != null ? version : evictedProductVersion.get();
+    }
+
+    @Value
+    public static class ProductSnapshot {
+        ProductModel product;
+        long productVersion;
+        long policyVersion;
+    }
+
+    @Value
+    private static class QuoteKey {
+        UUID productId;
+        long productVersion;
+        long policyVersion;
+        int tier;
+    }
+}
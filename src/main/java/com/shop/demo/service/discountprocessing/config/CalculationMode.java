@@ -0,0 +1,6 @@
+package com.shop.demo.service.discountprocessing.config;
+
+public enum CalculationMode {
+    DECIMAL,
+    FIXED_POINT
+}
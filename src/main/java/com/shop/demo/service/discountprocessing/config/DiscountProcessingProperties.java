@@ -0,0 +1,54 @@
+package com.shop.demo.service.discountprocessing.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "shop.discount-processing")
+public class DiscountProcessingProperties {
+    private CalculationMode calculationMode = CalculationMode.FIXED_POINT;
+    private Cache cache = new Cache();
+    private Async async = new Async();
+    private Limiter limiter = new Limiter();
+
+    @Data
+    public static class Cache {
+        private boolean enabled = true;
+        private long maximumProducts = 10_000;
+        private long maximumTiers = 100_000;
+    }
+
+    @Data
+    public static class Async {
+        private int threads = 16;
+        private int queueCapacity = 1_000;
+        private Duration timeout = Duration.ofSeconds(5);
+        /**
+         * Runs every calculation on its own virtual thread, at most {@code threads + queueCapacity} at once.
+         * Requires a Java 21 runtime.
+         */
+        private boolean virtualThreads = false;
+    }
+
+    @Data
+    public static class Limiter {
+        private boolean enabled = true;
+        private int initialLimit = 20;
+        private int minLimit = 4;
+        private int maxLimit = 200;
+        /**
+         * How much slower than the long-term average recent calculations may get before the limit is lowered.
+         */
+        private double rttTolerance = 1.5;
+        private double smoothing = 0.2;
+        private int shortWindow = 10;
+        private int longWindow = 600;
+        /**
+         * Factor the limit is multiplied by when a calculation times out or cannot be scheduled.
+         */
+        private double backoffRatio = 0.9;
+        private Duration retryAfter = Duration.ofSeconds(1);
+    }
+}
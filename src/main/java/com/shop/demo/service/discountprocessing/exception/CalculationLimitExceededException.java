@@ -0,0 +1,29 @@
+package com.shop.demo.service.discountprocessing.exception;
+
+import com.shop.demo.exception.AbstractShopDemoException;
+import com.shop.demo.exception.ServiceErrorCode;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+
+public class CalculationLimitExceededException extends AbstractShopDemoException {
+    private final Duration retryAfter;
+
+    public CalculationLimitExceededException(String message, Duration retryAfter) {
+        super(ServiceErrorCode.CALCULATION_LIMIT_EXCEEDED, message);
+        this.retryAfter = retryAfter;
+    }
+
+    @Override
+    public HttpStatus getErrorStatus() {
+        return HttpStatus.SERVICE_UNAVAILABLE;
+    }
+
+    @Override
+    public HttpHeaders getErrorHeaders() {
+        var headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, (retryAfter.toMillis() + 999) / 1000)));
+        return headers;
+    }
+}
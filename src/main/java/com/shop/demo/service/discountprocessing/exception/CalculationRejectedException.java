@@ -0,0 +1,16 @@
+package com.shop.demo.service.discountprocessing.exception;
+
+import com.shop.demo.exception.AbstractShopDemoException;
+import com.shop.demo.exception.ServiceErrorCode;
+import org.springframework.http.HttpStatus;
+
+public class CalculationRejectedException extends AbstractShopDemoException {
+    public CalculationRejectedException(String message) {
+        super(ServiceErrorCode.CALCULATION_REJECTED, message);
+    }
+
+    @Override
+    public HttpStatus getErrorStatus() {
+        return HttpStatus.SERVICE_UNAVAILABLE;
+    }
+}
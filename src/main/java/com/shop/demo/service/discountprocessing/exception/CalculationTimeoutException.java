@@ -0,0 +1,16 @@
+package com.shop.demo.service.discountprocessing.exception;
+
+import com.shop.demo.exception.AbstractShopDemoException;
+import com.shop.demo.exception.ServiceErrorCode;
+import org.springframework.http.HttpStatus;
+
+public class CalculationTimeoutException extends AbstractShopDemoException {
+    public CalculationTimeoutException(String message) {
+        super(ServiceErrorCode.CALCULATION_TIMEOUT, message);
+    }
+
+    @Override
+    public HttpStatus getErrorStatus() {
+        return HttpStatus.SERVICE_UNAVAILABLE;
+    }
+}
@@ -0,0 +1,139 @@
+package com.shop.demo.service.discountprocessing.executor;
+
+import com.shop.demo.service.concurrency.bulkhead.BulkheadContext;
+import com.shop.demo.service.discountprocessing.config.DiscountProcessingProperties;
+import com.shop.demo.service.discountprocessing.exception.CalculationRejectedException;
+import com.shop.demo.service.discountprocessing.exception.CalculationTimeoutException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Bounded pool that runs quote calculations off the servlet threads. Work beyond the queue capacity is rejected
+ * instead of queued, and a calculation that does not finish within the configured timeout is cancelled, which
+ * interrupts it if it is already running.
+ * <p>
+ * With {@code virtual-threads} enabled every calculation gets its own virtual thread instead, so calculations
+ * blocked on JDBC do not queue up behind a few platform threads; {@code threads + queue-capacity} then bounds the
+ * calculations running at once and work beyond that is rejected.
+ * <p>
+ * Deliberately not an {@link java.util.concurrent.Executor} bean, so Spring Boot keeps its own
+ * {@code applicationTaskExecutor} for streaming responses.
+ */
+@Component
+public class CalculationExecutor {
+    public static final String METRIC_NAME = "quote-calculation";
+
+    private final ExecutorService executor;
+    private final Duration timeout;
+
+    public CalculationExecutor(DiscountProcessingProperties properties, MeterRegistry meterRegistry) {
+        var async = properties.getAsync();
+        var pool = async.isVirtualThreads() ? virtualThreadPool(async) : platformThreadPool(async);
+        this.executor = ExecutorServiceMetrics.monitor(meterRegistry, pool, METRIC_NAME);
+        this.timeout = async.getTimeout();
+    }
+
+    /**
+     * Schedules the calculation and returns a future that completes with its result or failure. Cancelling the
+     * returned future, or letting it time out, cancels the underlying task. The calculation runs in the bulkhead of
+     * the caller.
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> calculation) {
+        return submit(calculation, failure -> {
+        });
+    }
+
+    /**
+     * Like {@link #submit(Supplier)}, and calls {@code onExit} exactly once when the calculation has left its thread,
+     * or as soon as it is certain never to run, with the failure of the returned future at that point or
+     * {@code null}. A timed-out calculation blocked in a call that ignores interrupts, such as a running JDBC
+     * statement, therefore only exits once that call returns.
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> calculation, Consumer<Throwable> onExit) {
+        var result = new CompletableFuture<T>();
+        var started = new AtomicBoolean();
+        var bulkhead = BulkheadContext.current();
+        try {
+            var task = executor.submit(() -> {
+                if (!started.compareAndSet(false, true)) {
+                    return;
+                }
+                BulkheadContext.set(bulkhead);
+                try {
+                    result.complete(calculation.get());
+                } catch (Throwable e) {
+                    result.completeExceptionally(e);
+                } finally {
+                    BulkheadContext.clear();
+                    onExit.accept(failure(result));
+                }
+            });
+            result.whenComplete((value, error) -> {
+                if (error != null) {
+                    task.cancel(true);
+                    if (started.compareAndSet(false, true)) {
+                        onExit.accept(error);
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            var rejection = new CalculationRejectedException("Calculation capacity exhausted");
+            result.completeExceptionally(rejection);
+            onExit.accept(rejection);
+            return result;
+        }
+
+        // orTimeout drops its timer once the deadline is completed, so finished calculations leave no timer behind
+        var deadline = new CompletableFuture<Void>().orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        deadline.whenComplete((ignored, error) -> {
+            if (error != null) {
+                result.completeExceptionally(
+                        new CalculationTimeoutException("Calculation did not finish within " + timeout));
+            }
+        });
+        result.whenComplete((value, error) -> deadline.complete(null));
+        return result;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static Throwable failure(CompletableFuture<?> result) {
+        return result.handle((value, error) -> error).getNow(null);
+    }
+
+    private static ThreadPoolExecutor platformThreadPool(DiscountProcessingProperties.Async async) {
+        var threadFactory = new CustomizableThreadFactory(METRIC_NAME + "-");
+        threadFactory.setDaemon(true);
+        return new ThreadPoolExecutor(async.getThreads(), async.getThreads(), 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(async.getQueueCapacity()), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * No thread is kept idle and nothing is queued, so every calculation starts a new virtual thread and the maximum
+     * pool size caps how many run at once.
+     */
+    private static ThreadPoolExecutor virtualThreadPool(DiscountProcessingProperties.Async async) {
+        var threadFactory = new VirtualThreadTaskExecutor(METRIC_NAME + "-").getVirtualThreadFactory();
+        return new ThreadPoolExecutor(0, async.getThreads() + async.getQueueCapacity(), 0L, TimeUnit.MILLISECONDS,
+                new SynchronousQueue<>(), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+    }
+}
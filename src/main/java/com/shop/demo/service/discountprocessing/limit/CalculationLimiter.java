@@ -0,0 +1,164 @@
+package com.shop.demo.service.discountprocessing.limit;
+
+import com.shop.demo.service.discountprocessing.config.DiscountProcessingProperties;
+import com.shop.demo.service.discountprocessing.exception.CalculationLimitExceededException;
+import com.shop.demo.service.discountprocessing.exception.CalculationRejectedException;
+import com.shop.demo.service.discountprocessing.exception.CalculationTimeoutException;
+import com.shop.demo.service.discountprocessing.executor.CalculationExecutor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Adaptive limit on concurrent quote calculations, in the style of a gradient limiter. The limit follows the ratio
+ * of the long-term to the short-term average latency: while recent calculations are no slower than the long-term
+ * average times the tolerance, the limit keeps a few calls of headroom above the current concurrency; once they
+ * get slower it shrinks in proportion. A calculation that times out or cannot be scheduled cuts the limit
+ * multiplicatively. Calls beyond the limit are rejected at once instead of queueing up behind a slow database.
+ */
+@Component
+public class CalculationLimiter {
+    private static final double MIN_GRADIENT = 0.5;
+    private static final int QUEUE_SIZE = 4;
+
+    private final boolean enabled;
+    private final double minLimit;
+    private final double maxLimit;
+    private final double rttTolerance;
+    private final double smoothing;
+    private final int shortWindow;
+    private final int longWindow;
+    private final double backoffRatio;
+    private final Duration retryAfter;
+    private final LongSupplier clock;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Counter rejections;
+    private volatile double limit;
+    private double shortRtt;
+    private double longRtt;
+
+    @Autowired
+    public CalculationLimiter(DiscountProcessingProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, System::nanoTime);
+    }
+
+    CalculationLimiter(DiscountProcessingProperties properties, MeterRegistry meterRegistry, LongSupplier clock) {
+        var limiter = properties.getLimiter();
+        this.enabled = limiter.isEnabled();
+        this.minLimit = limiter.getMinLimit();
+        this.maxLimit = limiter.getMaxLimit();
+        this.rttTolerance = limiter.getRttTolerance();
+        this.smoothing = limiter.getSmoothing();
+        this.shortWindow = limiter.getShortWindow();
+        this.longWindow = limiter.getLongWindow();
+        this.backoffRatio = limiter.getBackoffRatio();
+        this.retryAfter = limiter.getRetryAfter();
+        this.clock = clock;
+        this.limit = limiter.getInitialLimit();
+
+        Gauge.builder("concurrency.limit", this, CalculationLimiter::getLimit)
+                .description("Current adaptive concurrency limit")
+                .tag("name", CalculationExecutor.METRIC_NAME)
+                .register(meterRegistry);
+        Gauge.builder("concurrency.in.flight", inFlight, AtomicInteger::get)
+                .description("Calls currently admitted by the concurrency limiter")
+                .tag("name", CalculationExecutor.METRIC_NAME)
+                .register(meterRegistry);
+        this.rejections = Counter.builder("concurrency.rejections")
+                .description("Calls rejected by the concurrency limiter")
+                .tag("name", CalculationExecutor.METRIC_NAME)
+                .register(meterRegistry);
+    }
+
+    public Permit acquire() {
+        while (true) {
+            var current = inFlight.get();
+            if (enabled && current >= getLimit()) {
+                rejections.increment();
+                throw new CalculationLimitExceededException(
+                        "Calculation concurrency limit of " + getLimit() + " reached", retryAfter);
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return new Permit(clock.getAsLong(), current + 1);
+            }
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void onSample(long rttNanos, int inFlightAtStart) {
+        if (longRtt == 0) {
+            shortRtt = rttNanos;
+            longRtt = rttNanos;
+        } else {
+            shortRtt += (rttNanos - shortRtt) / shortWindow;
+            // Queueing delay must not become the new normal, or the limit creeps up under sustained overload
+            if (shortRtt <= longRtt || inFlightAtStart < limit / 2) {
+                longRtt += (rttNanos - longRtt) / longWindow;
+            }
+        }
+
+        // Recovering from a slow period: let the long-term average catch up with the faster recent latency
+        if (longRtt > 2 * shortRtt) {
+            longRtt *= 0.95;
+        }
+
+        // Not using the current limit, so latency says nothing about whether it is too low
+        if (inFlightAtStart < limit / 2) {
+            return;
+        }
+
+        var gradient = Math.max(MIN_GRADIENT, Math.min(1.0, rttTolerance * longRtt / shortRtt));
+        var newLimit = limit * gradient + QUEUE_SIZE;
+        limit = clamp(limit * (1 - smoothing) + newLimit * smoothing);
+    }
+
+    private synchronized void onDropped() {
+        limit = clamp(limit * backoffRatio);
+    }
+
+    private double clamp(double value) {
+        return Math.max(minLimit, Math.min(maxLimit, value));
+    }
+
+    /**
+     * Admission of one calculation. Released with the outcome of the calculation, which feeds the limit.
+     */
+    public class Permit {
+        private final long startedAt;
+        private final int inFlightAtStart;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(long startedAt, int inFlightAtStart) {
+            this.startedAt = startedAt;
+            this.inFlightAtStart = inFlightAtStart;
+        }
+
+        public void release(Throwable error) {
+            if (!released.compareAndSet(false, true)) {
+                return;
+            }
+            inFlight.decrementAndGet();
+
+            if (error instanceof CalculationTimeoutException || error instanceof CalculationRejectedException) {
+                onDropped();
+            } else if (!(error instanceof CancellationException)) {
+                onSample(clock.getAsLong() - startedAt, inFlightAtStart);
+            }
+        }
+    }
+}
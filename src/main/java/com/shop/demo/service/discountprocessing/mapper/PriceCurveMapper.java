@@ -0,0 +1,39 @@
+package com.shop.demo.service.discountprocessing.mapper;
+
+import com.shop.demo.api.v1.discountprocessing.dto.PriceCurveResponse;
+import com.shop.demo.api.v1.discountprocessing.dto.PriceCurveSegmentResponse;
+import com.shop.demo.service.discountpolicy.mapper.DiscountPolicyMapper;
+import com.shop.demo.service.discountprocessing.model.PriceCurve;
+import com.shop.demo.service.discountprocessing.model.PriceCurveSegment;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class PriceCurveMapper {
+
+    private final DiscountPolicyMapper discountPolicyMapper;
+
+    public PriceCurveResponse modelToResponse(PriceCurve model) {
+        var segments = model.getSegments().stream()
+                .map(this::modelToResponse)
+                .toList();
+
+        return PriceCurveResponse.builder()
+                .productId(model.getProductId())
+                .unitPrice(model.getUnitPrice())
+                .segments(segments)
+                .build();
+    }
+
+    public PriceCurveSegmentResponse modelToResponse(PriceCurveSegment model) {
+        return PriceCurveSegmentResponse.builder()
+                .fromQuantity(model.getFromQuantity())
+                .toQuantity(model.getToQuantity())
+                .policies(discountPolicyMapper.modelToResponse(model.getPolicies()))
+                .percentageDiscount(model.getPercentageDiscount())
+                .amountDiscount(model.getAmountDiscount())
+                .startPrice(model.getStartPrice())
+                .build();
+    }
+}
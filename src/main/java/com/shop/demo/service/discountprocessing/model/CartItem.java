@@ -0,0 +1,13 @@
+package com.shop.demo.service.discountprocessing.model;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.UUID;
+
+@Value
+@Builder
+public class CartItem {
+    UUID productId;
+    int quantity;
+}
@@ -0,0 +1,33 @@
+package com.shop.demo.service.discountprocessing.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Value
+@Builder
+@Schema(description = "Result of discount calculation for a single cart line")
+public class CartItemResult {
+    @Schema(description = "Product ID of the cart line",
+            example = "123e4567-e89b-12d3-a456-426614174000")
+    UUID productId;
+
+    @Schema(description = "Quantity of the cart line",
+            example = "5")
+    int quantity;
+
+    @Schema(description = "Total price of the line before discount",
+            example = "100.00")
+    BigDecimal totalPrice;
+
+    @Schema(description = "Calculated discount amount of the line",
+            example = "20.00")
+    BigDecimal discount;
+
+    @Schema(description = "Final price of the line after applying discount",
+            example = "80.00")
+    BigDecimal finalPrice;
+}
@@ -0,0 +1,28 @@
+package com.shop.demo.service.discountprocessing.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Value
+@Builder
+@Schema(description = "Result of discount calculation for a whole cart")
+public class CartProcessingResult {
+    @Schema(description = "Per-line calculation results in request order")
+    List<CartItemResult> items;
+
+    @Schema(description = "Total cart price before discount",
+            example = "300.00")
+    BigDecimal totalPrice;
+
+    @Schema(description = "Sum of discounts of all cart lines",
+            example = "45.00")
+    BigDecimal discount;
+
+    @Schema(description = "Final cart price after applying discounts",
+            example = "255.00")
+    BigDecimal finalPrice;
+}
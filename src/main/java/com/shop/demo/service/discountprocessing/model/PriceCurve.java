@@ -0,0 +1,16 @@
+package com.shop.demo.service.discountprocessing.model;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+@Value
+@Builder
+public class PriceCurve {
+    UUID productId;
+    BigDecimal unitPrice;
+    List<PriceCurveSegment> segments;
+}
@@ -0,0 +1,19 @@
+package com.shop.demo.service.discountprocessing.model;
+
+import com.shop.demo.service.discountpolicy.model.DiscountPolicyModel;
+import lombok.Builder;
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Value
+@Builder
+public class PriceCurveSegment {
+    int fromQuantity;
+    Integer toQuantity;
+    List<DiscountPolicyModel> policies;
+    BigDecimal percentageDiscount;
+    BigDecimal amountDiscount;
+    DiscountProcessingResult startPrice;
+}
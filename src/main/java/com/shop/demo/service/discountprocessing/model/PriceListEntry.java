@@ -0,0 +1,37 @@
+package com.shop.demo.service.discountprocessing.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Value
+@Builder
+@Schema(description = "Discounted price of a single product in the price list")
+public class PriceListEntry {
+    @Schema(description = "Product ID",
+            example = "123e4567-e89b-12d3-a456-426614174000")
+    UUID productId;
+
+    @Schema(description = "Product name",
+            example = "Laptop")
+    String name;
+
+    @Schema(description = "Quantity the price is calculated for",
+            example = "5")
+    int quantity;
+
+    @Schema(description = "Total price before discount",
+            example = "100.00")
+    BigDecimal totalPrice;
+
+    @Schema(description = "Calculated discount amount",
+            example = "20.00")
+    BigDecimal discount;
+
+    @Schema(description = "Final price after applying discount",
+            example = "80.00")
+    BigDecimal finalPrice;
+}
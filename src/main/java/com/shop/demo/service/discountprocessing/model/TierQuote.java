@@ -0,0 +1,44 @@
+package com.shop.demo.service.discountprocessing.model;
+
+import com.shop.demo.persistence.discountpolicy.entity.DiscountType;
+import com.shop.demo.service.discountpolicy.model.DiscountPolicyModel;
+import com.shop.demo.service.product.model.ProductModel;
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Discount policies applicable to every quantity of one product tier, see
+ * {@link com.shop.demo.service.discountpolicy.model.DiscountTierTable#findTier(int)}.
+ */
+@Value
+@Builder
+public class TierQuote {
+    ProductModel product;
+    int tier;
+    List<DiscountPolicyModel> policies;
+    long[] policyValueCents;
+
+    public static TierQuote resolve(ProductModel product, int quantity) {
+        var discountTiers = product.getDiscountTiers();
+        var policies = new ArrayList<DiscountPolicyModel>();
+        var valueCents = new long[DiscountType.values().length];
+
+        for (DiscountType type : DiscountType.values()) {
+            var index = discountTiers.findApplicableIndex(type, quantity);
+            if (index >= 0) {
+                valueCents[policies.size()] = discountTiers.getValueCents(type, index);
+                policies.add(discountTiers.getPolicy(type, index));
+            }
+        }
+
+        return TierQuote.builder()
+                .product(product)
+                .tier(discountTiers.findTier(quantity))
+                .policies(List.copyOf(policies))
+                .policyValueCents(valueCents)
+                .build();
+    }
+}
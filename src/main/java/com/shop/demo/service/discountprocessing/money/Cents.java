@@ -0,0 +1,55 @@
+package com.shop.demo.service.discountprocessing.money;
+
+import java.math.BigDecimal;
+
+/**
+ * Fixed-point money arithmetic on {@code long} minor units (cents, scale 2).
+ * Used by the {@link com.shop.demo.service.discountprocessing.config.CalculationMode#FIXED_POINT} calculation mode,
+ * which only converts to {@link BigDecimal} at the API boundary.
+ */
+public final class Cents {
+    public static final int SCALE = 2;
+
+    /**
+     * Marker for amounts that have no exact scale-2 {@code long} representation.
+     */
+    public static final long UNREPRESENTABLE = Long.MIN_VALUE;
+
+    /**
+     * Marker returned by strategies when the {@link BigDecimal} variant would return an unscaled {@link BigDecimal#ZERO}.
+     */
+    public static final long NO_DISCOUNT = -1L;
+
+    private static final int MAX_PRECISION = 18;
+
+    private Cents() {
+    }
+
+    public static long toCents(BigDecimal amount) {
+        if (amount == null || amount.scale() != SCALE || amount.precision() > MAX_PRECISION) {
+            return UNREPRESENTABLE;
+        }
+        return amount.unscaledValue().longValue();
+    }
+
+    public static BigDecimal toBigDecimal(long cents) {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+
+    /**
+     * Divides with {@link java.math.RoundingMode#HALF_EVEN} rounding. The divisor must be positive.
+     */
+    public static long divideHalfEven(long dividend, long divisor) {
+        var quotient = dividend / divisor;
+        var remainder = dividend % divisor;
+        if (remainder == 0) {
+            return quotient;
+        }
+
+        var comparison = Long.compare(Math.abs(remainder), divisor - Math.abs(remainder));
+        if (comparison > 0 || (comparison == 0 && (quotient & 1) != 0)) {
+            quotient += Long.signum(dividend);
+        }
+        return quotient;
+    }
+}
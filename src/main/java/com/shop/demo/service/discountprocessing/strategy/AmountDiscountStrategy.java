@@ -1,5 +1,6 @@
 package com.shop.demo.service.discountprocessing.strategy;
 
+import com.shop.demo.service.discountprocessing.money.Cents;
 import org.springframework.stereotype.Component;
 import java.math.BigDecimal;
 
@@ -12,4 +13,12 @@ public class AmountDiscountStrategy implements DiscountCalculationStrategy {
         }
         return value;
     }
+
+    @Override
+    public long calculateDiscountCents(long basePriceCents, long valueCents) {
+        if (valueCents < 0) {
+            return Cents.NO_DISCOUNT;
+        }
+        return valueCents;
+    }
 }
@@ -4,4 +4,11 @@ import java.math.BigDecimal;
 
 public interface DiscountCalculationStrategy {
     BigDecimal calculateDiscount(BigDecimal basePrice, BigDecimal value);
+
+    /**
+     * Fixed-point variant of {@link #calculateDiscount(BigDecimal, BigDecimal)} working on cents.
+     * Returns {@link com.shop.demo.service.discountprocessing.money.Cents#NO_DISCOUNT} where the decimal variant
+     * returns {@link BigDecimal#ZERO} and throws {@link ArithmeticException} on {@code long} overflow.
+     */
+    long calculateDiscountCents(long basePriceCents, long valueCents);
 }
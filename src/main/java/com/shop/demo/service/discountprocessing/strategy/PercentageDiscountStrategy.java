@@ -1,5 +1,6 @@
 package com.shop.demo.service.discountprocessing.strategy;
 
+import com.shop.demo.service.discountprocessing.money.Cents;
 import org.springframework.stereotype.Component;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
@@ -7,6 +8,7 @@ import java.math.RoundingMode;
 @Component
 public class PercentageDiscountStrategy implements DiscountCalculationStrategy {
     private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+    private static final long HUNDRED_PERCENT_CENTS = 100_00L;
 
     @Override
     public BigDecimal calculateDiscount(BigDecimal basePrice, BigDecimal percentageValue) {
@@ -19,4 +21,13 @@ public class PercentageDiscountStrategy implements DiscountCalculationStrategy {
         return basePrice.multiply(percentageValue)
                 .divide(HUNDRED, 2, RoundingMode.HALF_EVEN);
     }
+
+    @Override
+    public long calculateDiscountCents(long basePriceCents, long percentageCents) {
+        if (percentageCents < 0 || percentageCents > HUNDRED_PERCENT_CENTS) {
+            return Cents.NO_DISCOUNT;
+        }
+
+        return Cents.divideHalfEven(Math.multiplyExact(basePriceCents, percentageCents), HUNDRED_PERCENT_CENTS);
+    }
 }
@@ -0,0 +1,41 @@
+package com.shop.demo.service.pagination;
+
+import com.shop.demo.service.pagination.exception.InvalidCursorException;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque keyset cursor holding the id of the last item of a page. The next page starts right after that id,
+ * so every page is an index range scan instead of an offset scan.
+ */
+public final class KeysetCursor {
+    private static final int UUID_BYTES = 16;
+
+    private KeysetCursor() {
+    }
+
+    public static String encode(UUID lastId) {
+        var bytes = ByteBuffer.allocate(UUID_BYTES)
+                .putLong(lastId.getMostSignificantBits())
+                .putLong(lastId.getLeastSignificantBits())
+                .array();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    public static UUID decode(String cursor) {
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Cursor=" + cursor + " is not valid");
+        }
+        if (bytes.length != UUID_BYTES) {
+            throw new InvalidCursorException("Cursor=" + cursor + " is not valid");
+        }
+
+        var buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+}
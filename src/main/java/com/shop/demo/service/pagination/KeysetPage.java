@@ -0,0 +1,13 @@
+package com.shop.demo.service.pagination;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+@Builder
+public class KeysetPage<T> {
+    List<T> items;
+    String nextCursor;
+}
@@ -0,0 +1,16 @@
+package com.shop.demo.service.pagination.exception;
+
+import com.shop.demo.exception.AbstractShopDemoException;
+import com.shop.demo.exception.ServiceErrorCode;
+import org.springframework.http.HttpStatus;
+
+public class InvalidCursorException extends AbstractShopDemoException {
+    public InvalidCursorException(String message) {
+        super(ServiceErrorCode.INVALID_CURSOR, message);
+    }
+
+    @Override
+    public HttpStatus getErrorStatus() {
+        return HttpStatus.BAD_REQUEST;
+    }
+}
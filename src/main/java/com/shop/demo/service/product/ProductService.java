@@ -1,21 +1,36 @@
 package com.shop.demo.service.product;
 
+import com.shop.demo.service.pagination.KeysetPage;
 import com.shop.demo.service.product.model.ProductModel;
 import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public interface ProductService {
     ProductModel addDiscountPolicy(UUID productId, UUID discountPolicyId);
 
     ProductModel removeDiscountPolicy(UUID productId, UUID discountPolicyId);
 
+    int addDiscountPolicyToProducts(UUID discountPolicyId, Collection<UUID> productIds);
+
+    int removeDiscountPolicyFromProducts(UUID discountPolicyId, Collection<UUID> productIds);
+
     ProductModel getProduct(UUID id);
 
+    List<ProductModel> getProducts(Collection<UUID> ids);
+
     List<ProductModel> getAllProducts(Pageable pageable);
 
+    KeysetPage<ProductModel> scrollProducts(String cursor, int size);
+
+    KeysetPage<ProductModel> scrollProductsByDiscountPolicy(UUID discountPolicyId, String cursor, int size);
+
+    void forEachProduct(Consumer<ProductModel> consumer);
+
     ProductModel createProduct(String name, BigDecimal price);
 
     ProductModel updateProduct(UUID id, String name, BigDecimal price);
@@ -5,69 +5,210 @@ import com.shop.demo.persistence.discountpolicy.repository.DiscountPolicyReposit
 import com.shop.demo.persistence.product.entity.ProductEntity;
 import com.shop.demo.persistence.product.repository.ProductRepository;
 import com.shop.demo.service.discountpolicy.exception.DiscountPolicyNotFoundException;
+import com.shop.demo.service.concurrency.ConflictRetryTemplate;
+import com.shop.demo.service.pagination.KeysetCursor;
+import com.shop.demo.service.pagination.KeysetPage;
+import com.shop.demo.service.product.cache.ProductCache;
+import com.shop.demo.service.product.event.ProductChangedEvent;
 import com.shop.demo.service.product.excpetion.ProductAlreadyContainsPolicyException;
 import com.shop.demo.service.product.excpetion.ProductNotFoundException;
 import com.shop.demo.service.product.mapper.ProductMapper;
 import com.shop.demo.service.product.model.ProductModel;
-import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
-@RequiredArgsConstructor
 public class ProductServiceImpl implements ProductService {
+    private static final int BULK_CHUNK_SIZE = 1_000;
+
     private final ProductRepository productRepository;
     private final ProductMapper mapper;
 
     private final DiscountPolicyRepository discountPolicyRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProductCache productCache;
+    private final ConflictRetryTemplate conflictRetryTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
 
-    @Transactional
+    public ProductServiceImpl(ProductRepository productRepository, ProductMapper mapper,
+                              DiscountPolicyRepository discountPolicyRepository,
+                              ApplicationEventPublisher eventPublisher, ProductCache productCache,
+                              ConflictRetryTemplate conflictRetryTemplate,
+                              PlatformTransactionManager transactionManager) {
+        this.productRepository = productRepository;
+        this.mapper = mapper;
+        this.discountPolicyRepository = discountPolicyRepository;
+        this.eventPublisher = eventPublisher;
+        this.productCache = productCache;
+        this.conflictRetryTemplate = conflictRetryTemplate;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Changing the policy set bumps the product version, so of two concurrent calls on the same product only one
+     * commits; the other is retried and runs {@link #checkIfHasSamePolicy} against the committed policies.
+     */
     @Override
     public ProductModel addDiscountPolicy(UUID productId, UUID discountPolicyId) {
-        var product = productRepository.findById(productId)
-                .orElseThrow(() -> new ProductNotFoundException("Product with id=" + productId + " not found"));
+        return conflictRetryTemplate.execute(status -> {
+            var product = productRepository.findById(productId)
+                    .orElseThrow(() -> new ProductNotFoundException("Product with id=" + productId + " not found"));
 
-        var discountPolicy = discountPolicyRepository.findById(discountPolicyId)
-                .orElseThrow(() -> new DiscountPolicyNotFoundException("Policy with id=" + discountPolicyId + " not found"));
+            var discountPolicy = discountPolicyRepository.findById(discountPolicyId)
+                    .orElseThrow(() -> new DiscountPolicyNotFoundException("Policy with id=" + discountPolicyId + " not found"));
 
-        checkIfHasSamePolicy(product, discountPolicy);
+            checkIfHasSamePolicy(product, discountPolicy);
 
-        product.getDiscountPolicies().add(discountPolicy);
-        product = productRepository.save(product);
-        return mapper.entityToModel(product);
+            product.getDiscountPolicies().add(discountPolicy);
+            product = productRepository.saveAndFlush(product);
+            eventPublisher.publishEvent(new ProductChangedEvent(productId));
+            return mapper.entityToModel(product);
+        });
     }
 
+    /**
+     * Deletes the join row directly; the product is only read afterwards to build the response. When the policy was
+     * not attached nothing changed, so the version, the event and the caches are left alone.
+     */
     @Transactional
     @Override
     public ProductModel removeDiscountPolicy(UUID productId, UUID discountPolicyId) {
-        var product = productRepository.findById(productId)
-                .orElseThrow(() -> new ProductNotFoundException("Product with id=" + productId + " not found"));
+        if (productRepository.deleteDiscountPolicyLinks(discountPolicyId, List.of(productId)) == 0) {
+            return loadProduct(productId);
+        }
+        productRepository.incrementVersions(List.of(productId));
 
-        product.getDiscountPolicies().removeIf(policy -> policy.getId().equals(discountPolicyId));
+        var product = loadProduct(productId);
+        eventPublisher.publishEvent(new ProductChangedEvent(productId));
+        return product;
+    }
+
+    @Override
+    public int addDiscountPolicyToProducts(UUID discountPolicyId, Collection<UUID> productIds) {
+        var chunks = chunks(productIds);
+        return conflictRetryTemplate.execute(status -> {
+            if (!discountPolicyRepository.existsById(discountPolicyId)) {
+                throw new DiscountPolicyNotFoundException("Policy with id=" + discountPolicyId + " not found");
+            }
 
-        product = productRepository.save(product);
-        return mapper.entityToModel(product);
+            lockProducts(chunks);
+            checkIfHaveSamePolicy(discountPolicyId, chunks);
+
+            var added = chunks.stream()
+                    .mapToInt(chunk -> productRepository.insertDiscountPolicyLinks(discountPolicyId, chunk))
+                    .sum();
+            publishProductsChanged(chunks);
+            return added;
+        });
     }
 
-    @Transactional(readOnly = true)
+    @Transactional
+    @Override
+    public int removeDiscountPolicyFromProducts(UUID discountPolicyId, Collection<UUID> productIds) {
+        var chunks = chunks(productIds);
+        lockProducts(chunks);
+
+        var removed = chunks.stream()
+                .mapToInt(chunk -> productRepository.deleteDiscountPolicyLinks(discountPolicyId, chunk))
+                .sum();
+        publishProductsChanged(chunks);
+        return removed;
+    }
+
+    /**
+     * Served from {@link ProductCache}; a miss loads the product with its policies in one query inside a read-only
+     * transaction, so it can be routed to the replica, while no transaction is opened for cached products.
+     * Concurrent misses for the same id share that query.
+     */
     @Override
     public ProductModel getProduct(UUID id) {
-        return productRepository.findById(id)
-                .map(mapper::entityToModel)
-                .orElseThrow(() -> new ProductNotFoundException("Product with id=" + id + " not found"));
+        return productCache.get(id, productId -> readOnlyTransactionTemplate.execute(status -> loadProduct(productId)));
     }
 
     @Transactional(readOnly = true)
     @Override
-    public List<ProductModel> getAllProducts(Pageable pageable) {
-        return productRepository.findAll(pageable)
+    public List<ProductModel> getProducts(Collection<UUID> ids) {
+        var products = productRepository.findAllWithDiscountPoliciesByIdIn(ids).stream()
                 .map(mapper::entityToModel)
                 .toList();
+
+        var missingIds = new HashSet<>(ids);
+        products.forEach(product -> missingIds.remove(product.getId()));
+        if (!missingIds.isEmpty()) {
+            throw new ProductNotFoundException("Products with ids=" + missingIds + " not found");
+        }
+        return products;
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<ProductModel> getAllProducts(Pageable pageable) {
+        var ids = productRepository.findIdsBy(orderedById(pageable)).getContent();
+        return getProductsInOrder(ids);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public KeysetPage<ProductModel> scrollProducts(String cursor, int size) {
+        var limit = Limit.of(size + 1);
+        var ids = StringUtils.hasText(cursor)
+                ? productRepository.findIdsAfterOrderById(KeysetCursor.decode(cursor), limit)
+                : productRepository.findIdsOrderById(limit);
+
+        var hasNext = ids.size() > size;
+        var pageIds = hasNext ? ids.subList(0, size) : ids;
+        return KeysetPage.<ProductModel>builder()
+                .items(getProductsInOrder(pageIds))
+                .nextCursor(hasNext ? KeysetCursor.encode(pageIds.get(size - 1)) : null)
+                .build();
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public KeysetPage<ProductModel> scrollProductsByDiscountPolicy(UUID discountPolicyId, String cursor, int size) {
+        var after = StringUtils.hasText(cursor) ? KeysetCursor.decode(cursor) : null;
+        if (!discountPolicyRepository.existsById(discountPolicyId)) {
+            throw new DiscountPolicyNotFoundException("Policy with id=" + discountPolicyId + " not found");
+        }
+
+        var limit = Limit.of(size + 1);
+        var ids = after != null
+                ? productRepository.findIdsByDiscountPolicyAfterOrderById(discountPolicyId, after, limit)
+                : productRepository.findIdsByDiscountPolicyOrderById(discountPolicyId, limit);
+
+        var hasNext = ids.size() > size;
+        var pageIds = hasNext ? ids.subList(0, size) : ids;
+        return KeysetPage.<ProductModel>builder()
+                .items(getProductsInOrder(pageIds))
+                .nextCursor(hasNext ? KeysetCursor.encode(pageIds.get(size - 1)) : null)
+                .build();
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public void forEachProduct(Consumer<ProductModel> consumer) {
+        productRepository.forEachWithDiscountPolicies(entity -> consumer.accept(mapper.entityToModel(entity)));
     }
 
     @Transactional
@@ -84,19 +225,101 @@ public class ProductServiceImpl implements ProductService {
     @Transactional
     @Override
     public ProductModel updateProduct(UUID id, String name, BigDecimal price) {
-        var entity = productRepository.findById(id)
-                .orElseThrow(() -> new ProductNotFoundException("Product with id=" + id + " not found"));
-        entity.setName(name);
-        entity.setPrice(price);
+        if (productRepository.updateNameAndPrice(id, name, price) == 0) {
+            throw new ProductNotFoundException("Product with id=" + id + " not found");
+        }
 
-        entity = productRepository.save(entity);
-        return mapper.entityToModel(entity);
+        var product = loadProduct(id);
+        eventPublisher.publishEvent(new ProductChangedEvent(id));
+        return product;
     }
 
     @Transactional
     @Override
     public void deleteProduct(UUID id) {
-        productRepository.deleteById(id);
+        if (productRepository.deleteProductById(id) == 0) {
+            throw new ProductNotFoundException("Product with id=" + id + " not found");
+        }
+        eventPublisher.publishEvent(new ProductChangedEvent(id));
+    }
+
+    private ProductModel loadProduct(UUID id) {
+        return productRepository.findWithDiscountPoliciesById(id)
+                .map(mapper::entityToModel)
+                .orElseThrow(() -> new ProductNotFoundException("Product with id=" + id + " not found"));
+    }
+
+    private List<ProductModel> getProductsInOrder(List<UUID> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        var productsById = productRepository.findAllWithDiscountPoliciesByIdIn(ids).stream()
+                .collect(Collectors.toMap(ProductEntity::getId, Function.identity()));
+        return ids.stream()
+                .map(productsById::get)
+                .filter(Objects::nonNull)
+                .map(mapper::entityToModel)
+                .toList();
+    }
+
+    /**
+     * Appends the id as the last sort key so pages of the id query are stable between requests.
+     */
+    private Pageable orderedById(Pageable pageable) {
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort().and(Sort.by("id")));
+    }
+
+    /**
+     * Splits the distinct ids into chunks so every bulk statement binds a bounded number of parameters.
+     */
+    private List<List<UUID>> chunks(Collection<UUID> ids) {
+        var distinctIds = List.copyOf(new LinkedHashSet<>(ids));
+        var chunks = new ArrayList<List<UUID>>();
+        for (int from = 0; from < distinctIds.size(); from += BULK_CHUNK_SIZE) {
+            chunks.add(distinctIds.subList(from, Math.min(from + BULK_CHUNK_SIZE, distinctIds.size())));
+        }
+        return chunks;
+    }
+
+    /**
+     * Bumps the version of every product, which also row-locks them until commit: concurrent single-product
+     * changes fail their version check and retry, and the duplicate check that follows sees committed data only.
+     */
+    private void lockProducts(List<List<UUID>> chunks) {
+        var locked = chunks.stream()
+                .mapToInt(productRepository::incrementVersions)
+                .sum();
+        if (locked != chunks.stream().mapToInt(List::size).sum()) {
+            checkIfProductsExist(chunks);
+        }
+    }
+
+    private void checkIfProductsExist(List<List<UUID>> chunks) {
+        var missingIds = new LinkedHashSet<UUID>();
+        for (List<UUID> chunk : chunks) {
+            missingIds.addAll(chunk);
+            productRepository.findIdsByIdIn(chunk).forEach(missingIds::remove);
+        }
+        if (!missingIds.isEmpty()) {
+            throw new ProductNotFoundException("Products with ids=" + missingIds + " not found");
+        }
+    }
+
+    private void checkIfHaveSamePolicy(UUID discountPolicyId, List<List<UUID>> chunks) {
+        var conflictingIds = chunks.stream()
+                .flatMap(chunk -> productRepository.findIdsWithSameDiscountPolicy(discountPolicyId, chunk).stream())
+                .toList();
+
+        if (!conflictingIds.isEmpty()) {
+            var msg = String.format("Products with ids=%s already contain a discount policy with the same type, " +
+                    "threshold, and value.", conflictingIds);
+            throw new ProductAlreadyContainsPolicyException(msg);
+        }
+    }
+
+    private void publishProductsChanged(List<List<UUID>> chunks) {
+        chunks.forEach(chunk -> chunk.forEach(id -> eventPublisher.publishEvent(new ProductChangedEvent(id))));
     }
 
     private void checkIfHasSamePolicy(ProductEntity product, DiscountPolicyEntity discountPolicy) {
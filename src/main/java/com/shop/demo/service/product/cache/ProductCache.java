@@ -0,0 +1,108 @@
+package com.shop.demo.service.product.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.shop.demo.service.concurrency.SingleFlight;
+import com.shop.demo.service.concurrency.exception.BulkheadFullException;
+import com.shop.demo.service.discountpolicy.event.DiscountPolicyChangedEvent;
+import com.shop.demo.service.product.config.ProductCacheProperties;
+import com.shop.demo.service.product.event.ProductChangedEvent;
+import com.shop.demo.service.product.excpetion.ProductNotFoundException;
+import com.shop.demo.service.product.model.ProductModel;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Size- and TTL-bounded near cache of {@link ProductModel}s returned by {@code ProductService.getProduct}.
+ * Entries are invalidated after the changing transaction commits: a product change drops that product, a policy
+ * change drops the products the event lists as linked to the policy, found through the reverse index instead of a
+ * scan of the cache. Hit, miss and eviction counters are published as
+ * {@code cache.*} metrics with the {@code cache=products} tag.
+ */
+@Component
+public class ProductCache {
+    public static final String NAME = "products";
+
+    private final boolean enabled;
+    private final Cache<UUID, ProductModel> products;
+    private final AtomicLong generation = new AtomicLong();
+    private final SingleFlight<UUID, ProductModel> loads;
+
+    public ProductCache(ProductCacheProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.loads = new SingleFlight<>(properties.getLoadWait(), ProductCache::isSharedFailure);
+        this.products = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTimeToLive())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, products, NAME);
+    }
+
+    /**
+     * Returns the cached product or loads it. Concurrent misses for the same product, such as a burst of quotes for a
+     * product on sale, share a single load, also when caching is disabled. A product loaded while an invalidation was
+     * running is returned but not kept, because it may have been read before the change was committed.
+     */
+    public ProductModel get(UUID productId, Function<UUID, ProductModel> loader) {
+        if (!enabled) {
+            return loads.execute(productId, loader);
+        }
+
+        var product = products.getIfPresent(productId);
+        if (product != null) {
+            return product;
+        }
+
+        var generationBeforeLoad = generation.get();
+        product = loads.execute(productId, loader);
+        products.put(productId, product);
+        if (generation.get() != generationBeforeLoad) {
+            products.invalidate(productId);
+        }
+        return product;
+    }
+
+    /**
+     * Runs before the quote cache listeners so a quote snapshot is never rebuilt from a stale product.
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        // Detach in-flight loads first, so a caller that sees the new generation never joins a stale load
+        loads.forget(event.getProductId());
+        generation.incrementAndGet();
+        products.invalidate(event.getProductId());
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDiscountPolicyChanged(DiscountPolicyChangedEvent event) {
+        event.getProductIds().forEach(loads::forget);
+        generation.incrementAndGet();
+        products.invalidateAll(event.getProductIds());
+    }
+
+    /**
+     * A missing product or a failing database is the same for every caller of a burst, so they all get the leading
+     * load's failure. A statement timeout or a bulkhead rejection only says the leading load was unlucky.
+     */
+    private static boolean isSharedFailure(RuntimeException failure) {
+        if (failure instanceof ProductNotFoundException) {
+            return true;
+        }
+        return failure instanceof DataAccessException dataAccess
+                && !(dataAccess instanceof QueryTimeoutException)
+                && !dataAccess.contains(BulkheadFullException.class);
+    }
+}
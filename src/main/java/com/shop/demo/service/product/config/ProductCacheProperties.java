@@ -0,0 +1,18 @@
+package com.shop.demo.service.product.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "shop.product-cache")
+public class ProductCacheProperties {
+    private boolean enabled = true;
+    private long maximumSize = 10_000;
+    private Duration timeToLive = Duration.ofMinutes(10);
+    /**
+     * How long a miss waits for a concurrent load of the same product before loading it itself.
+     */
+    private Duration loadWait = Duration.ofSeconds(5);
+}
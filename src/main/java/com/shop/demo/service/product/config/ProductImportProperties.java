@@ -0,0 +1,11 @@
+package com.shop.demo.service.product.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "shop.product-import")
+public class ProductImportProperties {
+    private int batchSize = 1_000;
+    private int maximumReportedFailures = 1_000;
+}
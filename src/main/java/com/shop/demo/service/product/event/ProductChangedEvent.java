@@ -0,0 +1,10 @@
+package com.shop.demo.service.product.event;
+
+import lombok.Value;
+
+import java.util.UUID;
+
+@Value
+public class ProductChangedEvent {
+    UUID productId;
+}
@@ -0,0 +1,10 @@
+package com.shop.demo.service.product.importing;
+
+import com.shop.demo.service.product.model.ProductImportResult;
+import com.shop.demo.service.product.model.ProductImportRow;
+
+import java.util.stream.Stream;
+
+public interface ProductImportService {
+    ProductImportResult importProducts(Stream<ProductImportRow> rows);
+}
@@ -0,0 +1,112 @@
+package com.shop.demo.service.product.importing;
+
+import com.shop.demo.persistence.product.entity.ProductEntity;
+import com.shop.demo.persistence.product.repository.ProductRepository;
+import com.shop.demo.service.product.config.ProductImportProperties;
+import com.shop.demo.service.product.model.ProductImportFailure;
+import com.shop.demo.service.product.model.ProductImportResult;
+import com.shop.demo.service.product.model.ProductImportRow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Imports products in batches of {@link ProductImportProperties#getBatchSize()} rows, one transaction per batch,
+ * so Hibernate sends each batch as a single JDBC batch insert. When a batch is rejected by the database it is
+ * replayed row by row to find the failing rows, and the remaining rows of the batch are still imported.
+ */
+@Service
+@RequiredArgsConstructor
+public class ProductImportServiceImpl implements ProductImportService {
+    private final ProductRepository productRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ProductImportProperties properties;
+
+    @Override
+    public ProductImportResult importProducts(Stream<ProductImportRow> rows) {
+        var progress = new Progress(properties.getMaximumReportedFailures());
+        var batch = new ArrayList<ProductImportRow>(properties.getBatchSize());
+
+        rows.forEach(row -> {
+            if (!row.isValid()) {
+                progress.fail(row, row.getError());
+                return;
+            }
+            batch.add(row);
+            if (batch.size() == properties.getBatchSize()) {
+                insertBatch(batch, progress);
+                batch.clear();
+            }
+        });
+        if (!batch.isEmpty()) {
+            insertBatch(batch, progress);
+        }
+
+        return ProductImportResult.builder()
+                .imported(progress.imported)
+                .failed(progress.failed)
+                .failures(progress.failures)
+                .build();
+    }
+
+    private void insertBatch(List<ProductImportRow> batch, Progress progress) {
+        try {
+            insert(batch);
+            progress.imported += batch.size();
+        } catch (DataAccessException | TransactionException e) {
+            for (ProductImportRow row : batch) {
+                insertRow(row, progress);
+            }
+        }
+    }
+
+    private void insertRow(ProductImportRow row, Progress progress) {
+        try {
+            insert(List.of(row));
+            progress.imported++;
+        } catch (DataAccessException | TransactionException e) {
+            progress.fail(row, e.getMostSpecificCause().getMessage());
+        }
+    }
+
+    private void insert(List<ProductImportRow> rows) {
+        transactionTemplate.executeWithoutResult(status -> {
+            var entities = rows.stream().map(this::toEntity).toList();
+            productRepository.saveAll(entities);
+        });
+    }
+
+    private ProductEntity toEntity(ProductImportRow row) {
+        var entity = new ProductEntity();
+        entity.setName(row.getName());
+        entity.setPrice(row.getPrice());
+        return entity;
+    }
+
+    private static class Progress {
+        private final int maximumReportedFailures;
+        private final List<ProductImportFailure> failures = new ArrayList<>();
+        private long imported;
+        private long failed;
+
+        Progress(int maximumReportedFailures) {
+            this.maximumReportedFailures = maximumReportedFailures;
+        }
+
+        void fail(ProductImportRow row, String message) {
+            failed++;
+            if (failures.size() < maximumReportedFailures) {
+                failures.add(ProductImportFailure.builder()
+                        .lineNumber(row.getLineNumber())
+                        .message(message)
+                        .build());
+            }
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.shop.demo.service.product.mapper;
 
 import com.shop.demo.api.v1.product.dto.ProductResponse;
 import com.shop.demo.persistence.product.entity.ProductEntity;
+import com.shop.demo.service.discountpolicy.cache.DiscountPolicyInterner;
 import com.shop.demo.service.discountpolicy.mapper.DiscountPolicyMapper;
 import com.shop.demo.service.product.model.ProductModel;
 import lombok.RequiredArgsConstructor;
@@ -14,10 +15,11 @@ import java.util.List;
 public class ProductMapper {
 
     private final DiscountPolicyMapper discountPolicyMapper;
+    private final DiscountPolicyInterner discountPolicyInterner;
 
     public ProductModel entityToModel(ProductEntity entity) {
         var discountPolicies = entity.getDiscountPolicies().stream()
-                .map(discountPolicyMapper::entityToModel)
+                .map(discountPolicyInterner::intern)
                 .toList();
 
         return ProductModel.builder()
@@ -0,0 +1,18 @@
+package com.shop.demo.service.product.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+@Schema(description = "Row of a bulk import that was not imported")
+public class ProductImportFailure {
+    @Schema(description = "Line number of the row in the request body, starting at 1",
+            example = "42")
+    long lineNumber;
+
+    @Schema(description = "Reason the row was rejected",
+            example = "price:Price must have up to 2 decimal places and 10 integer digits")
+    String message;
+}
@@ -0,0 +1,23 @@
+package com.shop.demo.service.product.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+@Builder
+@Schema(description = "Result of a bulk product import")
+public class ProductImportResult {
+    @Schema(description = "Number of products created",
+            example = "9998")
+    long imported;
+
+    @Schema(description = "Number of rows rejected",
+            example = "2")
+    long failed;
+
+    @Schema(description = "Rejected rows in input order, truncated to the configured maximum")
+    List<ProductImportFailure> failures;
+}
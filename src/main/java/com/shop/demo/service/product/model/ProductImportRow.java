@@ -0,0 +1,22 @@
+package com.shop.demo.service.product.model;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.math.BigDecimal;
+
+/**
+ * Single parsed row of a bulk import. Rows that failed parsing or validation carry the error instead of data.
+ */
+@Value
+@Builder
+public class ProductImportRow {
+    long lineNumber;
+    String name;
+    BigDecimal price;
+    String error;
+
+    public boolean isValid() {
+        return error == null;
+    }
+}
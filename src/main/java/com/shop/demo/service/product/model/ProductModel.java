@@ -1,6 +1,8 @@
 package com.shop.demo.service.product.model;
 
 import com.shop.demo.service.discountpolicy.model.DiscountPolicyModel;
+import com.shop.demo.service.discountpolicy.model.DiscountTierTable;
+import com.shop.demo.service.discountprocessing.money.Cents;
 import lombok.Builder;
 import lombok.Getter;
 
@@ -15,4 +17,10 @@ public class ProductModel {
     private String name;
     private BigDecimal price;
     private List<DiscountPolicyModel> discountPolicies;
+
+    @Getter(lazy = true)
+    private final DiscountTierTable discountTiers = DiscountTierTable.of(discountPolicies);
+
+    @Getter(lazy = true)
+    private final long priceCents = Cents.toCents(price);
 }
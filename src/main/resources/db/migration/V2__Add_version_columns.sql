@@ -0,0 +1,5 @@
+ALTER TABLE products
+    ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+
+ALTER TABLE discount_policies
+    ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
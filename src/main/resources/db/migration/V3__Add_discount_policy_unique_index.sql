@@ -0,0 +1,2 @@
+CREATE UNIQUE INDEX uk_discount_policies_type_threshold_value
+    ON discount_policies (type, threshold, discount_value);
@@ -0,0 +1,2 @@
+CREATE INDEX idx_product_discount_policy_policy_product
+    ON product_discount_policy (discount_policy_id, product_id);
@@ -0,0 +1,7 @@
+-- H2 reports a primary key violation under a generated index name, so the key of the join table becomes a named
+-- unique index. Both columns are NOT NULL, so it guarantees the same as the primary key did.
+ALTER TABLE product_discount_policy
+    DROP PRIMARY KEY;
+
+CREATE UNIQUE INDEX uk_product_discount_policy_product_policy
+    ON product_discount_policy (product_id, discount_policy_id);
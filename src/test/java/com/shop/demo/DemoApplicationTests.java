@@ -1,11 +1,27 @@
 package com.shop.demo;
 
+import com.shop.demo.api.v1.bulkhead.BulkheadInterceptor;
+import com.shop.demo.service.concurrency.bulkhead.Bulkhead;
+import com.shop.demo.service.concurrency.bulkhead.BulkheadContext;
+import com.shop.demo.service.concurrency.config.BulkheadProperties;
 import com.shop.demo.service.product.ProductService;
 import com.shop.demo.service.discountpolicy.DiscountPolicyService;
 import com.shop.demo.service.discountprocessing.DiscountProcessingService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 @SpringBootTest
@@ -20,6 +36,13 @@ class DemoApplicationTests {
     @Autowired
     private DiscountProcessingService discountProcessingService;
 
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private AsyncTaskExecutor applicationTaskExecutor;
+
+    @Autowired
+    private RequestMappingHandlerMapping requestMappingHandlerMapping;
+
     @Test
     void contextLoads() {
         assertThat(productService).isNotNull();
@@ -27,4 +50,49 @@ class DemoApplicationTests {
         assertThat(discountProcessingService).isNotNull();
     }
 
+    /**
+     * Streamed responses are written on this executor, so their connections must be charged to the request's group.
+     */
+    @Test
+    void applicationTaskExecutor_ShouldRunTasksInSubmittersBulkhead() throws Exception {
+        var bulkhead = new Bulkhead("quote", new BulkheadProperties.Group(), new SimpleMeterRegistry());
+        BulkheadContext.set(bulkhead);
+        try {
+            var seen = applicationTaskExecutor.submit(BulkheadContext::current);
+
+            assertThat(seen.get(1, TimeUnit.SECONDS)).isSameAs(bulkhead);
+        } finally {
+            BulkheadContext.clear();
+        }
+    }
+
+    /**
+     * The export walks the whole catalog, so it must not hold a quote permit and connection while it streams.
+     */
+    @Test
+    void priceList_ShouldRunInCatalogBulkhead() throws Exception {
+        assertThat(bulkheadsOf("GET", "/v1/discount-processing/price-list")).containsExactly("catalog");
+        assertThat(bulkheadsOf("POST", "/v1/discount-processing/calculate")).containsExactly("quote");
+    }
+
+    private List<String> bulkheadsOf(String method, String path) throws Exception {
+        var request = new MockHttpServletRequest(method, path);
+        var response = new MockHttpServletResponse();
+        var chain = requestMappingHandlerMapping.getHandler(request);
+        var bulkheads = new ArrayList<String>();
+        try {
+            for (HandlerInterceptor interceptor : chain.getInterceptorList()) {
+                interceptor.preHandle(request, response, chain.getHandler());
+                if (interceptor instanceof BulkheadInterceptor) {
+                    bulkheads.add(BulkheadContext.current().getName());
+                }
+            }
+            return bulkheads;
+        } finally {
+            for (HandlerInterceptor interceptor : chain.getInterceptorList()) {
+                interceptor.afterCompletion(request, response, chain.getHandler(), null);
+            }
+        }
+    }
+
 }
@@ -0,0 +1,167 @@
+package com.shop.demo.api.v1.bulkhead;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shop.demo.api.v1.advice.GlobalExceptionHandler;
+import com.shop.demo.api.v1.discountprocessing.controller.DiscountProcessingController;
+import com.shop.demo.api.v1.discountprocessing.dto.CalculateDiscountRequest;
+import com.shop.demo.api.v1.product.controller.ProductController;
+import com.shop.demo.service.concurrency.bulkhead.Bulkhead;
+import com.shop.demo.service.concurrency.config.BulkheadProperties;
+import com.shop.demo.service.discountpolicy.mapper.DiscountPolicyMapper;
+import com.shop.demo.service.discountprocessing.DiscountProcessingService;
+import com.shop.demo.service.discountprocessing.mapper.PriceCurveMapper;
+import com.shop.demo.service.discountprocessing.model.DiscountProcessingResult;
+import com.shop.demo.service.product.ProductService;
+import com.shop.demo.service.product.mapper.ProductMapper;
+import com.shop.demo.service.product.model.ProductModel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class BulkheadInterceptorTest {
+
+    private MockMvc mockMvc;
+    private ObjectMapper objectMapper;
+
+    @Mock
+    private ProductService productService;
+
+    @Mock
+    private ProductMapper productMapper;
+
+    @Mock
+    private DiscountProcessingService discountProcessingService;
+
+    private Bulkhead catalog;
+    private Bulkhead quote;
+    private UUID productId;
+    private CountDownLatch release;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper();
+        var meterRegistry = new SimpleMeterRegistry();
+        var group = new BulkheadProperties.Group();
+        group.setMaxConcurrentCalls(1);
+        catalog = new Bulkhead("catalog", group, meterRegistry);
+        quote = new Bulkhead("quote", group, meterRegistry);
+
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(new ProductController(productService, productMapper),
+                        new DiscountProcessingController(discountProcessingService,
+                        new PriceCurveMapper(new DiscountPolicyMapper()), objectMapper))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .addMappedInterceptors(new String[]{"/v1/products/**"}, new BulkheadInterceptor(catalog))
+                .addMappedInterceptors(new String[]{"/v1/discount-processing/**"}, new BulkheadInterceptor(quote))
+                .build();
+
+        productId = UUID.randomUUID();
+        release = new CountDownLatch(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+    }
+
+    @Test
+    void saturatedCatalog_ShouldRejectCatalogButNotQuoteRequests() throws Exception {
+        var entered = new CountDownLatch(1);
+        when(productService.getProduct(productId)).thenAnswer(invocation -> {
+            entered.countDown();
+            release.await();
+            return product();
+        });
+        when(discountProcessingService.calculateAsync(any(), eq(5)))
+                .thenReturn(CompletableFuture.completedFuture(DiscountProcessingResult.builder()
+                        .totalPrice(BigDecimal.TEN)
+                        .discount(BigDecimal.ZERO)
+                        .finalPrice(BigDecimal.TEN)
+                        .build()));
+
+        var slowAdminCall = CompletableFuture.runAsync(() -> {
+            try {
+                mockMvc.perform(get("/v1/products/{id}", productId)).andExpect(status().isOk());
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        entered.await(1, TimeUnit.SECONDS);
+
+        mockMvc.perform(get("/v1/products/{id}", productId))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.errorCode").value("bulkhead_full"));
+        mockMvc.perform(asyncDispatch(performCalculate()))
+                .andExpect(status().isOk());
+
+        release.countDown();
+        slowAdminCall.get(1, TimeUnit.SECONDS);
+        assertEquals(0, catalog.getActiveCalls());
+        assertEquals(0, quote.getActiveCalls());
+    }
+
+    @Test
+    void asyncRequest_ShouldHoldPermitUntilCompleted() throws Exception {
+        var calculation = new CompletableFuture<DiscountProcessingResult>();
+        when(discountProcessingService.calculateAsync(any(), eq(5))).thenReturn(calculation);
+
+        MvcResult started = performCalculate();
+        assertEquals(1, quote.getActiveCalls());
+
+        calculation.complete(DiscountProcessingResult.builder()
+                .totalPrice(BigDecimal.TEN)
+                .discount(BigDecimal.ZERO)
+                .finalPrice(BigDecimal.TEN)
+                .build());
+        mockMvc.perform(asyncDispatch(started)).andExpect(status().isOk());
+
+        assertEquals(0, quote.getActiveCalls());
+    }
+
+    private MvcResult performCalculate() throws Exception {
+        var request = new CalculateDiscountRequest();
+        request.setProductId(productId);
+        request.setQuantity(5);
+        return mockMvc.perform(post("/v1/discount-processing/calculate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+
+    private ProductModel product() {
+        return ProductModel.builder()
+                .id(productId)
+                .name("Test Product")
+                .price(BigDecimal.TEN)
+                .discountPolicies(List.of())
+                .build();
+    }
+}
@@ -5,11 +5,18 @@ import com.shop.demo.api.v1.advice.GlobalExceptionHandler;
 import com.shop.demo.api.v1.discountpolicy.dto.AddDiscountPolicyRequest;
 import com.shop.demo.api.v1.discountpolicy.dto.DiscountPolicyResponse;
 import com.shop.demo.api.v1.discountpolicy.dto.UpdateDiscountPolicyRequest;
+import com.shop.demo.api.v1.product.dto.ProductResponse;
 import com.shop.demo.persistence.discountpolicy.entity.DiscountType;
 import com.shop.demo.service.discountpolicy.DiscountPolicyService;
 import com.shop.demo.service.discountpolicy.exception.DiscountPolicyNotFoundException;
 import com.shop.demo.service.discountpolicy.mapper.DiscountPolicyMapper;
 import com.shop.demo.service.discountpolicy.model.DiscountPolicyModel;
+import com.shop.demo.service.pagination.KeysetCursor;
+import com.shop.demo.service.pagination.KeysetPage;
+import com.shop.demo.service.pagination.exception.InvalidCursorException;
+import com.shop.demo.service.product.ProductService;
+import com.shop.demo.service.product.mapper.ProductMapper;
+import com.shop.demo.service.product.model.ProductModel;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -43,6 +50,12 @@ class DiscountPolicyControllerTest {
     @Mock
     private DiscountPolicyMapper discountPolicyMapper;
 
+    @Mock
+    private ProductService productService;
+
+    @Mock
+    private ProductMapper productMapper;
+
     private UUID validPolicyId;
     private DiscountPolicyModel policyModel;
     private DiscountPolicyResponse policyResponse;
@@ -51,7 +64,7 @@ class DiscountPolicyControllerTest {
     void setUp() {
         objectMapper = new ObjectMapper();
         mockMvc = MockMvcBuilders
-                .standaloneSetup(new DiscountPolicyController(discountPolicyService, discountPolicyMapper))
+                .standaloneSetup(new DiscountPolicyController(discountPolicyService, discountPolicyMapper, productService, productMapper))
                 .setControllerAdvice(new GlobalExceptionHandler())
                 .build();
 
@@ -115,6 +128,80 @@ class DiscountPolicyControllerTest {
                 .andExpect(jsonPath("$[0].value").value("10.0"));
     }
 
+    @Test
+    void scrollDiscountPolicies_ShouldReturnItemsAndNextCursor() throws Exception {
+        List<DiscountPolicyModel> policies = List.of(policyModel);
+        List<DiscountPolicyResponse> responses = List.of(policyResponse);
+        String nextCursor = KeysetCursor.encode(validPolicyId);
+
+        when(discountPolicyService.scrollDiscountPolicies(null, 1)).thenReturn(KeysetPage.<DiscountPolicyModel>builder()
+                .items(policies)
+                .nextCursor(nextCursor)
+                .build());
+        when(discountPolicyMapper.modelToResponse(policies)).thenReturn(responses);
+
+        mockMvc.perform(get("/v1/discount-policies/scroll")
+                .param("size", "1")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(validPolicyId.toString()))
+                .andExpect(jsonPath("$.nextCursor").value(nextCursor));
+    }
+
+    @Test
+    void scrollDiscountPolicies_WithInvalidCursor_ShouldReturnBadRequest() throws Exception {
+        when(discountPolicyService.scrollDiscountPolicies("broken", 20))
+                .thenThrow(new InvalidCursorException("Cursor=broken is not valid"));
+
+        mockMvc.perform(get("/v1/discount-policies/scroll")
+                .param("cursor", "broken")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("invalid_cursor"));
+    }
+
+    @Test
+    void scrollDiscountPolicies_WithTooLargeSize_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/v1/discount-policies/scroll")
+                .param("size", "501")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(discountPolicyService);
+    }
+
+    @Test
+    void scrollDiscountPolicyProducts_ShouldReturnProductsAndNextCursor() throws Exception {
+        UUID productId = UUID.randomUUID();
+        List<ProductModel> products = List.of(ProductModel.builder().id(productId).build());
+        List<ProductResponse> responses = List.of(ProductResponse.builder().id(productId).build());
+        String nextCursor = KeysetCursor.encode(productId);
+
+        when(productService.scrollProductsByDiscountPolicy(validPolicyId, null, 1))
+                .thenReturn(KeysetPage.<ProductModel>builder()
+                        .items(products)
+                        .nextCursor(nextCursor)
+                        .build());
+        when(productMapper.modelToResponse(products)).thenReturn(responses);
+
+        mockMvc.perform(get("/v1/discount-policies/{id}/products", validPolicyId)
+                .param("size", "1")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(productId.toString()))
+                .andExpect(jsonPath("$.nextCursor").value(nextCursor));
+    }
+
+    @Test
+    void scrollDiscountPolicyProducts_WithNonExistentPolicy_ShouldReturnNotFound() throws Exception {
+        when(productService.scrollProductsByDiscountPolicy(validPolicyId, null, 20))
+                .thenThrow(new DiscountPolicyNotFoundException("Policy not found"));
+
+        mockMvc.perform(get("/v1/discount-policies/{id}/products", validPolicyId)
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     void addDiscountPolicy_WithValidPercentageRequest_ShouldReturnCreatedPolicy() throws Exception {
         AddDiscountPolicyRequest request = new AddDiscountPolicyRequest();
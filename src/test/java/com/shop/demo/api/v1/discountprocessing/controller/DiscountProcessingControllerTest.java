@@ -2,9 +2,22 @@ package com.shop.demo.api.v1.discountprocessing.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.shop.demo.api.v1.advice.GlobalExceptionHandler;
+import com.shop.demo.api.v1.discountprocessing.dto.CalculateCartRequest;
 import com.shop.demo.api.v1.discountprocessing.dto.CalculateDiscountRequest;
+import com.shop.demo.persistence.discountpolicy.entity.DiscountType;
+import com.shop.demo.service.discountpolicy.mapper.DiscountPolicyMapper;
+import com.shop.demo.service.discountpolicy.model.DiscountPolicyModel;
 import com.shop.demo.service.discountprocessing.DiscountProcessingService;
+import com.shop.demo.service.discountprocessing.exception.CalculationLimitExceededException;
+import com.shop.demo.service.discountprocessing.exception.CalculationRejectedException;
+import com.shop.demo.service.discountprocessing.mapper.PriceCurveMapper;
+import com.shop.demo.service.discountprocessing.model.CartItem;
+import com.shop.demo.service.discountprocessing.model.CartItemResult;
+import com.shop.demo.service.discountprocessing.model.CartProcessingResult;
 import com.shop.demo.service.discountprocessing.model.DiscountProcessingResult;
+import com.shop.demo.service.discountprocessing.model.PriceCurve;
+import com.shop.demo.service.discountprocessing.model.PriceCurveSegment;
+import com.shop.demo.service.discountprocessing.model.PriceListEntry;
 import com.shop.demo.service.product.excpetion.ProductNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -13,15 +26,30 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ExtendWith(MockitoExtension.class)
@@ -41,7 +69,8 @@ class DiscountProcessingControllerTest {
     void setUp() {
         objectMapper = new ObjectMapper();
         mockMvc = MockMvcBuilders
-                .standaloneSetup(new DiscountProcessingController(discountProcessingService))
+                .standaloneSetup(new DiscountProcessingController(discountProcessingService,
+                        new PriceCurveMapper(new DiscountPolicyMapper()), objectMapper))
                 .setControllerAdvice(new GlobalExceptionHandler())
                 .build();
 
@@ -60,13 +89,10 @@ class DiscountProcessingControllerTest {
 
     @Test
     void calculate_WithValidRequest_ShouldReturnDiscountResult() throws Exception {
-        when(discountProcessingService.calculate(eq(validProductId), eq(5)))
-                .thenReturn(successResult);
+        when(discountProcessingService.calculateAsync(eq(validProductId), eq(5)))
+                .thenReturn(CompletableFuture.completedFuture(successResult));
 
-        mockMvc.perform(post("/v1/discount-processing/calculate")
-                .contentType(MediaType.APPLICATION_JSON)
-                .accept(MediaType.APPLICATION_JSON)
-                .content(objectMapper.writeValueAsString(validRequest)))
+        mockMvc.perform(asyncDispatch(performCalculate(validRequest)))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.totalPrice").value("99.99"))
                 .andExpect(jsonPath("$.discount").value("19.99"))
@@ -81,13 +107,10 @@ class DiscountProcessingControllerTest {
                 .finalPrice(new BigDecimal("99.99"))
                 .build();
 
-        when(discountProcessingService.calculate(eq(validProductId), eq(5)))
-                .thenReturn(noDiscountResult);
+        when(discountProcessingService.calculateAsync(eq(validProductId), eq(5)))
+                .thenReturn(CompletableFuture.completedFuture(noDiscountResult));
 
-        mockMvc.perform(post("/v1/discount-processing/calculate")
-                .contentType(MediaType.APPLICATION_JSON)
-                .accept(MediaType.APPLICATION_JSON)
-                .content(objectMapper.writeValueAsString(validRequest)))
+        mockMvc.perform(asyncDispatch(performCalculate(validRequest)))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.totalPrice").value("99.99"))
                 .andExpect(jsonPath("$.discount").value("0"))
@@ -134,13 +157,206 @@ class DiscountProcessingControllerTest {
 
     @Test
     void calculate_WithNonExistentProduct_ShouldReturnNotFound() throws Exception {
-        when(discountProcessingService.calculate(eq(validProductId), eq(5)))
-                .thenThrow(new ProductNotFoundException("Product not found"));
+        when(discountProcessingService.calculateAsync(eq(validProductId), eq(5)))
+                .thenReturn(CompletableFuture.failedFuture(new ProductNotFoundException("Product not found")));
 
-        mockMvc.perform(post("/v1/discount-processing/calculate")
+        mockMvc.perform(asyncDispatch(performCalculate(validRequest)))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void calculate_WhenCalculationIsRejected_ShouldReturnServiceUnavailable() throws Exception {
+        when(discountProcessingService.calculateAsync(eq(validProductId), eq(5)))
+                .thenReturn(CompletableFuture.failedFuture(
+                        new CalculationRejectedException("Calculation capacity exhausted")));
+
+        mockMvc.perform(asyncDispatch(performCalculate(validRequest)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.errorCode").value("calculation_rejected"));
+    }
+
+    @Test
+    void calculate_WhenConcurrencyLimitIsReached_ShouldShedLoadWithRetryAfter() throws Exception {
+        when(discountProcessingService.calculateAsync(eq(validProductId), eq(5)))
+                .thenReturn(CompletableFuture.failedFuture(
+                        new CalculationLimitExceededException("Limit reached", Duration.ofSeconds(2))));
+
+        mockMvc.perform(asyncDispatch(performCalculate(validRequest)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "2"))
+                .andExpect(jsonPath("$.errorCode").value("calculation_limit_exceeded"));
+    }
+
+    @Test
+    void calculateCart_WithValidRequest_ShouldReturnCartResult() throws Exception {
+        CalculateCartRequest request = new CalculateCartRequest();
+        request.setItems(List.of(validRequest));
+
+        CartProcessingResult cartResult = CartProcessingResult.builder()
+                .items(List.of(CartItemResult.builder()
+                        .productId(validProductId)
+                        .quantity(5)
+                        .totalPrice(new BigDecimal("99.99"))
+                        .discount(new BigDecimal("19.99"))
+                        .finalPrice(new BigDecimal("80.0"))
+                        .build()))
+                .totalPrice(new BigDecimal("99.99"))
+                .discount(new BigDecimal("19.99"))
+                .finalPrice(new BigDecimal("80.0"))
+                .build();
+
+        when(discountProcessingService.calculateCart(eq(List.of(
+                CartItem.builder().productId(validProductId).quantity(5).build()))))
+                .thenReturn(cartResult);
+
+        mockMvc.perform(post("/v1/discount-processing/calculate-cart")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].productId").value(validProductId.toString()))
+                .andExpect(jsonPath("$.items[0].finalPrice").value("80.0"))
+                .andExpect(jsonPath("$.totalPrice").value("99.99"))
+                .andExpect(jsonPath("$.finalPrice").value("80.0"));
+    }
+
+    @Test
+    void calculateCart_WithEmptyCart_ShouldReturnBadRequest() throws Exception {
+        CalculateCartRequest request = new CalculateCartRequest();
+        request.setItems(List.of());
+
+        mockMvc.perform(post("/v1/discount-processing/calculate-cart")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void calculateCart_WithInvalidLine_ShouldReturnBadRequest() throws Exception {
+        CalculateDiscountRequest invalidLine = new CalculateDiscountRequest();
+        invalidLine.setProductId(validProductId);
+        invalidLine.setQuantity(0);
+
+        CalculateCartRequest request = new CalculateCartRequest();
+        request.setItems(List.of(validRequest, invalidLine));
+
+        mockMvc.perform(post("/v1/discount-processing/calculate-cart")
                 .contentType(MediaType.APPLICATION_JSON)
                 .accept(MediaType.APPLICATION_JSON)
-                .content(objectMapper.writeValueAsString(validRequest)))
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getPriceCurve_WithExistingProduct_ShouldReturnSegments() throws Exception {
+        UUID policyId = UUID.randomUUID();
+        PriceCurve curve = PriceCurve.builder()
+                .productId(validProductId)
+                .unitPrice(new BigDecimal("20.00"))
+                .segments(List.of(
+                        PriceCurveSegment.builder()
+                                .fromQuantity(1)
+                                .toQuantity(4)
+                                .policies(List.of())
+                                .percentageDiscount(BigDecimal.ZERO)
+                                .amountDiscount(BigDecimal.ZERO)
+                                .startPrice(successResult)
+                                .build(),
+                        PriceCurveSegment.builder()
+                                .fromQuantity(5)
+                                .policies(List.of(DiscountPolicyModel.builder()
+                                        .id(policyId)
+                                        .type(DiscountType.PERCENTAGE)
+                                        .threshold(5)
+                                        .value(new BigDecimal("10.00"))
+                                        .build()))
+                                .percentageDiscount(new BigDecimal("10.00"))
+                                .amountDiscount(BigDecimal.ZERO)
+                                .startPrice(successResult)
+                                .build()))
+                .build();
+        when(discountProcessingService.getPriceCurve(validProductId)).thenReturn(curve);
+
+        mockMvc.perform(get("/v1/discount-processing/products/{productId}/price-curve", validProductId)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.productId").value(validProductId.toString()))
+                .andExpect(jsonPath("$.segments.length()").value(2))
+                .andExpect(jsonPath("$.segments[0].toQuantity").value(4))
+                .andExpect(jsonPath("$.segments[1].fromQuantity").value(5))
+                .andExpect(jsonPath("$.segments[1].percentageDiscount").value("10.0"))
+                .andExpect(jsonPath("$.segments[1].policies[0].id").value(policyId.toString()))
+                .andExpect(jsonPath("$.segments[1].policies[0].type").value("PERCENTAGE"))
+                .andExpect(jsonPath("$.segments[1].policies[0].value").value("10.0"));
+    }
+
+    @Test
+    void getPriceCurve_WithNonExistentProduct_ShouldReturnNotFound() throws Exception {
+        when(discountProcessingService.getPriceCurve(validProductId))
+                .thenThrow(new ProductNotFoundException("Product not found"));
+
+        mockMvc.perform(get("/v1/discount-processing/products/{productId}/price-curve", validProductId)
+                        .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isNotFound());
     }
+
+    @Test
+    void exportPriceList_WithValidQuantity_ShouldStreamOneJsonLinePerProduct() throws Exception {
+        UUID secondProductId = UUID.randomUUID();
+        doAnswer(invocation -> {
+            Consumer<PriceListEntry> consumer = invocation.getArgument(1);
+            consumer.accept(priceListEntry(validProductId, "First", "19.99"));
+            consumer.accept(priceListEntry(secondProductId, "Second", "0"));
+            return null;
+        }).when(discountProcessingService).exportPriceList(eq(5), any());
+
+        MvcResult mvcResult = mockMvc.perform(get("/v1/discount-processing/price-list")
+                        .param("quantity", "5"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(body.endsWith("\n"));
+        assertEquals(validProductId.toString(), objectMapper.readTree(lines[0]).get("productId").asText());
+        assertEquals("19.99", objectMapper.readTree(lines[0]).get("discount").asText());
+        assertEquals(secondProductId.toString(), objectMapper.readTree(lines[1]).get("productId").asText());
+    }
+
+    @Test
+    void exportPriceList_WithZeroQuantity_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/v1/discount-processing/price-list")
+                        .param("quantity", "0"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(discountProcessingService);
+    }
+
+    private MvcResult performCalculate(CalculateDiscountRequest request) throws Exception {
+        return mockMvc.perform(post("/v1/discount-processing/calculate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+
+    private PriceListEntry priceListEntry(UUID productId, String name, String discount) {
+        return PriceListEntry.builder()
+                .productId(productId)
+                .name(name)
+                .quantity(5)
+                .totalPrice(new BigDecimal("99.99"))
+                .discount(new BigDecimal(discount))
+                .finalPrice(new BigDecimal("99.99").subtract(new BigDecimal(discount)))
+                .build();
+    }
 }
@@ -2,9 +2,12 @@ package com.shop.demo.api.v1.product.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.shop.demo.api.v1.advice.GlobalExceptionHandler;
+import com.shop.demo.api.v1.product.dto.BulkDiscountPolicyRequest;
 import com.shop.demo.api.v1.product.dto.CreateProductRequest;
 import com.shop.demo.api.v1.product.dto.ProductResponse;
 import com.shop.demo.api.v1.product.dto.UpdateProductRequest;
+import com.shop.demo.service.pagination.KeysetCursor;
+import com.shop.demo.service.pagination.KeysetPage;
 import com.shop.demo.service.product.ProductService;
 import com.shop.demo.service.product.excpetion.ProductAlreadyContainsPolicyException;
 import com.shop.demo.service.product.excpetion.ProductNotFoundException;
@@ -112,6 +115,36 @@ class ProductControllerTest {
                 .andExpect(jsonPath("$[0].price").value("99.99"));
     }
 
+    @Test
+    void scrollProducts_WithCursor_ShouldReturnLastPage() throws Exception {
+        List<ProductModel> products = List.of(productModel);
+        List<ProductResponse> responses = List.of(productResponse);
+        String cursor = KeysetCursor.encode(UUID.randomUUID());
+
+        when(productService.scrollProducts(cursor, 10)).thenReturn(KeysetPage.<ProductModel>builder()
+                .items(products)
+                .build());
+        when(productMapper.modelToResponse(products)).thenReturn(responses);
+
+        mockMvc.perform(get("/v1/products/scroll")
+                .param("cursor", cursor)
+                .param("size", "10")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(validProductId.toString()))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void scrollProducts_WithZeroSize_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/v1/products/scroll")
+                .param("size", "0")
+                .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(productService);
+    }
+
     @Test
     void createProduct_WithValidRequest_ShouldReturnCreatedProduct() throws Exception {
         CreateProductRequest request = new CreateProductRequest();
@@ -253,4 +286,64 @@ class ProductControllerTest {
                 .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isNotFound());
     }
+
+    @Test
+    void addDiscountPolicyToProducts_WithValidRequest_ShouldReturnUpdatedCount() throws Exception {
+        UUID discountPolicyId = UUID.randomUUID();
+        var request = new BulkDiscountPolicyRequest();
+        request.setProductIds(List.of(validProductId));
+
+        when(productService.addDiscountPolicyToProducts(discountPolicyId, List.of(validProductId))).thenReturn(1);
+
+        mockMvc.perform(post("/v1/products/discount-policies/{policyId}/attach", discountPolicyId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.discountPolicyId").value(discountPolicyId.toString()))
+                .andExpect(jsonPath("$.updatedProducts").value(1));
+    }
+
+    @Test
+    void addDiscountPolicyToProducts_WithEmptyProductIds_ShouldReturnBadRequest() throws Exception {
+        var request = new BulkDiscountPolicyRequest();
+        request.setProductIds(List.of());
+
+        mockMvc.perform(post("/v1/products/discount-policies/{policyId}/attach", UUID.randomUUID())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(productService);
+    }
+
+    @Test
+    void addDiscountPolicyToProducts_WithExistingPolicy_ShouldReturnNotAcceptable() throws Exception {
+        UUID discountPolicyId = UUID.randomUUID();
+        var request = new BulkDiscountPolicyRequest();
+        request.setProductIds(List.of(validProductId));
+
+        when(productService.addDiscountPolicyToProducts(discountPolicyId, List.of(validProductId)))
+                .thenThrow(new ProductAlreadyContainsPolicyException("Policy already exists"));
+
+        mockMvc.perform(post("/v1/products/discount-policies/{policyId}/attach", discountPolicyId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isNotAcceptable());
+    }
+
+    @Test
+    void removeDiscountPolicyFromProducts_WithValidRequest_ShouldReturnUpdatedCount() throws Exception {
+        UUID discountPolicyId = UUID.randomUUID();
+        var request = new BulkDiscountPolicyRequest();
+        request.setProductIds(List.of(validProductId));
+
+        when(productService.removeDiscountPolicyFromProducts(discountPolicyId, List.of(validProductId)))
+                .thenReturn(1);
+
+        mockMvc.perform(post("/v1/products/discount-policies/{policyId}/detach", discountPolicyId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updatedProducts").value(1));
+    }
 }
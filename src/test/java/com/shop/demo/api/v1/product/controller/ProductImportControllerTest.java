@@ -0,0 +1,102 @@
+package com.shop.demo.api.v1.product.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shop.demo.api.v1.advice.GlobalExceptionHandler;
+import com.shop.demo.api.v1.product.importer.ProductImportReader;
+import com.shop.demo.service.product.importing.ProductImportService;
+import com.shop.demo.service.product.model.ProductImportFailure;
+import com.shop.demo.service.product.model.ProductImportResult;
+import com.shop.demo.service.product.model.ProductImportRow;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class ProductImportControllerTest {
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private ProductImportService productImportService;
+
+    @BeforeEach
+    void setUp() {
+        var reader = new ProductImportReader(new ObjectMapper(),
+                Validation.buildDefaultValidatorFactory().getValidator());
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(new ProductImportController(productImportService, reader))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void importProducts_WithNdjson_ShouldReturnResult() throws Exception {
+        when(productImportService.importProducts(any())).thenAnswer(invocation -> {
+            Stream<ProductImportRow> rows = invocation.getArgument(0);
+            var parsed = rows.toList();
+            assertEquals(2, parsed.size());
+            assertEquals("Mouse", parsed.get(0).getName());
+            assertEquals("name:Name must not be blank", parsed.get(1).getError());
+            return ProductImportResult.builder()
+                    .imported(1)
+                    .failed(1)
+                    .failures(List.of(ProductImportFailure.builder()
+                            .lineNumber(2)
+                            .message(parsed.get(1).getError())
+                            .build()))
+                    .build();
+        });
+
+        mockMvc.perform(post("/v1/products/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"name\":\"Mouse\",\"price\":29.99}\n{\"name\":\"\",\"price\":1}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.failures[0].lineNumber").value(2))
+                .andExpect(jsonPath("$.failures[0].message").value("name:Name must not be blank"));
+    }
+
+    @Test
+    void importProducts_WithCsv_ShouldParseRows() throws Exception {
+        when(productImportService.importProducts(any())).thenAnswer(invocation -> {
+            Stream<ProductImportRow> rows = invocation.getArgument(0);
+            return ProductImportResult.builder()
+                    .imported(rows.filter(ProductImportRow::isValid).count())
+                    .failures(List.of())
+                    .build();
+        });
+
+        mockMvc.perform(post("/v1/products/import")
+                        .contentType("text/csv")
+                        .content("name,price\nMouse,29.99\nKeyboard,49.50\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2));
+    }
+
+    @Test
+    void importProducts_WithUnsupportedContentType_ShouldReturnUnsupportedMediaType() throws Exception {
+        mockMvc.perform(post("/v1/products/import")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isUnsupportedMediaType());
+
+        verifyNoInteractions(productImportService);
+    }
+}
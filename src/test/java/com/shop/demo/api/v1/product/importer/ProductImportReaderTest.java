@@ -0,0 +1,96 @@
+package com.shop.demo.api.v1.product.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shop.demo.service.product.model.ProductImportRow;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductImportReaderTest {
+
+    private ProductImportReader reader;
+
+    @BeforeEach
+    void setUp() {
+        reader = new ProductImportReader(new ObjectMapper(), Validation.buildDefaultValidatorFactory().getValidator());
+    }
+
+    @Test
+    void read_WithNdjson_ShouldParseEveryLine() {
+        var rows = read(MediaType.APPLICATION_NDJSON, """
+                {"name":"Mouse","price":29.99}
+
+                {"name":"Keyboard","price":49.50}
+                """);
+
+        assertEquals(2, rows.size());
+        assertRow(rows.get(0), 1, "Mouse", "29.99");
+        assertRow(rows.get(1), 3, "Keyboard", "49.50");
+    }
+
+    @Test
+    void read_WithInvalidNdjsonRows_ShouldReportEachRow() {
+        var rows = read(MediaType.APPLICATION_NDJSON, """
+                {"name":"","price":-1}
+                {"name":"Mouse"
+                {"name":"Mouse"}
+                """);
+
+        assertEquals(3, rows.size());
+        assertFalse(rows.get(0).isValid());
+        assertEquals("name:Name must not be blank;price:Price must be greater than or equal 0", rows.get(0).getError());
+        assertTrue(rows.get(1).getError().startsWith("Malformed JSON"));
+        assertEquals("price:Price must not be null", rows.get(2).getError());
+    }
+
+    @Test
+    void read_WithCsv_ShouldSkipHeaderAndHandleQuotedFields() {
+        var rows = read(ProductImportReader.TEXT_CSV, """
+                name,price
+                Mouse,29.99
+                "Cable, 2m ""braided\""",5.00
+                """);
+
+        assertEquals(2, rows.size());
+        assertRow(rows.get(0), 2, "Mouse", "29.99");
+        assertRow(rows.get(1), 3, "Cable, 2m \"braided\"", "5.00");
+    }
+
+    @Test
+    void read_WithInvalidCsvRows_ShouldReportEachRow() {
+        var rows = read(ProductImportReader.TEXT_CSV, """
+                Mouse
+                Mouse,abc
+                "Mouse,1.00
+                Mouse,1.999
+                """);
+
+        assertEquals(4, rows.size());
+        assertEquals("Expected 2 CSV fields: name,price", rows.get(0).getError());
+        assertEquals("price:Price must be a number", rows.get(1).getError());
+        assertEquals("Expected 2 CSV fields: name,price", rows.get(2).getError());
+        assertEquals("price:Price must have up to 2 decimal places and 10 integer digits", rows.get(3).getError());
+    }
+
+    private List<ProductImportRow> read(MediaType contentType, String body) {
+        var input = new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+        try (var rows = reader.read(input, contentType)) {
+            return rows.toList();
+        }
+    }
+
+    private void assertRow(ProductImportRow row, long lineNumber, String name, String price) {
+        assertTrue(row.isValid());
+        assertEquals(lineNumber, row.getLineNumber());
+        assertEquals(name, row.getName());
+        assertEquals(new BigDecimal(price), row.getPrice());
+    }
+}
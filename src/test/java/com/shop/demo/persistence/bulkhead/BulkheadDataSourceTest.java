@@ -0,0 +1,71 @@
+package com.shop.demo.persistence.bulkhead;
+
+import com.shop.demo.service.concurrency.bulkhead.Bulkhead;
+import com.shop.demo.service.concurrency.bulkhead.BulkheadContext;
+import com.shop.demo.service.concurrency.config.BulkheadProperties;
+import com.shop.demo.service.concurrency.exception.BulkheadFullException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Connection;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkheadDataSourceTest {
+
+    private BulkheadDataSource dataSource;
+    private Bulkhead bulkhead;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new BulkheadDataSource(new DriverManagerDataSource("jdbc:h2:mem:bulkhead", "sa", ""));
+        var group = new BulkheadProperties.Group();
+        group.setMaxConnections(2);
+        group.setConnectionTimeout(Duration.ofMillis(50));
+        bulkhead = new Bulkhead("catalog", group, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        BulkheadContext.clear();
+    }
+
+    @Test
+    void getConnection_WithinBulkhead_ShouldHoldPartitionUntilClosed() throws Exception {
+        BulkheadContext.set(bulkhead);
+
+        try (Connection first = dataSource.getConnection(); Connection second = dataSource.getConnection()) {
+            assertEquals(2, bulkhead.getActiveConnections());
+            assertThrows(BulkheadFullException.class, dataSource::getConnection);
+            assertTrue(first.isValid(1));
+        }
+
+        assertEquals(0, bulkhead.getActiveConnections());
+    }
+
+    @Test
+    void close_CalledTwice_ShouldReleasePartitionOnce() throws Exception {
+        BulkheadContext.set(bulkhead);
+        Connection first = dataSource.getConnection();
+        Connection second = dataSource.getConnection();
+
+        first.close();
+        first.close();
+
+        assertEquals(1, bulkhead.getActiveConnections());
+        second.close();
+    }
+
+    @Test
+    void getConnection_OutsideBulkhead_ShouldNotBeLimited() throws Exception {
+        try (Connection first = dataSource.getConnection();
+             Connection second = dataSource.getConnection();
+             Connection third = dataSource.getConnection()) {
+            assertEquals(0, bulkhead.getActiveConnections());
+        }
+    }
+}
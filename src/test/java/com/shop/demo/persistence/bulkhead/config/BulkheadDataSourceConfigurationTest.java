@@ -0,0 +1,35 @@
+package com.shop.demo.persistence.bulkhead.config;
+
+import com.shop.demo.service.concurrency.config.BulkheadProperties;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkheadDataSourceConfigurationTest {
+
+    @Test
+    void checkConnectionCaps_WithinPoolSize_ShouldPass() {
+        var properties = properties(7, 3, null);
+
+        assertDoesNotThrow(() -> BulkheadDataSourceConfiguration.checkConnectionCaps(properties, 10));
+    }
+
+    @Test
+    void checkConnectionCaps_ExceedingPoolSize_ShouldFail() {
+        var properties = properties(8, 4, null);
+
+        var exception = assertThrows(IllegalStateException.class,
+                () -> BulkheadDataSourceConfiguration.checkConnectionCaps(properties, 10));
+        assertTrue(exception.getMessage().contains("12"));
+    }
+
+    private static BulkheadProperties properties(Integer... maxConnections) {
+        var properties = new BulkheadProperties();
+        for (int i = 0; i < maxConnections.length; i++) {
+            var group = new BulkheadProperties.Group();
+            group.setMaxConnections(maxConnections[i]);
+            properties.getGroups().put("group" + i, group);
+        }
+        return properties;
+    }
+}
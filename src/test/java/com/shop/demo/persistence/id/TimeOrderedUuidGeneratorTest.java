@@ -0,0 +1,71 @@
+package com.shop.demo.persistence.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeOrderedUuidGeneratorTest {
+
+    @Test
+    void next_ShouldProduceVersion7WithRfc4122Variant() {
+        var id = TimeOrderedUuidGenerator.next();
+
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+    }
+
+    @Test
+    void next_ShouldPutEpochMillisIntoMostSignificantBits() {
+        var epochMillis = 1_700_000_000_123L;
+
+        var id = TimeOrderedUuidGenerator.next(epochMillis);
+
+        assertEquals(epochMillis, id.getMostSignificantBits() >>> 16);
+    }
+
+    @Test
+    void next_WithLaterTimestamp_ShouldSortAfterEarlierIds() {
+        var ids = IntStream.range(0, 1000)
+                .mapToObj(i -> TimeOrderedUuidGenerator.next(1_700_000_000_000L + i))
+                .toList();
+
+        var sortedAsText = ids.stream().sorted(Comparator.comparing(UUID::toString)).toList();
+        assertEquals(ids, sortedAsText);
+    }
+
+    @Test
+    void next_FromManyThreads_ShouldNotProduceDuplicates() throws Exception {
+        int threads = 8;
+        int idsPerThread = 10_000;
+        Set<UUID> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    for (int j = 0; j < idsPerThread; j++) {
+                        ids.add(TimeOrderedUuidGenerator.next());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(threads * idsPerThread, ids.size());
+    }
+}
@@ -0,0 +1,89 @@
+package com.shop.demo.persistence.product.repository;
+
+import com.shop.demo.persistence.discountpolicy.entity.DiscountPolicyEntity;
+import com.shop.demo.persistence.discountpolicy.entity.DiscountType;
+import com.shop.demo.persistence.discountpolicy.repository.DiscountPolicyRepository;
+import com.shop.demo.persistence.product.entity.ProductEntity;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class ProductCursorRepositoryTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private DiscountPolicyRepository discountPolicyRepository;
+
+    @Test
+    void forEachWithDiscountPolicies_ShouldGroupPoliciesPerProductInIdOrder() {
+        var percentage = discountPolicy(DiscountType.PERCENTAGE, 5, "10.00");
+        var amount = discountPolicy(DiscountType.AMOUNT, 10, "2.00");
+        var withTwoPolicies = product("With two policies", "100.00", Set.of(percentage, amount));
+        var withOnePolicy = product("With one policy", "50.00", Set.of(amount));
+        var withoutPolicies = product("Without policies", "10.00", Set.of());
+        productRepository.flush();
+
+        var products = new ArrayList<ProductEntity>();
+        productRepository.forEachWithDiscountPolicies(products::add);
+
+        var expectedOrder = List.of(withTwoPolicies, withOnePolicy, withoutPolicies).stream()
+                .map(ProductEntity::getId)
+                .sorted(Comparator.comparing(UUID::toString))
+                .toList();
+        assertEquals(expectedOrder, products.stream().map(ProductEntity::getId).toList());
+
+        var byId = products.stream().collect(Collectors.toMap(ProductEntity::getId, product -> product));
+        assertEquals(Set.of(percentage.getId(), amount.getId()), policyIds(byId.get(withTwoPolicies.getId())));
+        assertEquals(Set.of(amount.getId()), policyIds(byId.get(withOnePolicy.getId())));
+        assertTrue(byId.get(withoutPolicies.getId()).getDiscountPolicies().isEmpty());
+
+        var streamedPercentage = byId.get(withTwoPolicies.getId()).getDiscountPolicies().stream()
+                .filter(policy -> policy.getId().equals(percentage.getId()))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(DiscountType.PERCENTAGE, streamedPercentage.getType());
+        assertEquals(5, streamedPercentage.getThreshold());
+        assertEquals(new BigDecimal("10.00"), streamedPercentage.getDiscountValue());
+        assertEquals(new BigDecimal("100.00"), byId.get(withTwoPolicies.getId()).getPrice());
+    }
+
+    @Test
+    void forEachWithDiscountPolicies_WithEmptyCatalog_ShouldNotCallConsumer() {
+        productRepository.forEachWithDiscountPolicies(product -> fail("Unexpected product " + product.getId()));
+    }
+
+    private Set<UUID> policyIds(ProductEntity product) {
+        return product.getDiscountPolicies().stream()
+                .map(DiscountPolicyEntity::getId)
+                .collect(Collectors.toSet());
+    }
+
+    private ProductEntity product(String name, String price, Set<DiscountPolicyEntity> discountPolicies) {
+        var product = new ProductEntity();
+        product.setName(name);
+        product.setPrice(new BigDecimal(price));
+        product.getDiscountPolicies().addAll(discountPolicies);
+        return productRepository.save(product);
+    }
+
+    private DiscountPolicyEntity discountPolicy(DiscountType type, int threshold, String value) {
+        var discountPolicy = new DiscountPolicyEntity();
+        discountPolicy.setType(type);
+        discountPolicy.setThreshold(threshold);
+        discountPolicy.setDiscountValue(new BigDecimal(value));
+        return discountPolicyRepository.save(discountPolicy);
+    }
+}
@@ -0,0 +1,122 @@
+package com.shop.demo.persistence.product.repository;
+
+import com.shop.demo.persistence.discountpolicy.entity.DiscountPolicyEntity;
+import com.shop.demo.persistence.discountpolicy.entity.DiscountType;
+import com.shop.demo.persistence.discountpolicy.repository.DiscountPolicyRepository;
+import com.shop.demo.persistence.constraint.ConstraintViolations;
+import com.shop.demo.persistence.product.entity.ProductEntity;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class ProductRepositoryTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private DiscountPolicyRepository discountPolicyRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void findIdsByDiscountPolicy_ShouldReturnOnlyLinkedProductsPageByPage() {
+        var percentage = discountPolicy(DiscountType.PERCENTAGE, 5, "10.00");
+        var amount = discountPolicy(DiscountType.AMOUNT, 10, "2.00");
+        var first = product("First", Set.of(percentage));
+        var second = product("Second", Set.of(percentage, amount));
+        var third = product("Third", Set.of(percentage));
+        product("Other policy", Set.of(amount));
+        product("Without policies", Set.of());
+        productRepository.flush();
+
+        var expected = Stream.of(first, second, third)
+                .map(ProductEntity::getId)
+                .sorted(Comparator.comparing(UUID::toString))
+                .toList();
+
+        var firstPage = productRepository.findIdsByDiscountPolicyOrderById(percentage.getId(), Limit.of(2));
+        var secondPage = productRepository.findIdsByDiscountPolicyAfterOrderById(
+                percentage.getId(), firstPage.get(1), Limit.of(2));
+
+        assertEquals(expected.subList(0, 2), firstPage);
+        assertEquals(expected.subList(2, 3), secondPage);
+    }
+
+    @Test
+    void findIdsByDiscountPolicy_WithUnusedPolicy_ShouldReturnEmptyList() {
+        var unused = discountPolicy(DiscountType.PERCENTAGE, 5, "10.00");
+        product("Without policies", Set.of());
+        productRepository.flush();
+
+        assertEquals(List.of(), productRepository.findIdsByDiscountPolicyOrderById(unused.getId(), Limit.of(10)));
+    }
+
+    @Test
+    void save_ShouldAssignTimeOrderedIds() {
+        var first = product("First", Set.of());
+        var second = product("Second", Set.of());
+
+        assertEquals(7, first.getId().version());
+        assertEquals(7, second.getId().version());
+        assertTrue(first.getId().getMostSignificantBits() >>> 16 <= second.getId().getMostSignificantBits() >>> 16);
+    }
+
+    @Test
+    void insertLink_WhenLinkExists_ShouldViolateNamedLinkKey() {
+        var percentage = discountPolicy(DiscountType.PERCENTAGE, 5, "10.00");
+        var product = product("Linked", Set.of(percentage));
+        productRepository.flush();
+
+        var exception = assertThrows(RuntimeException.class, () -> insertLink(product.getId(), percentage.getId()));
+
+        assertTrue(ConstraintViolations.isViolationOf(exception, ProductEntity.UNIQUE_DISCOUNT_POLICY_LINK));
+    }
+
+    @Test
+    void insertLink_WithMissingPolicy_ShouldNotViolateLinkKey() {
+        var product = product("Unlinked", Set.of());
+        productRepository.flush();
+
+        var exception = assertThrows(RuntimeException.class, () -> insertLink(product.getId(), UUID.randomUUID()));
+
+        assertFalse(ConstraintViolations.isViolationOf(exception, ProductEntity.UNIQUE_DISCOUNT_POLICY_LINK));
+    }
+
+    private void insertLink(UUID productId, UUID discountPolicyId) {
+        entityManager.createNativeQuery(
+                        "insert into product_discount_policy (product_id, discount_policy_id) values (?1, ?2)")
+                .setParameter(1, productId)
+                .setParameter(2, discountPolicyId)
+                .executeUpdate();
+    }
+
+    private ProductEntity product(String name, Set<DiscountPolicyEntity> discountPolicies) {
+        var product = new ProductEntity();
+        product.setName(name);
+        product.setPrice(new BigDecimal("10.00"));
+        product.getDiscountPolicies().addAll(discountPolicies);
+        return productRepository.save(product);
+    }
+
+    private DiscountPolicyEntity discountPolicy(DiscountType type, int threshold, String value) {
+        var discountPolicy = new DiscountPolicyEntity();
+        discountPolicy.setType(type);
+        discountPolicy.setThreshold(threshold);
+        discountPolicy.setDiscountValue(new BigDecimal(value));
+        return discountPolicyRepository.save(discountPolicy);
+    }
+}
@@ -0,0 +1,147 @@
+package com.shop.demo.persistence.routing;
+
+import com.shop.demo.persistence.product.repository.ProductRepository;
+import com.shop.demo.service.product.ProductService;
+import com.shop.demo.service.product.model.ProductModel;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "shop.datasource.replica.enabled=true",
+        "shop.datasource.replica.url=" + ReadWriteRoutingDataSourceTest.REPLICA_URL,
+        "shop.datasource.replica.username=sa",
+        "shop.datasource.replica.lag-query=select lag_seconds from replica_status",
+        "shop.datasource.replica.max-lag=5s",
+        "shop.datasource.replica.lag-check-interval=20ms"
+})
+class ReadWriteRoutingDataSourceTest {
+    static final String REPLICA_URL = "jdbc:h2:mem:shopdb-replica;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private JdbcTemplate replica;
+    private UUID primaryProductId;
+    private UUID replicaProductId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        var replicaDataSource = new SingleConnectionDataSource(REPLICA_URL, "sa", "", true);
+        Flyway.configure().dataSource(replicaDataSource).load().migrate();
+        replica = new JdbcTemplate(replicaDataSource);
+        replica.execute("create table if not exists replica_status (lag_seconds decimal(10, 3))");
+        replica.update("delete from replica_status");
+        replica.update("insert into replica_status (lag_seconds) values (0)");
+
+        primaryProductId = productService.createProduct("Only on primary", new BigDecimal("10.00")).getId();
+        replicaProductId = UUID.randomUUID();
+        replica.update("insert into products (id, name, price, version) values (?, ?, ?, 0)",
+                replicaProductId, "Only on replica", new BigDecimal("10.00"));
+        awaitReplicaLag(0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAll();
+        replica.update("delete from products");
+    }
+
+    @Test
+    void readOnlyTransaction_ShouldReadFromReplica() {
+        var readsBefore = routedConnections(ReadWriteRoutingDataSource.REPLICA, "read");
+
+        var ids = productIds();
+
+        assertTrue(ids.contains(replicaProductId));
+        assertFalse(ids.contains(primaryProductId));
+        assertTrue(routedConnections(ReadWriteRoutingDataSource.REPLICA, "read") > readsBefore);
+    }
+
+    @Test
+    void getProduct_OnCacheMiss_ShouldReadFromReplica() {
+        var readsBefore = routedConnections(ReadWriteRoutingDataSource.REPLICA, "read");
+
+        var product = productService.getProduct(replicaProductId);
+
+        assertEquals("Only on replica", product.getName());
+        assertTrue(routedConnections(ReadWriteRoutingDataSource.REPLICA, "read") > readsBefore);
+    }
+
+    @Test
+    void readOnlyTransaction_WithLaggingReplica_ShouldFallBackToPrimary() throws Exception {
+        replica.update("update replica_status set lag_seconds = 60");
+        awaitReplicaLag(60);
+        var fallbacksBefore = routedConnections(ReadWriteRoutingDataSource.PRIMARY, "replica_unavailable");
+
+        var ids = productIds();
+
+        assertTrue(ids.contains(primaryProductId));
+        assertFalse(ids.contains(replicaProductId));
+        assertTrue(routedConnections(ReadWriteRoutingDataSource.PRIMARY, "replica_unavailable") > fallbacksBefore);
+        assertEquals(60.0, meterRegistry.get("datasource.replica.lag").gauge().value());
+    }
+
+    @Test
+    void readWriteTransaction_ShouldUsePrimary() {
+        var existing = transactionTemplate.execute(status -> List.of(
+                productRepository.existsById(primaryProductId),
+                productRepository.existsById(replicaProductId)));
+
+        assertEquals(List.of(true, false), existing);
+    }
+
+    @Test
+    void pools_ShouldPublishMetricsPerPool() {
+        productIds();
+
+        assertNotNull(meterRegistry.find("hikaricp.connections").tag("pool", ReadWriteRoutingDataSource.PRIMARY).gauge());
+        assertNotNull(meterRegistry.find("hikaricp.connections").tag("pool", ReadWriteRoutingDataSource.REPLICA).gauge());
+    }
+
+    private List<UUID> productIds() {
+        return productService.getAllProducts(PageRequest.of(0, 100)).stream()
+                .map(ProductModel::getId)
+                .toList();
+    }
+
+    private void awaitReplicaLag(double lagSeconds) throws InterruptedException {
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("datasource.replica.lag").gauge().value() != lagSeconds) {
+            assertTrue(System.nanoTime() < deadline, "Replica lag probe did not report " + lagSeconds);
+            Thread.sleep(10);
+        }
+    }
+
+    private double routedConnections(String pool, String reason) {
+        return meterRegistry.get(ReadWriteRoutingDataSource.ROUTING_METRIC)
+                .tag("pool", pool)
+                .tag("reason", reason)
+                .counter()
+                .count();
+    }
+}
@@ -0,0 +1,173 @@
+package com.shop.demo.service.concurrency;
+
+import com.shop.demo.service.concurrency.exception.BulkheadFullException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+    private static final String KEY = "product";
+    private static final Predicate<RuntimeException> SHARED = IllegalArgumentException.class::isInstance;
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final CountDownLatch leaderEntered = new CountDownLatch(1);
+    private final CountDownLatch releaseLeader = new CountDownLatch(1);
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        releaseLeader.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void execute_WithWaitingFollower_ShouldShareSuccessfulResult() throws Exception {
+        var singleFlight = new SingleFlight<String, String>(Duration.ofSeconds(5), SHARED);
+        var leader = startLeader(singleFlight, () -> "loaded");
+        var follower = startFollower(singleFlight, "own load");
+
+        releaseLeader.countDown();
+
+        assertEquals("loaded", leader.get(5, TimeUnit.SECONDS));
+        assertEquals("loaded", follower.get(5, TimeUnit.SECONDS));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void execute_WhenLeaderFailsWithSharedFailure_ShouldGiveFollowerTheSameFailure() throws Exception {
+        var singleFlight = new SingleFlight<String, String>(Duration.ofSeconds(5), SHARED);
+        var failure = new IllegalArgumentException("Product not found");
+        var leader = startLeader(singleFlight, () -> {
+            throw failure;
+        });
+        var follower = startFollower(singleFlight, "own load");
+
+        releaseLeader.countDown();
+
+        var leaderException = assertThrows(ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS));
+        var followerException = assertThrows(ExecutionException.class, () -> follower.get(5, TimeUnit.SECONDS));
+        assertSame(failure, leaderException.getCause());
+        assertSame(failure, followerException.getCause());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void execute_WhenLeaderRejectedByItsBulkhead_ShouldLetFollowerLoadItself() throws Exception {
+        var singleFlight = new SingleFlight<String, String>(Duration.ofSeconds(5), SHARED);
+        var leader = startLeader(singleFlight, () -> {
+            throw new BulkheadFullException("Bulkhead 'catalog' has no free connections");
+        });
+        var follower = startFollower(singleFlight, "own load");
+
+        releaseLeader.countDown();
+
+        var exception = assertThrows(ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(BulkheadFullException.class, exception.getCause());
+        assertEquals("own load", follower.get(5, TimeUnit.SECONDS));
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void execute_WhenLeaderIsCancelled_ShouldLetFollowerLoadItself() throws Exception {
+        var singleFlight = new SingleFlight<String, String>(Duration.ofSeconds(5), SHARED);
+        var leader = startLeader(singleFlight, () -> "loaded");
+        var follower = startFollower(singleFlight, "own load");
+
+        leader.cancel(true);
+
+        assertEquals("own load", follower.get(5, TimeUnit.SECONDS));
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void execute_WhenLeaderIsSlowerThanMaxWait_ShouldLetFollowerLoadItself() throws Exception {
+        var singleFlight = new SingleFlight<String, String>(Duration.ofMillis(50), SHARED);
+        startLeader(singleFlight, () -> "loaded");
+
+        assertEquals("own load", singleFlight.execute(KEY, key -> "own load"));
+    }
+
+    @Test
+    void execute_WhenWaitingFollowerIsInterrupted_ShouldStopWaiting() throws Exception {
+        var singleFlight = new SingleFlight<String, String>(Duration.ofSeconds(5), SHARED);
+        startLeader(singleFlight, () -> "loaded");
+        var followerThread = new AtomicReference<Thread>();
+        var interruptFlag = new CompletableFuture<Boolean>();
+        var follower = executor.submit(() -> {
+            followerThread.set(Thread.currentThread());
+            try {
+                return singleFlight.execute(KEY, key -> "own load");
+            } finally {
+                interruptFlag.complete(Thread.currentThread().isInterrupted());
+            }
+        });
+        awaitWaiting(followerThread);
+
+        followerThread.get().interrupt();
+
+        var exception = assertThrows(ExecutionException.class, () -> follower.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(CancellationException.class, exception.getCause());
+        assertTrue(interruptFlag.get(5, TimeUnit.SECONDS));
+        assertEquals(1, calls.get());
+    }
+
+    /**
+     * Starts the leading call and returns once it is running; it finishes with {@code outcome} when released.
+     */
+    private Future<String> startLeader(SingleFlight<String, String> singleFlight, Supplier<String> outcome)
+            throws InterruptedException {
+        var leader = executor.submit(() -> singleFlight.execute(KEY, key -> {
+            calls.incrementAndGet();
+            leaderEntered.countDown();
+            try {
+                releaseLeader.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Load interrupted", e);
+            }
+            return outcome.get();
+        }));
+        assertTrue(leaderEntered.await(5, TimeUnit.SECONDS));
+        return leader;
+    }
+
+    /**
+     * Starts a caller for the same key and returns once it is waiting for the leader.
+     */
+    private Future<String> startFollower(SingleFlight<String, String> singleFlight, String ownResult)
+            throws InterruptedException {
+        var followerThread = new AtomicReference<Thread>();
+        var follower = executor.submit(() -> {
+            followerThread.set(Thread.currentThread());
+            return singleFlight.execute(KEY, key -> {
+                calls.incrementAndGet();
+                return ownResult;
+            });
+        });
+        awaitWaiting(followerThread);
+        return follower;
+    }
+
+    private static void awaitWaiting(AtomicReference<Thread> thread) throws InterruptedException {
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (thread.get() == null || thread.get().getState() != Thread.State.TIMED_WAITING) {
+            assertTrue(System.nanoTime() < deadline, "Follower did not start waiting");
+            Thread.sleep(1);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.shop.demo.service.concurrency.bulkhead;
+
+import com.shop.demo.service.concurrency.config.BulkheadProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkheadTaskDecoratorTest {
+
+    private final BulkheadTaskDecorator decorator = new BulkheadTaskDecorator();
+    private final Bulkhead bulkhead = new Bulkhead("quote", new BulkheadProperties.Group(), new SimpleMeterRegistry());
+
+    @AfterEach
+    void tearDown() {
+        BulkheadContext.clear();
+    }
+
+    @Test
+    void decorate_ShouldRunTaskInSubmittersBulkheadAndClearItAfterwards() throws Exception {
+        var seen = new AtomicReference<Bulkhead>();
+        var executor = Executors.newSingleThreadExecutor();
+        try {
+            BulkheadContext.set(bulkhead);
+            var task = decorator.decorate(() -> seen.set(BulkheadContext.current()));
+            BulkheadContext.clear();
+
+            executor.submit(task).get(1, TimeUnit.SECONDS);
+
+            assertSame(bulkhead, seen.get());
+            assertNull(executor.submit(BulkheadContext::current).get(1, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void decorate_OutsideBulkhead_ShouldReturnTaskUnchanged() {
+        Runnable task = () -> {
+        };
+
+        assertSame(task, decorator.decorate(task));
+    }
+
+    @Test
+    void decorate_RunOnSubmittingThread_ShouldRestoreItsBulkhead() {
+        var other = new Bulkhead("catalog", new BulkheadProperties.Group(), new SimpleMeterRegistry());
+        BulkheadContext.set(bulkhead);
+        var task = decorator.decorate(() -> assertSame(bulkhead, BulkheadContext.current()));
+
+        BulkheadContext.set(other);
+        CompletableFuture.runAsync(task, Runnable::run).join();
+
+        assertSame(other, BulkheadContext.current());
+    }
+}
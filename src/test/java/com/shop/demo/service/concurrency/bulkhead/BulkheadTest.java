@@ -0,0 +1,106 @@
+package com.shop.demo.service.concurrency.bulkhead;
+
+import com.shop.demo.service.concurrency.config.BulkheadProperties;
+import com.shop.demo.service.concurrency.exception.BulkheadFullException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkheadTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private BulkheadProperties.Group group;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        group = new BulkheadProperties.Group();
+        group.setMaxConcurrentCalls(1);
+        group.setMaxConnections(1);
+        group.setConnectionTimeout(Duration.ofMillis(50));
+    }
+
+    @Test
+    void acquireCall_WhenFullAndNoQueue_ShouldRejectImmediately() {
+        var bulkhead = new Bulkhead("catalog", group, meterRegistry);
+        bulkhead.acquireCall();
+
+        assertThrows(BulkheadFullException.class, bulkhead::acquireCall);
+        assertEquals(1, bulkhead.getActiveCalls());
+        assertEquals(1, meterRegistry.get("bulkhead.rejections")
+                .tag("name", "catalog")
+                .tag("resource", Bulkhead.CALLS)
+                .counter().count());
+    }
+
+    @Test
+    void acquireCall_WhenReleasedWithinMaxWait_ShouldAdmitQueuedCall() throws Exception {
+        group.setMaxQueuedCalls(1);
+        group.setMaxWait(Duration.ofSeconds(5));
+        var bulkhead = new Bulkhead("catalog", group, meterRegistry);
+        bulkhead.acquireCall();
+
+        var queued = CompletableFuture.runAsync(bulkhead::acquireCall);
+        while (bulkhead.getQueuedCalls() == 0) {
+            Thread.onSpinWait();
+        }
+        assertThrows(BulkheadFullException.class, bulkhead::acquireCall);
+
+        bulkhead.releaseCall();
+        queued.get(1, TimeUnit.SECONDS);
+        assertEquals(1, bulkhead.getActiveCalls());
+        assertEquals(0, bulkhead.getQueuedCalls());
+    }
+
+    @Test
+    void acquireCall_WhenMaxWaitElapses_ShouldReject() {
+        group.setMaxQueuedCalls(1);
+        group.setMaxWait(Duration.ofMillis(20));
+        var bulkhead = new Bulkhead("catalog", group, meterRegistry);
+        bulkhead.acquireCall();
+
+        assertThrows(BulkheadFullException.class, bulkhead::acquireCall);
+        assertEquals(0, bulkhead.getQueuedCalls());
+    }
+
+    @Test
+    void acquireConnection_WhenPartitionIsExhausted_ShouldRejectAfterTimeout() {
+        var bulkhead = new Bulkhead("catalog", group, meterRegistry);
+        bulkhead.acquireConnection();
+
+        assertThrows(BulkheadFullException.class, bulkhead::acquireConnection);
+
+        bulkhead.releaseConnection();
+        bulkhead.acquireConnection();
+        assertEquals(1, meterRegistry.get("bulkhead.connections.active").tag("name", "catalog").gauge().value());
+    }
+
+    @Test
+    void acquireConnection_WithoutConnectionLimit_ShouldNeverBlock() {
+        group.setMaxConnections(null);
+        var bulkhead = new Bulkhead("quote", group, meterRegistry);
+
+        for (int i = 0; i < 100; i++) {
+            bulkhead.acquireConnection();
+        }
+
+        assertNull(meterRegistry.find("bulkhead.connections.active").gauge());
+    }
+
+    @Test
+    void constructor_ShouldExposeOccupancyGauges() {
+        var bulkhead = new Bulkhead("quote", group, meterRegistry);
+        bulkhead.acquireCall();
+
+        assertEquals(1, meterRegistry.get("bulkhead.calls.active").tag("name", "quote").gauge().value());
+        assertEquals(0, meterRegistry.get("bulkhead.calls.queued").tag("name", "quote").gauge().value());
+        assertEquals(1, meterRegistry.get("bulkhead.calls.max").tag("name", "quote").gauge().value());
+        assertEquals(1, meterRegistry.get("bulkhead.connections.max").tag("name", "quote").gauge().value());
+    }
+}
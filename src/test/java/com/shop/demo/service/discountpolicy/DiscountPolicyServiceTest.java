@@ -3,20 +3,30 @@ package com.shop.demo.service.discountpolicy;
 import com.shop.demo.persistence.discountpolicy.entity.DiscountPolicyEntity;
 import com.shop.demo.persistence.discountpolicy.entity.DiscountType;
 import com.shop.demo.persistence.discountpolicy.repository.DiscountPolicyRepository;
+import com.shop.demo.persistence.product.repository.ProductRepository;
+import com.shop.demo.service.discountpolicy.event.DiscountPolicyChangedEvent;
 import com.shop.demo.service.discountpolicy.exception.DiscountPolicyAlreadyExistsException;
 import com.shop.demo.service.discountpolicy.exception.DiscountPolicyNotFoundException;
 import com.shop.demo.service.discountpolicy.mapper.DiscountPolicyMapper;
 import com.shop.demo.service.discountpolicy.model.DiscountPolicyModel;
+import com.shop.demo.service.pagination.KeysetCursor;
+import com.shop.demo.service.pagination.KeysetPage;
+import com.shop.demo.service.pagination.exception.InvalidCursorException;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 
 import java.math.BigDecimal;
+import java.sql.SQLException;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -31,9 +41,15 @@ class DiscountPolicyServiceTest {
     @Mock
     private DiscountPolicyRepository discountPolicyRepository;
 
+    @Mock
+    private ProductRepository productRepository;
+
     @Mock
     private DiscountPolicyMapper discountPolicyMapper;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     private DiscountPolicyService discountPolicyService;
 
     private UUID validId;
@@ -42,7 +58,8 @@ class DiscountPolicyServiceTest {
 
     @BeforeEach
     void setUp() {
-        discountPolicyService = new DiscountPolicyServiceImpl(discountPolicyRepository, discountPolicyMapper);
+        discountPolicyService = new DiscountPolicyServiceImpl(discountPolicyRepository, productRepository,
+                discountPolicyMapper, eventPublisher);
         
         validId = UUID.randomUUID();
         validEntity = new DiscountPolicyEntity();
@@ -61,10 +78,7 @@ class DiscountPolicyServiceTest {
 
     @Test
     void addDiscountPolicy_WithValidPercentageDiscount_ShouldReturnSavedPolicy() {
-        when(discountPolicyRepository.findByTypeAndThresholdAndDiscountValue(
-                DiscountType.PERCENTAGE, 5, new BigDecimal("10.99")))
-                .thenReturn(Optional.empty());
-        when(discountPolicyRepository.save(any(DiscountPolicyEntity.class))).thenReturn(validEntity);
+        when(discountPolicyRepository.saveAndFlush(any(DiscountPolicyEntity.class))).thenReturn(validEntity);
         when(discountPolicyMapper.entityToModel(validEntity)).thenReturn(validModel);
 
         DiscountPolicyModel result = discountPolicyService.addDiscountPolicy(
@@ -74,7 +88,7 @@ class DiscountPolicyServiceTest {
         assertEquals(DiscountType.PERCENTAGE, result.getType());
         assertEquals(5, result.getThreshold());
         assertEquals(0, new BigDecimal("10.99").compareTo(result.getValue()));
-        verify(discountPolicyRepository).save(any(DiscountPolicyEntity.class));
+        verify(discountPolicyRepository).saveAndFlush(any(DiscountPolicyEntity.class));
     }
 
     @Test
@@ -92,10 +106,7 @@ class DiscountPolicyServiceTest {
                 .value(new BigDecimal("5.99"))
                 .build();
 
-        when(discountPolicyRepository.findByTypeAndThresholdAndDiscountValue(
-                DiscountType.AMOUNT, 3, new BigDecimal("5.99")))
-                .thenReturn(Optional.empty());
-        when(discountPolicyRepository.save(any(DiscountPolicyEntity.class))).thenReturn(amountEntity);
+        when(discountPolicyRepository.saveAndFlush(any(DiscountPolicyEntity.class))).thenReturn(amountEntity);
         when(discountPolicyMapper.entityToModel(amountEntity)).thenReturn(amountModel);
 
         DiscountPolicyModel result = discountPolicyService.addDiscountPolicy(
@@ -105,19 +116,39 @@ class DiscountPolicyServiceTest {
         assertEquals(DiscountType.AMOUNT, result.getType());
         assertEquals(3, result.getThreshold());
         assertEquals(0, new BigDecimal("5.99").compareTo(result.getValue()));
-        verify(discountPolicyRepository).save(any(DiscountPolicyEntity.class));
+        verify(discountPolicyRepository).saveAndFlush(any(DiscountPolicyEntity.class));
     }
 
     @Test
     void addDiscountPolicy_WithExistingPolicy_ShouldThrowException() {
-        when(discountPolicyRepository.findByTypeAndThresholdAndDiscountValue(
-                DiscountType.PERCENTAGE, 5, new BigDecimal("10.99")))
-                .thenReturn(Optional.of(validEntity));
+        when(discountPolicyRepository.saveAndFlush(any(DiscountPolicyEntity.class)))
+                .thenThrow(uniqueIndexViolation());
 
         assertThrows(DiscountPolicyAlreadyExistsException.class, () ->
                 discountPolicyService.addDiscountPolicy(
                         DiscountType.PERCENTAGE, 5, new BigDecimal("10.99")));
-        verify(discountPolicyRepository, never()).save(any());
+        verify(discountPolicyMapper, never()).entityToModel(any());
+    }
+
+    @Test
+    void addDiscountPolicy_WithIndexNamedOnlyInMessage_ShouldRethrow() {
+        var violation = new DataIntegrityViolationException("could not execute statement", new RuntimeException(
+                "Unique index or primary key violation: \"PUBLIC.UK_DISCOUNT_POLICIES_TYPE_THRESHOLD_VALUE\""));
+        when(discountPolicyRepository.saveAndFlush(any(DiscountPolicyEntity.class))).thenThrow(violation);
+
+        assertThrows(DataIntegrityViolationException.class, () ->
+                discountPolicyService.addDiscountPolicy(
+                        DiscountType.PERCENTAGE, 5, new BigDecimal("10.99")));
+    }
+
+    @Test
+    void addDiscountPolicy_WithOtherIntegrityViolation_ShouldRethrow() {
+        when(discountPolicyRepository.saveAndFlush(any(DiscountPolicyEntity.class)))
+                .thenThrow(new DataIntegrityViolationException("NULL not allowed for column \"TYPE\""));
+
+        assertThrows(DataIntegrityViolationException.class, () ->
+                discountPolicyService.addDiscountPolicy(
+                        DiscountType.PERCENTAGE, 5, new BigDecimal("10.99")));
     }
 
     @Test
@@ -206,53 +237,106 @@ class DiscountPolicyServiceTest {
     }
 
     @Test
-    void updateDiscountPolicy_WithValidData_ShouldReturnUpdatedPolicy() {
-        when(discountPolicyRepository.findById(validId)).thenReturn(Optional.of(validEntity));
-        when(discountPolicyRepository.findByTypeAndThresholdAndDiscountValue(
-                DiscountType.PERCENTAGE, 10, new BigDecimal("15.99")))
-                .thenReturn(Optional.empty());
-        when(discountPolicyRepository.save(any(DiscountPolicyEntity.class))).thenReturn(validEntity);
+    void scrollDiscountPolicies_WithMoreItemsThanSize_ShouldReturnNextCursor() {
+        DiscountPolicyEntity nextEntity = new DiscountPolicyEntity();
+        nextEntity.setId(UUID.randomUUID());
+        when(discountPolicyRepository.findAllByOrderByIdAsc(Limit.of(2))).thenReturn(List.of(validEntity, nextEntity));
+        when(discountPolicyMapper.entityToModel(validEntity)).thenReturn(validModel);
+
+        KeysetPage<DiscountPolicyModel> result = discountPolicyService.scrollDiscountPolicies(null, 1);
+
+        assertEquals(List.of(validModel), result.getItems());
+        assertEquals(KeysetCursor.encode(validId), result.getNextCursor());
+        verify(discountPolicyMapper, never()).entityToModel(nextEntity);
+    }
+
+    @Test
+    void scrollDiscountPolicies_WithCursorOnLastPage_ShouldReturnNoNextCursor() {
+        UUID lastSeenId = UUID.randomUUID();
+        when(discountPolicyRepository.findByIdGreaterThanOrderByIdAsc(lastSeenId, Limit.of(11)))
+                .thenReturn(List.of(validEntity));
         when(discountPolicyMapper.entityToModel(validEntity)).thenReturn(validModel);
 
+        KeysetPage<DiscountPolicyModel> result =
+                discountPolicyService.scrollDiscountPolicies(KeysetCursor.encode(lastSeenId), 10);
+
+        assertEquals(List.of(validModel), result.getItems());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void scrollDiscountPolicies_WithInvalidCursor_ShouldThrowException() {
+        assertThrows(InvalidCursorException.class, () ->
+                discountPolicyService.scrollDiscountPolicies("%%%", 10));
+        verifyNoInteractions(discountPolicyRepository);
+    }
+
+    @Test
+    void updateDiscountPolicy_WithValidData_ShouldReturnUpdatedPolicy() {
+        var linkedProductId = UUID.randomUUID();
+        when(discountPolicyRepository.updateThresholdAndValue(validId, 10, new BigDecimal("15.99"))).thenReturn(1);
+        when(discountPolicyRepository.findTypeById(validId)).thenReturn(Optional.of(DiscountType.PERCENTAGE));
+        when(productRepository.findIdsByDiscountPolicy(validId)).thenReturn(List.of(linkedProductId));
+
         DiscountPolicyModel result = discountPolicyService.updateDiscountPolicy(
                 validId, 10, new BigDecimal("15.99"));
 
-        assertNotNull(result);
-        verify(discountPolicyRepository).save(any(DiscountPolicyEntity.class));
+        assertEquals(validId, result.getId());
+        assertEquals(DiscountType.PERCENTAGE, result.getType());
+        assertEquals(10, result.getThreshold());
+        assertEquals(new BigDecimal("15.99"), result.getValue());
+        verify(discountPolicyRepository, never()).findById(any());
+        verify(discountPolicyRepository, never()).save(any());
+        verify(eventPublisher).publishEvent(new DiscountPolicyChangedEvent(validId, List.of(linkedProductId)));
     }
 
     @Test
     void updateDiscountPolicy_WithExistingPolicy_ShouldThrowException() {
-        DiscountPolicyEntity existingEntity = new DiscountPolicyEntity();
-        existingEntity.setId(UUID.randomUUID());
-        existingEntity.setType(DiscountType.PERCENTAGE);
-        existingEntity.setThreshold(10);
-        existingEntity.setDiscountValue(new BigDecimal("15.99"));
-
-        when(discountPolicyRepository.findById(validId)).thenReturn(Optional.of(validEntity));
-        when(discountPolicyRepository.findByTypeAndThresholdAndDiscountValue(
-                DiscountType.PERCENTAGE, 10, new BigDecimal("15.99")))
-                .thenReturn(Optional.of(existingEntity));
+        when(discountPolicyRepository.updateThresholdAndValue(validId, 10, new BigDecimal("15.99")))
+                .thenThrow(uniqueIndexViolation());
 
         assertThrows(DiscountPolicyAlreadyExistsException.class, () ->
                 discountPolicyService.updateDiscountPolicy(validId, 10, new BigDecimal("15.99")));
-        verify(discountPolicyRepository, never()).save(any());
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
     void updateDiscountPolicy_WithNonExistentId_ShouldThrowException() {
-        when(discountPolicyRepository.findById(validId)).thenReturn(Optional.empty());
+        when(discountPolicyRepository.updateThresholdAndValue(validId, 10, new BigDecimal("15.99"))).thenReturn(0);
 
         assertThrows(DiscountPolicyNotFoundException.class, () ->
                 discountPolicyService.updateDiscountPolicy(validId, 10, new BigDecimal("15.99")));
-        verify(discountPolicyRepository, never()).save(any());
+        verify(discountPolicyRepository, never()).findTypeById(any());
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
     void deleteDiscountPolicy_WithExistingId_ShouldDeleteSuccessfully() {
-        doNothing().when(discountPolicyRepository).deleteById(validId);
+        var linkedProductId = UUID.randomUUID();
+        when(productRepository.findIdsByDiscountPolicy(validId)).thenReturn(List.of(linkedProductId));
+        when(discountPolicyRepository.deleteDiscountPolicyById(validId)).thenReturn(1);
 
         assertDoesNotThrow(() -> discountPolicyService.deleteDiscountPolicy(validId));
-        verify(discountPolicyRepository).deleteById(validId);
+        verify(discountPolicyRepository, never()).findById(any());
+        var inOrder = inOrder(productRepository, discountPolicyRepository);
+        inOrder.verify(productRepository).findIdsByDiscountPolicy(validId);
+        inOrder.verify(discountPolicyRepository).deleteDiscountPolicyById(validId);
+        verify(eventPublisher).publishEvent(new DiscountPolicyChangedEvent(validId, List.of(linkedProductId)));
+    }
+
+    @Test
+    void deleteDiscountPolicy_WithNonExistentId_ShouldThrowException() {
+        when(discountPolicyRepository.deleteDiscountPolicyById(validId)).thenReturn(0);
+
+        assertThrows(DiscountPolicyNotFoundException.class, () ->
+                discountPolicyService.deleteDiscountPolicy(validId));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    private DataIntegrityViolationException uniqueIndexViolation() {
+        var constraintName = "\"PUBLIC.UK_DISCOUNT_POLICIES_TYPE_THRESHOLD_VALUE ON PUBLIC.DISCOUNT_POLICIES(" +
+                "TYPE NULLS FIRST, THRESHOLD NULLS FIRST, DISCOUNT_VALUE NULLS FIRST)\"";
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("could not execute statement", new SQLException(), constraintName));
     }
 }
@@ -0,0 +1,93 @@
+package com.shop.demo.service.discountpolicy;
+
+import com.shop.demo.persistence.discountpolicy.entity.DiscountType;
+import com.shop.demo.persistence.discountpolicy.repository.DiscountPolicyRepository;
+import com.shop.demo.service.discountpolicy.exception.DiscountPolicyAlreadyExistsException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class DiscountPolicyUniquenessTest {
+    private static final int THREADS = 8;
+
+    @Autowired
+    private DiscountPolicyService discountPolicyService;
+
+    @Autowired
+    private DiscountPolicyRepository discountPolicyRepository;
+
+    @AfterEach
+    void tearDown() {
+        discountPolicyRepository.deleteAll();
+    }
+
+    @Test
+    void addDiscountPolicy_WithSameValuesAtDifferentScale_ShouldBeRejected() {
+        discountPolicyService.addDiscountPolicy(DiscountType.PERCENTAGE, 5, new BigDecimal("10.5"));
+
+        assertThrows(DiscountPolicyAlreadyExistsException.class, () ->
+                discountPolicyService.addDiscountPolicy(DiscountType.PERCENTAGE, 5, new BigDecimal("10.50")));
+        assertDoesNotThrow(() ->
+                discountPolicyService.addDiscountPolicy(DiscountType.AMOUNT, 5, new BigDecimal("10.50")));
+        assertEquals(2, discountPolicyRepository.count());
+    }
+
+    @Test
+    void updateDiscountPolicy_IntoExistingValues_ShouldBeRejected() {
+        discountPolicyService.addDiscountPolicy(DiscountType.PERCENTAGE, 5, new BigDecimal("10.00"));
+        var other = discountPolicyService.addDiscountPolicy(DiscountType.PERCENTAGE, 10, new BigDecimal("10.00"));
+
+        assertThrows(DiscountPolicyAlreadyExistsException.class, () ->
+                discountPolicyService.updateDiscountPolicy(other.getId(), 5, new BigDecimal("10.00")));
+        assertEquals(10, discountPolicyService.getDiscountPolicy(other.getId()).getThreshold());
+    }
+
+    @Test
+    void updateDiscountPolicy_WithUnchangedValues_ShouldSucceed() {
+        var policy = discountPolicyService.addDiscountPolicy(DiscountType.PERCENTAGE, 5, new BigDecimal("10.00"));
+
+        assertDoesNotThrow(() ->
+                discountPolicyService.updateDiscountPolicy(policy.getId(), 5, new BigDecimal("10.00")));
+    }
+
+    @Test
+    void addDiscountPolicy_Concurrently_ShouldCreateOnlyOne() throws Exception {
+        var executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            var start = new CountDownLatch(1);
+            var futures = new ArrayList<Future<Boolean>>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        discountPolicyService.addDiscountPolicy(DiscountType.AMOUNT, 3, new BigDecimal("2.00"));
+                        return true;
+                    } catch (DiscountPolicyAlreadyExistsException e) {
+                        return false;
+                    }
+                }));
+            }
+            start.countDown();
+
+            var created = 0;
+            for (Future<Boolean> future : futures) {
+                created += future.get(30, TimeUnit.SECONDS) ? 1 : 0;
+            }
+            assertEquals(1, created);
+            assertEquals(1, discountPolicyRepository.count());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.shop.demo.service.discountpolicy.cache;
+
+import com.shop.demo.persistence.discountpolicy.entity.DiscountPolicyEntity;
+import com.shop.demo.persistence.discountpolicy.entity.DiscountType;
+import com.shop.demo.service.discountpolicy.mapper.DiscountPolicyMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DiscountPolicyInternerTest {
+
+    private DiscountPolicyInterner interner;
+    private UUID policyId;
+
+    @BeforeEach
+    void setUp() {
+        interner = new DiscountPolicyInterner(new DiscountPolicyMapper());
+        policyId = UUID.randomUUID();
+    }
+
+    @Test
+    void intern_WithSameIdAndVersion_ShouldReturnSameSnapshot() {
+        var first = interner.intern(entity(policyId, 3L, "10.00"));
+        var second = interner.intern(entity(policyId, 3L, "10.00"));
+
+        assertEquals(1, interner.size());
+        assertSame(first, second);
+    }
+
+    @Test
+    void intern_WithNewVersion_ShouldReturnNewSnapshot() {
+        var before = interner.intern(entity(policyId, 3L, "10.00"));
+        var after = interner.intern(entity(policyId, 4L, "15.00"));
+
+        assertNotSame(before, after);
+        assertEquals(new BigDecimal("10.00"), before.getValue());
+        assertEquals(new BigDecimal("15.00"), after.getValue());
+    }
+
+    @Test
+    void intern_WithUnversionedEntity_ShouldNotShareSnapshot() {
+        var first = interner.intern(entity(policyId, null, "10.00"));
+        var second = interner.intern(entity(policyId, null, "12.00"));
+
+        assertNotSame(first, second);
+        assertEquals(new BigDecimal("12.00"), second.getValue());
+        assertEquals(0, interner.size());
+    }
+
+    private DiscountPolicyEntity entity(UUID id, Long version, String value) {
+        var entity = new DiscountPolicyEntity();
+        entity.setId(id);
+        entity.setVersion(version);
+        entity.setType(DiscountType.PERCENTAGE);
+        entity.setThreshold(5);
+        entity.setDiscountValue(new BigDecimal(value));
+        return entity;
+    }
+}
@@ -0,0 +1,82 @@
+package com.shop.demo.service.discountpolicy.model;
+
+import com.shop.demo.persistence.discountpolicy.entity.DiscountType;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DiscountTierTableTest {
+
+    @Test
+    void findApplicable_WithNoPolicies_ShouldReturnNull() {
+        DiscountTierTable table = DiscountTierTable.of(List.of());
+
+        assertNull(table.findApplicable(DiscountType.PERCENTAGE, 100));
+        assertNull(table.findApplicable(DiscountType.AMOUNT, 100));
+    }
+
+    @Test
+    void findApplicable_ShouldReturnPolicyWithHighestReachedThreshold() {
+        var low = policy(DiscountType.PERCENTAGE, 3, "5.00");
+        var middle = policy(DiscountType.PERCENTAGE, 10, "10.00");
+        var high = policy(DiscountType.PERCENTAGE, 50, "15.00");
+        var amount = policy(DiscountType.AMOUNT, 5, "2.00");
+        DiscountTierTable table = DiscountTierTable.of(List.of(high, amount, low, middle));
+
+        assertNull(table.findApplicable(DiscountType.PERCENTAGE, 2));
+        assertSame(low, table.findApplicable(DiscountType.PERCENTAGE, 3));
+        assertSame(low, table.findApplicable(DiscountType.PERCENTAGE, 9));
+        assertSame(middle, table.findApplicable(DiscountType.PERCENTAGE, 10));
+        assertSame(high, table.findApplicable(DiscountType.PERCENTAGE, Integer.MAX_VALUE));
+        assertNull(table.findApplicable(DiscountType.AMOUNT, 4));
+        assertSame(amount, table.findApplicable(DiscountType.AMOUNT, 5));
+    }
+
+    @Test
+    void findApplicable_WithSameThreshold_ShouldKeepFirstPolicy() {
+        var first = policy(DiscountType.AMOUNT, 5, "2.00");
+        var second = policy(DiscountType.AMOUNT, 5, "3.00");
+        DiscountTierTable table = DiscountTierTable.of(List.of(first, second));
+
+        assertSame(first, table.findApplicable(DiscountType.AMOUNT, 7));
+    }
+
+    @Test
+    void findApplicable_ShouldSkipPoliciesWithoutValue() {
+        var withoutValue = policy(DiscountType.AMOUNT, 5, null);
+        var policies = new ArrayList<DiscountPolicyModel>();
+        policies.add(null);
+        policies.add(withoutValue);
+        DiscountTierTable table = DiscountTierTable.of(policies);
+
+        assertNull(table.findApplicable(DiscountType.AMOUNT, 10));
+    }
+
+    @Test
+    void findTier_ShouldChangeOnlyAtThresholds() {
+        DiscountTierTable table = DiscountTierTable.of(List.of(
+                policy(DiscountType.PERCENTAGE, 10, "10.00"),
+                policy(DiscountType.AMOUNT, 5, "2.00"),
+                policy(DiscountType.AMOUNT, 10, "3.00")));
+
+        assertEquals(0, table.findTier(4));
+        assertEquals(1, table.findTier(5));
+        assertEquals(1, table.findTier(9));
+        assertEquals(2, table.findTier(10));
+        assertEquals(2, table.findTier(Integer.MAX_VALUE));
+    }
+
+    private DiscountPolicyModel policy(DiscountType type, int threshold, String value) {
+        return DiscountPolicyModel.builder()
+                .id(UUID.randomUUID())
+                .type(type)
+                .threshold(threshold)
+                .value(value == null ? null : new BigDecimal(value))
+                .build();
+    }
+}
@@ -0,0 +1,164 @@
+package com.shop.demo.service.discountprocessing;
+
+import com.shop.demo.persistence.discountpolicy.entity.DiscountType;
+import com.shop.demo.service.discountpolicy.model.DiscountPolicyModel;
+import com.shop.demo.service.discountprocessing.cache.QuoteCache;
+import com.shop.demo.service.discountprocessing.config.CalculationMode;
+import com.shop.demo.service.discountprocessing.config.DiscountProcessingProperties;
+import com.shop.demo.service.discountprocessing.executor.CalculationExecutor;
+import com.shop.demo.service.discountprocessing.factory.DiscountCalculationFactory;
+import com.shop.demo.service.discountprocessing.limit.CalculationLimiter;
+import com.shop.demo.service.discountprocessing.model.DiscountProcessingResult;
+import com.shop.demo.service.discountprocessing.strategy.AmountDiscountStrategy;
+import com.shop.demo.service.discountprocessing.strategy.PercentageDiscountStrategy;
+import com.shop.demo.service.product.ProductService;
+import com.shop.demo.service.product.model.ProductModel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CalculationModeEquivalenceTest {
+    private static final int SAMPLES = 20_000;
+
+    @Mock
+    private ProductService productService;
+
+    private DiscountProcessingService decimalService;
+    private DiscountProcessingService fixedPointService;
+
+    @BeforeEach
+    void setUp() {
+        var factory = new DiscountCalculationFactory(new AmountDiscountStrategy(), new PercentageDiscountStrategy());
+        decimalService = service(factory, properties(CalculationMode.DECIMAL));
+        fixedPointService = service(factory, properties(CalculationMode.FIXED_POINT));
+    }
+
+    @Test
+    void calculate_WithRandomProducts_ShouldProduceIdenticalResultsInBothModes() {
+        var random = new Random(20241018L);
+        var products = new HashMap<UUID, ProductModel>();
+        when(productService.getProduct(any())).thenAnswer(invocation -> products.get(invocation.<UUID>getArgument(0)));
+
+        for (int sample = 0; sample < SAMPLES; sample++) {
+            var product = randomProduct(random);
+            var quantity = randomQuantity(random);
+            products.put(product.getId(), product);
+
+            var expected = decimalService.calculate(product.getId(), quantity);
+            var actual = fixedPointService.calculate(product.getId(), quantity);
+
+            assertIdentical(expected, actual, "price=" + product.getPrice() + ", quantity=" + quantity
+                    + ", policies=" + describe(product.getDiscountPolicies()));
+        }
+    }
+
+    @Test
+    void calculate_WithAmountsBeyondLongRange_ShouldFallBackToDecimal() {
+        var product = ProductModel.builder()
+                .id(UUID.randomUUID())
+                .name("Expensive product")
+                .price(new BigDecimal("9999999999.99"))
+                .discountPolicies(List.of(policy(DiscountType.PERCENTAGE, 1, new BigDecimal("33.33"))))
+                .build();
+        when(productService.getProduct(product.getId())).thenReturn(product);
+
+        assertIdentical(decimalService.calculate(product.getId(), Integer.MAX_VALUE),
+                fixedPointService.calculate(product.getId(), Integer.MAX_VALUE), "overflow");
+    }
+
+    @Test
+    void calculate_WithHalfCentDiscounts_ShouldRoundHalfEven() {
+        var product = ProductModel.builder()
+                .id(UUID.randomUUID())
+                .name("Rounding product")
+                .price(new BigDecimal("0.05"))
+                .discountPolicies(List.of(policy(DiscountType.PERCENTAGE, 1, new BigDecimal("50.00"))))
+                .build();
+        when(productService.getProduct(product.getId())).thenReturn(product);
+
+        for (int quantity = 1; quantity <= 20; quantity++) {
+            assertIdentical(decimalService.calculate(product.getId(), quantity),
+                    fixedPointService.calculate(product.getId(), quantity), "quantity=" + quantity);
+        }
+    }
+
+    private void assertIdentical(DiscountProcessingResult expected, DiscountProcessingResult actual, String context) {
+        assertEquals(expected.getTotalPrice(), actual.getTotalPrice(), "totalPrice for " + context);
+        assertEquals(expected.getDiscount(), actual.getDiscount(), "discount for " + context);
+        assertEquals(expected.getFinalPrice(), actual.getFinalPrice(), "finalPrice for " + context);
+    }
+
+    private ProductModel randomProduct(Random random) {
+        var policies = new ArrayList<DiscountPolicyModel>();
+        var policyCount = random.nextInt(6);
+        for (int i = 0; i < policyCount; i++) {
+            var type = random.nextBoolean() ? DiscountType.PERCENTAGE : DiscountType.AMOUNT;
+            var value = type == DiscountType.PERCENTAGE
+                    ? BigDecimal.valueOf(random.nextInt(12_000) + 1, 2)
+                    : BigDecimal.valueOf(random.nextLong(10_000_000L) + 1, 2);
+            policies.add(policy(type, random.nextInt(50) + 1, value));
+        }
+
+        return ProductModel.builder()
+                .id(UUID.randomUUID())
+                .name("Random product")
+                .price(BigDecimal.valueOf(randomPriceCents(random), 2))
+                .discountPolicies(policies)
+                .build();
+    }
+
+    private long randomPriceCents(Random random) {
+        return switch (random.nextInt(3)) {
+            case 0 -> random.nextInt(1_000) + 1;
+            case 1 -> random.nextInt(1_000_000) + 1;
+            default -> random.nextLong(1_000_000_000_000L) + 1;
+        };
+    }
+
+    private int randomQuantity(Random random) {
+        return random.nextBoolean() ? random.nextInt(60) + 1 : random.nextInt(1_000_000) + 1;
+    }
+
+    private DiscountPolicyModel policy(DiscountType type, int threshold, BigDecimal value) {
+        return DiscountPolicyModel.builder()
+                .id(UUID.randomUUID())
+                .type(type)
+                .threshold(threshold)
+                .value(value)
+                .build();
+    }
+
+    private String describe(List<DiscountPolicyModel> policies) {
+        return policies.stream()
+                .map(policy -> policy.getType() + "@" + policy.getThreshold() + "=" + policy.getValue())
+                .toList()
+                .toString();
+    }
+
+    private DiscountProcessingService service(DiscountCalculationFactory factory, DiscountProcessingProperties properties) {
+        return new DiscountProcessingServiceImpl(productService, factory, properties, new QuoteCache(properties),
+                new CalculationExecutor(properties, new SimpleMeterRegistry()),
+                new CalculationLimiter(properties, new SimpleMeterRegistry()));
+    }
+
+    private DiscountProcessingProperties properties(CalculationMode mode) {
+        var properties = new DiscountProcessingProperties();
+        properties.setCalculationMode(mode);
+        return properties;
+    }
+}
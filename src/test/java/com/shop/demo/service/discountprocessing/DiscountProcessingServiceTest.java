@@ -2,12 +2,22 @@ package com.shop.demo.service.discountprocessing;
 
 import com.shop.demo.persistence.discountpolicy.entity.DiscountType;
 import com.shop.demo.service.discountpolicy.model.DiscountPolicyModel;
+import com.shop.demo.service.discountprocessing.cache.QuoteCache;
+import com.shop.demo.service.discountprocessing.config.CalculationMode;
+import com.shop.demo.service.discountprocessing.config.DiscountProcessingProperties;
+import com.shop.demo.service.discountprocessing.exception.CalculationTimeoutException;
+import com.shop.demo.service.discountprocessing.executor.CalculationExecutor;
 import com.shop.demo.service.discountprocessing.factory.DiscountCalculationFactory;
+import com.shop.demo.service.discountprocessing.limit.CalculationLimiter;
+import com.shop.demo.service.discountprocessing.model.CartItem;
+import com.shop.demo.service.discountprocessing.model.CartProcessingResult;
 import com.shop.demo.service.discountprocessing.model.DiscountProcessingResult;
+import com.shop.demo.service.discountprocessing.model.PriceListEntry;
 import com.shop.demo.service.discountprocessing.strategy.DiscountCalculationStrategy;
 import com.shop.demo.service.product.ProductService;
 import com.shop.demo.service.product.excpetion.ProductNotFoundException;
 import com.shop.demo.service.product.model.ProductModel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -15,8 +25,15 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -39,6 +56,7 @@ class DiscountProcessingServiceTest {
     private DiscountCalculationStrategy amountStrategy;
 
     private DiscountProcessingService discountProcessingService;
+    private DiscountProcessingProperties properties;
 
     private UUID validProductId;
     private ProductModel productWithoutDiscounts;
@@ -50,7 +68,11 @@ class DiscountProcessingServiceTest {
 
     @BeforeEach
     void setUp() {
-        discountProcessingService = new DiscountProcessingServiceImpl(productService, discountCalculationFactory);
+        properties = new DiscountProcessingProperties();
+        properties.setCalculationMode(CalculationMode.DECIMAL);
+        discountProcessingService = new DiscountProcessingServiceImpl(productService, discountCalculationFactory, properties,
+                new QuoteCache(properties), new CalculationExecutor(properties, new SimpleMeterRegistry()),
+                new CalculationLimiter(properties, new SimpleMeterRegistry()));
 
         validProductId = UUID.randomUUID();
 
@@ -222,6 +244,17 @@ class DiscountProcessingServiceTest {
         verify(discountCalculationFactory, never()).getStrategy(any());
     }
 
+    @Test
+    void calculate_CalledRepeatedly_ShouldLoadProductOnce() {
+        when(productService.getProduct(validProductId)).thenReturn(productWithoutDiscounts);
+
+        discountProcessingService.calculate(validProductId, 5);
+        DiscountProcessingResult result = discountProcessingService.calculate(validProductId, 7);
+
+        assertEquals(0, new BigDecimal("700.00").compareTo(result.getTotalPrice()));
+        verify(productService, times(1)).getProduct(validProductId);
+    }
+
     @Test
     void calculate_WithNonExistentProduct_ShouldThrowException() {
         when(productService.getProduct(validProductId)).thenThrow(new ProductNotFoundException("Product not found"));
@@ -230,6 +263,62 @@ class DiscountProcessingServiceTest {
                 discountProcessingService.calculate(validProductId, 5));
     }
 
+    @Test
+    void calculateAsync_WithNoDiscounts_ShouldCompleteWithOriginalPrice() {
+        when(productService.getProduct(validProductId)).thenReturn(productWithoutDiscounts);
+
+        DiscountProcessingResult result = discountProcessingService.calculateAsync(validProductId, 5).join();
+
+        assertEquals(0, new BigDecimal("500.00").compareTo(result.getFinalPrice()));
+    }
+
+    @Test
+    void calculateAsync_WithNonExistentProduct_ShouldCompleteExceptionally() {
+        when(productService.getProduct(validProductId)).thenThrow(new ProductNotFoundException("Product not found"));
+
+        var exception = assertThrows(CompletionException.class, () ->
+                discountProcessingService.calculateAsync(validProductId, 5).join());
+        assertInstanceOf(ProductNotFoundException.class, exception.getCause());
+    }
+
+    @Test
+    void calculateAsync_AfterTimeout_ShouldHoldLimiterPermitUntilCalculationExits() throws Exception {
+        properties.getAsync().setTimeout(Duration.ofMillis(50));
+        var limiter = new CalculationLimiter(properties, new SimpleMeterRegistry());
+        var calculationExecutor = new CalculationExecutor(properties, new SimpleMeterRegistry());
+        discountProcessingService = new DiscountProcessingServiceImpl(productService, discountCalculationFactory,
+                properties, new QuoteCache(properties), calculationExecutor, limiter);
+        var databaseResponds = new CountDownLatch(1);
+        when(productService.getProduct(validProductId)).thenAnswer(invocation -> {
+            // A running JDBC statement does not react to the interrupt of the cancelled task
+            while (true) {
+                try {
+                    databaseResponds.await();
+                    return productWithoutDiscounts;
+                } catch (InterruptedException ignored) {
+                    // keep waiting for the database
+                }
+            }
+        });
+
+        try {
+            var future = discountProcessingService.calculateAsync(validProductId, 5);
+            var exception = assertThrows(CompletionException.class, future::join);
+            assertInstanceOf(CalculationTimeoutException.class, exception.getCause());
+            assertEquals(1, limiter.getInFlight());
+
+            databaseResponds.countDown();
+            var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+            while (limiter.getInFlight() != 0) {
+                assertTrue(System.nanoTime() < deadline, "permit was not released");
+                Thread.sleep(10);
+            }
+        } finally {
+            databaseResponds.countDown();
+            calculationExecutor.shutdown();
+        }
+    }
+
     @Test
     void calculate_WithDiscountsExceedingTotalPrice_ShouldReturnZeroFinalPrice() {
         when(productService.getProduct(validProductId)).thenReturn(productWithLargeDiscounts);
@@ -247,4 +336,92 @@ class DiscountProcessingServiceTest {
         assertEquals(0, new BigDecimal("110.00").compareTo(result.getDiscount()));
         assertEquals(0, BigDecimal.ZERO.compareTo(result.getFinalPrice()));
     }
+
+    @Test
+    void calculateCart_WithMultipleLines_ShouldLoadProductsOnceAndSumTotals() {
+        var secondProductId = UUID.randomUUID();
+        var secondProduct = ProductModel.builder()
+                .id(secondProductId)
+                .name("Second product")
+                .price(new BigDecimal("20.00"))
+                .discountPolicies(List.of())
+                .build();
+
+        when(productService.getProducts(Set.of(validProductId, secondProductId)))
+                .thenReturn(List.of(productWithOnePercentageDiscount, secondProduct));
+        when(discountCalculationFactory.getStrategy(DiscountType.PERCENTAGE)).thenReturn(percentageStrategy);
+        when(percentageStrategy.calculateDiscount(new BigDecimal("500.00"), new BigDecimal("10.00")))
+                .thenReturn(new BigDecimal("50.00"));
+
+        CartProcessingResult result = discountProcessingService.calculateCart(List.of(
+                CartItem.builder().productId(validProductId).quantity(5).build(),
+                CartItem.builder().productId(secondProductId).quantity(2).build()));
+
+        assertNotNull(result);
+        assertEquals(2, result.getItems().size());
+        assertEquals(validProductId, result.getItems().get(0).getProductId());
+        assertEquals(0, new BigDecimal("450.00").compareTo(result.getItems().get(0).getFinalPrice()));
+        assertEquals(secondProductId, result.getItems().get(1).getProductId());
+        assertEquals(0, new BigDecimal("40.00").compareTo(result.getItems().get(1).getFinalPrice()));
+        assertEquals(0, new BigDecimal("540.00").compareTo(result.getTotalPrice()));
+        assertEquals(0, new BigDecimal("50.00").compareTo(result.getDiscount()));
+        assertEquals(0, new BigDecimal("490.00").compareTo(result.getFinalPrice()));
+        verify(productService).getProducts(Set.of(validProductId, secondProductId));
+        verify(productService, never()).getProduct(any());
+    }
+
+    @Test
+    void calculateCart_WithRepeatedProduct_ShouldCalculateEachLineSeparately() {
+        when(productService.getProducts(Set.of(validProductId))).thenReturn(List.of(productWithoutDiscounts));
+
+        CartProcessingResult result = discountProcessingService.calculateCart(List.of(
+                CartItem.builder().productId(validProductId).quantity(1).build(),
+                CartItem.builder().productId(validProductId).quantity(2).build()));
+
+        assertEquals(2, result.getItems().size());
+        assertEquals(0, new BigDecimal("100.00").compareTo(result.getItems().get(0).getTotalPrice()));
+        assertEquals(0, new BigDecimal("200.00").compareTo(result.getItems().get(1).getTotalPrice()));
+        assertEquals(0, new BigDecimal("300.00").compareTo(result.getFinalPrice()));
+    }
+
+    @Test
+    void calculateCart_WithNonExistentProduct_ShouldThrowException() {
+        when(productService.getProducts(Set.of(validProductId)))
+                .thenThrow(new ProductNotFoundException("Product not found"));
+
+        assertThrows(ProductNotFoundException.class, () ->
+                discountProcessingService.calculateCart(List.of(
+                        CartItem.builder().productId(validProductId).quantity(1).build())));
+    }
+
+    @Test
+    void exportPriceList_ShouldPriceEveryProductWithoutQuoteCache() {
+        var secondProduct = ProductModel.builder()
+                .id(UUID.randomUUID())
+                .name("Second product")
+                .price(new BigDecimal("20.00"))
+                .discountPolicies(List.of())
+                .build();
+        doAnswer(invocation -> {
+            Consumer<ProductModel> consumer = invocation.getArgument(0);
+            consumer.accept(productWithOnePercentageDiscount);
+            consumer.accept(secondProduct);
+            return null;
+        }).when(productService).forEachProduct(any());
+        when(discountCalculationFactory.getStrategy(DiscountType.PERCENTAGE)).thenReturn(percentageStrategy);
+        when(percentageStrategy.calculateDiscount(new BigDecimal("500.00"), new BigDecimal("10.00")))
+                .thenReturn(new BigDecimal("50.00"));
+
+        var entries = new ArrayList<PriceListEntry>();
+        discountProcessingService.exportPriceList(5, entries::add);
+
+        assertEquals(2, entries.size());
+        assertEquals(validProductId, entries.get(0).getProductId());
+        assertEquals(5, entries.get(0).getQuantity());
+        assertEquals(0, new BigDecimal("450.00").compareTo(entries.get(0).getFinalPrice()));
+        assertEquals(secondProduct.getId(), entries.get(1).getProductId());
+        assertEquals("Second product", entries.get(1).getName());
+        assertEquals(0, new BigDecimal("100.00").compareTo(entries.get(1).getFinalPrice()));
+        verify(productService, never()).getProduct(any());
+    }
 }
@@ -0,0 +1,172 @@
+package com.shop.demo.service.discountprocessing;
+
+import com.shop.demo.persistence.discountpolicy.entity.DiscountType;
+import com.shop.demo.service.discountpolicy.model.DiscountPolicyModel;
+import com.shop.demo.service.discountprocessing.cache.QuoteCache;
+import com.shop.demo.service.discountprocessing.config.DiscountProcessingProperties;
+import com.shop.demo.service.discountprocessing.executor.CalculationExecutor;
+import com.shop.demo.service.discountprocessing.factory.DiscountCalculationFactory;
+import com.shop.demo.service.discountprocessing.limit.CalculationLimiter;
+import com.shop.demo.service.discountprocessing.model.PriceCurve;
+import com.shop.demo.service.discountprocessing.model.PriceCurveSegment;
+import com.shop.demo.service.discountprocessing.strategy.AmountDiscountStrategy;
+import com.shop.demo.service.discountprocessing.strategy.PercentageDiscountStrategy;
+import com.shop.demo.service.product.ProductService;
+import com.shop.demo.service.product.excpetion.ProductNotFoundException;
+import com.shop.demo.service.product.model.ProductModel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PriceCurveTest {
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    @Mock
+    private ProductService productService;
+
+    private DiscountProcessingService discountProcessingService;
+
+    @BeforeEach
+    void setUp() {
+        var properties = new DiscountProcessingProperties();
+        var factory = new DiscountCalculationFactory(new AmountDiscountStrategy(), new PercentageDiscountStrategy());
+        discountProcessingService = new DiscountProcessingServiceImpl(productService, factory, properties,
+                new QuoteCache(properties),
+                new CalculationExecutor(properties, new SimpleMeterRegistry()),
+                new CalculationLimiter(properties, new SimpleMeterRegistry()));
+    }
+
+    @Test
+    void getPriceCurve_WithoutPolicies_ShouldReturnSingleUnboundedSegment() {
+        var product = product("10.00", List.of());
+        when(productService.getProduct(product.getId())).thenReturn(product);
+
+        PriceCurve curve = discountProcessingService.getPriceCurve(product.getId());
+
+        assertEquals(product.getId(), curve.getProductId());
+        assertEquals(new BigDecimal("10.00"), curve.getUnitPrice());
+        assertEquals(1, curve.getSegments().size());
+        var segment = curve.getSegments().get(0);
+        assertEquals(1, segment.getFromQuantity());
+        assertNull(segment.getToQuantity());
+        assertTrue(segment.getPolicies().isEmpty());
+        assertEquals(0, BigDecimal.ZERO.compareTo(segment.getPercentageDiscount()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(segment.getAmountDiscount()));
+        assertEquals(0, new BigDecimal("10.00").compareTo(segment.getStartPrice().getFinalPrice()));
+    }
+
+    @Test
+    void getPriceCurve_ShouldSplitAtEveryThreshold() {
+        var percentage = policy(DiscountType.PERCENTAGE, 5, new BigDecimal("10.00"));
+        var amount = policy(DiscountType.AMOUNT, 10, new BigDecimal("3.00"));
+        var higherPercentage = policy(DiscountType.PERCENTAGE, 10, new BigDecimal("15.00"));
+        var ignoredPercentage = policy(DiscountType.PERCENTAGE, 20, new BigDecimal("150.00"));
+        var product = product("20.00", List.of(percentage, amount, higherPercentage, ignoredPercentage));
+        when(productService.getProduct(product.getId())).thenReturn(product);
+
+        var segments = discountProcessingService.getPriceCurve(product.getId()).getSegments();
+
+        assertEquals(List.of(1, 5, 10, 20), segments.stream().map(PriceCurveSegment::getFromQuantity).toList());
+        assertEquals(4, segments.get(0).getToQuantity());
+        assertEquals(9, segments.get(1).getToQuantity());
+        assertEquals(19, segments.get(2).getToQuantity());
+        assertNull(segments.get(3).getToQuantity());
+
+        assertEquals(List.of(percentage), segments.get(1).getPolicies());
+        assertEquals(List.of(amount, higherPercentage), segments.get(2).getPolicies());
+        assertEquals(0, new BigDecimal("15.00").compareTo(segments.get(2).getPercentageDiscount()));
+        assertEquals(0, new BigDecimal("3.00").compareTo(segments.get(2).getAmountDiscount()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(segments.get(3).getPercentageDiscount()));
+        assertEquals(0, new BigDecimal("167.00").compareTo(segments.get(2).getStartPrice().getFinalPrice()));
+    }
+
+    @Test
+    void getPriceCurve_WithRandomProducts_ShouldMatchCalculateForEveryQuantity() {
+        var random = new Random(20241019L);
+        var products = new HashMap<UUID, ProductModel>();
+        when(productService.getProduct(any())).thenAnswer(invocation -> products.get(invocation.<UUID>getArgument(0)));
+
+        for (int sample = 0; sample < 200; sample++) {
+            var product = randomProduct(random);
+            products.put(product.getId(), product);
+            var curve = discountProcessingService.getPriceCurve(product.getId());
+
+            for (int quantity = 1; quantity <= 60; quantity++) {
+                var expected = discountProcessingService.calculate(product.getId(), quantity);
+                var segment = segmentOf(curve, quantity);
+                var totalPrice = curve.getUnitPrice().multiply(BigDecimal.valueOf(quantity));
+                var discount = totalPrice.multiply(segment.getPercentageDiscount())
+                        .divide(HUNDRED, 2, RoundingMode.HALF_EVEN)
+                        .add(segment.getAmountDiscount());
+                var finalPrice = totalPrice.subtract(discount).max(BigDecimal.ZERO);
+
+                assertEquals(0, expected.getTotalPrice().compareTo(totalPrice), "totalPrice at " + quantity);
+                assertEquals(0, expected.getDiscount().compareTo(discount), "discount at " + quantity);
+                assertEquals(0, expected.getFinalPrice().compareTo(finalPrice), "finalPrice at " + quantity);
+            }
+        }
+    }
+
+    @Test
+    void getPriceCurve_WithNonExistentProduct_ShouldThrowException() {
+        var productId = UUID.randomUUID();
+        when(productService.getProduct(productId)).thenThrow(new ProductNotFoundException("Product not found"));
+
+        assertThrows(ProductNotFoundException.class, () -> discountProcessingService.getPriceCurve(productId));
+    }
+
+    private PriceCurveSegment segmentOf(PriceCurve curve, int quantity) {
+        return curve.getSegments().stream()
+                .filter(segment -> segment.getFromQuantity() <= quantity &&
+                        (segment.getToQuantity() == null || quantity <= segment.getToQuantity()))
+                .reduce((first, second) -> fail("Quantity " + quantity + " is covered by several segments"))
+                .orElseThrow();
+    }
+
+    private ProductModel randomProduct(Random random) {
+        var policies = new ArrayList<DiscountPolicyModel>();
+        var policyCount = random.nextInt(6);
+        for (int i = 0; i < policyCount; i++) {
+            var type = random.nextBoolean() ? DiscountType.PERCENTAGE : DiscountType.AMOUNT;
+            var value = type == DiscountType.PERCENTAGE
+                    ? BigDecimal.valueOf(random.nextInt(12_000) + 1, 2)
+                    : BigDecimal.valueOf(random.nextInt(10_000) + 1, 2);
+            policies.add(policy(type, random.nextInt(50) + 1, value));
+        }
+        return product(BigDecimal.valueOf(random.nextInt(100_000) + 1, 2).toPlainString(), policies);
+    }
+
+    private ProductModel product(String price, List<DiscountPolicyModel> policies) {
+        return ProductModel.builder()
+                .id(UUID.randomUUID())
+                .name("Product")
+                .price(new BigDecimal(price))
+                .discountPolicies(policies)
+                .build();
+    }
+
+    private DiscountPolicyModel policy(DiscountType type, int threshold, BigDecimal value) {
+        return DiscountPolicyModel.builder()
+                .id(UUID.randomUUID())
+                .type(type)
+                .threshold(threshold)
+                .value(value)
+                .build();
+    }
+}
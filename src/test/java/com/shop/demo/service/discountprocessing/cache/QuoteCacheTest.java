@@ -0,0 +1,148 @@
+package com.shop.demo.service.discountprocessing.cache;
+
+import com.shop.demo.persistence.discountpolicy.entity.DiscountType;
+import com.shop.demo.service.discountpolicy.event.DiscountPolicyChangedEvent;
+import com.shop.demo.service.discountpolicy.model.DiscountPolicyModel;
+import com.shop.demo.service.discountprocessing.config.DiscountProcessingProperties;
+import com.shop.demo.service.product.event.ProductChangedEvent;
+import com.shop.demo.service.product.model.ProductModel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QuoteCacheTest {
+
+    private DiscountProcessingProperties properties;
+    private ProductModel product;
+    private AtomicInteger loads;
+    private Function<UUID, ProductModel> loader;
+
+    @BeforeEach
+    void setUp() {
+        properties = new DiscountProcessingProperties();
+        product = ProductModel.builder()
+                .id(UUID.randomUUID())
+                .name("Product")
+                .price(new BigDecimal("100.00"))
+                .discountPolicies(List.of(DiscountPolicyModel.builder()
+                        .id(UUID.randomUUID())
+                        .type(DiscountType.PERCENTAGE)
+                        .threshold(5)
+                        .value(new BigDecimal("10.00"))
+                        .build()))
+                .build();
+        loads = new AtomicInteger();
+        loader = id -> {
+            loads.incrementAndGet();
+            return product;
+        };
+    }
+
+    @Test
+    void getSnapshot_WhenCached_ShouldNotLoadAgain() {
+        var quoteCache = new QuoteCache(properties);
+
+        var first = quoteCache.getSnapshot(product.getId(), loader);
+        var second = quoteCache.getSnapshot(product.getId(), loader);
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void getSnapshot_AfterProductChanged_ShouldReload() {
+        var quoteCache = new QuoteCache(properties);
+        quoteCache.getSnapshot(product.getId(), loader);
+
+        quoteCache.onProductChanged(new ProductChangedEvent(product.getId()));
+        var snapshot = quoteCache.getSnapshot(product.getId(), loader);
+
+        assertEquals(2, loads.get());
+        assertEquals(1, snapshot.getProductVersion());
+    }
+
+    @Test
+    void getSnapshot_AfterDiscountPolicyChanged_ShouldReload() {
+        var quoteCache = new QuoteCache(properties);
+        quoteCache.getSnapshot(product.getId(), loader);
+
+        quoteCache.onDiscountPolicyChanged(new DiscountPolicyChangedEvent(UUID.randomUUID(), List.of()));
+        var snapshot = quoteCache.getSnapshot(product.getId(), loader);
+
+        assertEquals(2, loads.get());
+        assertEquals(1, snapshot.getPolicyVersion());
+    }
+
+    @Test
+    void getSnapshot_ChangedDuringLoadAndVersionEvicted_ShouldReload() {
+        properties.getCache().setMaximumProducts(1);
+        var quoteCache = new QuoteCache(properties);
+        quoteCache.getSnapshot(product.getId(), id -> {
+            loads.incrementAndGet();
+            quoteCache.onProductChanged(new ProductChangedEvent(id));
+            for (int i = 0; i < 10; i++) {
+                quoteCache.onProductChanged(new ProductChangedEvent(UUID.randomUUID()));
+            }
+            return product;
+        });
+
+        var snapshot = quoteCache.getSnapshot(product.getId(), loader);
+
+        assertEquals(2, loads.get());
+        assertTrue(snapshot.getProductVersion() >= 1);
+    }
+
+    @Test
+    void getSnapshots_ShouldLoadOnlyMissingProducts() {
+        var quoteCache = new QuoteCache(properties);
+        var other = ProductModel.builder()
+                .id(UUID.randomUUID())
+                .name("Other")
+                .price(new BigDecimal("5.00"))
+                .discountPolicies(List.of())
+                .build();
+        quoteCache.getSnapshot(product.getId(), loader);
+
+        var snapshots = quoteCache.getSnapshots(Set.of(product.getId(), other.getId()), ids -> {
+            assertEquals(Set.of(other.getId()), Set.copyOf(ids));
+            return List.of(other);
+        });
+
+        assertEquals(2, snapshots.size());
+        assertSame(product, snapshots.get(product.getId()).getProduct());
+        assertSame(other, snapshots.get(other.getId()).getProduct());
+    }
+
+    @Test
+    void getTierQuote_ShouldShareQuoteWithinTier() {
+        var quoteCache = new QuoteCache(properties);
+        var snapshot = quoteCache.getSnapshot(product.getId(), loader);
+
+        var belowThreshold = quoteCache.getTierQuote(snapshot, 4);
+        var atThreshold = quoteCache.getTierQuote(snapshot, 5);
+        var aboveThreshold = quoteCache.getTierQuote(snapshot, 500);
+
+        assertTrue(belowThreshold.getPolicies().isEmpty());
+        assertEquals(1, atThreshold.getPolicies().size());
+        assertSame(atThreshold, aboveThreshold);
+    }
+
+    @Test
+    void getSnapshot_WhenDisabled_ShouldAlwaysLoad() {
+        properties.getCache().setEnabled(false);
+        var quoteCache = new QuoteCache(properties);
+
+        quoteCache.getSnapshot(product.getId(), loader);
+        quoteCache.getSnapshot(product.getId(), loader);
+
+        assertEquals(2, loads.get());
+    }
+}
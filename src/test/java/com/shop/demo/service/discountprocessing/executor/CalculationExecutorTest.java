@@ -0,0 +1,213 @@
+package com.shop.demo.service.discountprocessing.executor;
+
+import com.shop.demo.service.discountprocessing.config.DiscountProcessingProperties;
+import com.shop.demo.service.discountprocessing.exception.CalculationRejectedException;
+import com.shop.demo.service.discountprocessing.exception.CalculationTimeoutException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CalculationExecutorTest {
+
+    private CalculationExecutor calculationExecutor;
+    private SimpleMeterRegistry meterRegistry;
+    private CountDownLatch release;
+
+    @BeforeEach
+    void setUp() {
+        var properties = new DiscountProcessingProperties();
+        properties.getAsync().setThreads(1);
+        properties.getAsync().setQueueCapacity(1);
+        properties.getAsync().setTimeout(Duration.ofMillis(200));
+        meterRegistry = new SimpleMeterRegistry();
+        calculationExecutor = new CalculationExecutor(properties, meterRegistry);
+        release = new CountDownLatch(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        calculationExecutor.shutdown();
+    }
+
+    @Test
+    void submit_ShouldCompleteWithCalculationResult() {
+        assertEquals(42, calculationExecutor.submit(() -> 42).join());
+    }
+
+    @Test
+    void submit_WhenPoolAndQueueAreFull_ShouldRejectImmediately() {
+        calculationExecutor.submit(this::blockUntilReleased);
+        calculationExecutor.submit(this::blockUntilReleased);
+
+        var exception = assertThrows(CompletionException.class,
+                () -> calculationExecutor.submit(() -> 42).join());
+        assertInstanceOf(CalculationRejectedException.class, exception.getCause());
+    }
+
+    @Test
+    void submit_WhenCalculationIsTooSlow_ShouldTimeOutAndInterruptIt() throws InterruptedException {
+        var interrupted = new CountDownLatch(1);
+
+        var future = calculationExecutor.submit(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return 42;
+        });
+
+        var exception = assertThrows(CompletionException.class, future::join);
+        assertInstanceOf(CalculationTimeoutException.class, exception.getCause());
+        assertTrue(interrupted.await(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void cancel_ShouldInterruptRunningCalculation() throws InterruptedException {
+        var started = new CountDownLatch(1);
+        var interrupted = new CountDownLatch(1);
+
+        var future = calculationExecutor.submit(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return 42;
+        });
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+
+        future.cancel(true);
+
+        assertTrue(interrupted.await(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void submit_WhenTimedOutCalculationIgnoresInterrupt_ShouldCallOnExitOnlyOnceItReturns() throws Exception {
+        var exits = new LinkedBlockingQueue<Optional<Throwable>>();
+
+        var future = calculationExecutor.submit(() -> {
+            awaitUninterruptibly(release);
+            return 42;
+        }, failure -> exits.add(Optional.ofNullable(failure)));
+
+        assertThrows(CompletionException.class, future::join);
+        assertNull(exits.poll(100, TimeUnit.MILLISECONDS));
+
+        release.countDown();
+        var failure = exits.poll(1, TimeUnit.SECONDS);
+        assertNotNull(failure);
+        assertInstanceOf(CalculationTimeoutException.class, failure.orElseThrow());
+        assertNull(exits.poll(100, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void submit_WhenQueuedCalculationIsCancelled_ShouldCallOnExitWithoutRunningIt() throws Exception {
+        var exits = new LinkedBlockingQueue<Optional<Throwable>>();
+        var ran = new AtomicBoolean();
+        calculationExecutor.submit(this::blockUntilReleased);
+
+        var queued = calculationExecutor.submit(() -> ran.getAndSet(true),
+                failure -> exits.add(Optional.ofNullable(failure)));
+        queued.cancel(true);
+        release.countDown();
+
+        var failure = exits.poll(1, TimeUnit.SECONDS);
+        assertNotNull(failure);
+        assertInstanceOf(CancellationException.class, failure.orElseThrow());
+        assertNull(exits.poll(100, TimeUnit.MILLISECONDS));
+        assertFalse(ran.get());
+    }
+
+    @Test
+    void submit_WhenRejected_ShouldCallOnExitWithRejection() {
+        var exits = new LinkedBlockingQueue<Optional<Throwable>>();
+        calculationExecutor.submit(this::blockUntilReleased);
+        calculationExecutor.submit(this::blockUntilReleased);
+
+        calculationExecutor.submit(() -> 42, failure -> exits.add(Optional.ofNullable(failure)));
+
+        assertInstanceOf(CalculationRejectedException.class, exits.remove().orElseThrow());
+    }
+
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    void submit_WithVirtualThreads_ShouldRunUpToThreadsPlusQueueCapacityAtOnce() throws InterruptedException {
+        var properties = new DiscountProcessingProperties();
+        properties.getAsync().setThreads(1);
+        properties.getAsync().setQueueCapacity(1);
+        properties.getAsync().setVirtualThreads(true);
+        var virtualExecutor = new CalculationExecutor(properties, new SimpleMeterRegistry());
+        var started = new CountDownLatch(2);
+
+        try {
+            for (int i = 0; i < 2; i++) {
+                virtualExecutor.submit(() -> {
+                    started.countDown();
+                    return blockUntilReleased();
+                });
+            }
+
+            assertTrue(started.await(1, TimeUnit.SECONDS));
+            var exception = assertThrows(CompletionException.class, () -> virtualExecutor.submit(() -> 42).join());
+            assertInstanceOf(CalculationRejectedException.class, exception.getCause());
+        } finally {
+            virtualExecutor.shutdown();
+        }
+    }
+
+    @Test
+    void constructor_ShouldRegisterExecutorMetrics() {
+        calculationExecutor.submit(() -> 42).join();
+
+        assertEquals(1, meterRegistry.get("executor.pool.core")
+                .tag("name", CalculationExecutor.METRIC_NAME)
+                .gauge().value());
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        var interrupted = false;
+        while (true) {
+            try {
+                latch.await();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Integer blockUntilReleased() {
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return 0;
+    }
+}
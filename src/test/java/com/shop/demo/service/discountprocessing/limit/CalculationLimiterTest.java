@@ -0,0 +1,185 @@
+package com.shop.demo.service.discountprocessing.limit;
+
+import com.shop.demo.service.discountprocessing.config.DiscountProcessingProperties;
+import com.shop.demo.service.discountprocessing.exception.CalculationLimitExceededException;
+import com.shop.demo.service.discountprocessing.exception.CalculationTimeoutException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CalculationLimiterTest {
+    private static final long TICK = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final int CAPACITY = 20;
+    private static final int BASE_LATENCY = 10;
+    private static final int TIMEOUT = 10 * BASE_LATENCY;
+
+    private DiscountProcessingProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private long now;
+
+    @BeforeEach
+    void setUp() {
+        properties = new DiscountProcessingProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        now = 0;
+    }
+
+    @Test
+    void acquire_BeyondLimit_ShouldRejectWithRetryAfter() {
+        properties.getLimiter().setInitialLimit(2);
+        var limiter = new CalculationLimiter(properties, meterRegistry, () -> now);
+        limiter.acquire();
+        limiter.acquire();
+
+        var exception = assertThrows(CalculationLimitExceededException.class, limiter::acquire);
+
+        assertEquals("1", exception.getErrorHeaders().getFirst("Retry-After"));
+        assertEquals(1, meterRegistry.get("concurrency.rejections").counter().count());
+        assertEquals(2, meterRegistry.get("concurrency.in.flight").gauge().value());
+        assertEquals(2, meterRegistry.get("concurrency.limit").gauge().value());
+    }
+
+    @Test
+    void acquire_WhenDisabled_ShouldNeverReject() {
+        properties.getLimiter().setEnabled(false);
+        properties.getLimiter().setInitialLimit(2);
+        var limiter = new CalculationLimiter(properties, meterRegistry, () -> now);
+
+        for (int i = 0; i < 10; i++) {
+            limiter.acquire();
+        }
+
+        assertEquals(10, limiter.getInFlight());
+    }
+
+    @Test
+    void release_AfterTimeout_ShouldBackOffMultiplicatively() {
+        properties.getLimiter().setInitialLimit(100);
+        var limiter = new CalculationLimiter(properties, meterRegistry, () -> now);
+
+        limiter.acquire().release(new CalculationTimeoutException("timed out"));
+
+        assertEquals(90, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void release_Twice_ShouldCountOnce() {
+        var limiter = new CalculationLimiter(properties, meterRegistry, () -> now);
+        var permit = limiter.acquire();
+        limiter.acquire();
+
+        permit.release(new CancellationException());
+        permit.release(null);
+
+        assertEquals(1, limiter.getInFlight());
+    }
+
+    @Test
+    void release_WithStableLatencyUnderFullLoad_ShouldGrowLimit() {
+        properties.getLimiter().setInitialLimit(10);
+        var limiter = new CalculationLimiter(properties, meterRegistry, () -> now);
+
+        for (int round = 0; round < 50; round++) {
+            var permits = new ArrayList<CalculationLimiter.Permit>();
+            while (limiter.getInFlight() < limiter.getLimit()) {
+                permits.add(limiter.acquire());
+            }
+            now += 10 * TICK;
+            permits.forEach(permit -> permit.release(null));
+        }
+
+        assertTrue(limiter.getLimit() > 10, "limit=" + limiter.getLimit());
+    }
+
+    /**
+     * Simulates a database that serves {@code capacity} calculations in parallel within {@code baseLatency} ticks and
+     * is shared between everything beyond that, so latency grows with concurrency. Calculations still running at the
+     * timeout are cancelled and their work is lost. Offered five times the capacity, the limiter has to keep the
+     * goodput, calculations finished within the timeout, near capacity.
+     */
+    @Test
+    void limiter_UnderFiveTimesOverload_ShouldKeepGoodputNearCapacity() {
+        var result = simulate(new CalculationLimiter(properties, meterRegistry, () -> now));
+
+        assertTrue(result.rejected > 0);
+        assertTrue(result.goodput >= 0.9 * CAPACITY / BASE_LATENCY, "goodput=" + result.goodput);
+        assertTrue(result.meanLatency <= 3 * BASE_LATENCY, "latency=" + result.meanLatency);
+    }
+
+    @Test
+    void simulation_WithoutLimiter_ShouldCollapseUnderFiveTimesOverload() {
+        properties.getLimiter().setEnabled(false);
+
+        var result = simulate(new CalculationLimiter(properties, meterRegistry, () -> now));
+
+        assertTrue(result.goodput < 0.1 * CAPACITY / BASE_LATENCY, "goodput=" + result.goodput);
+    }
+
+    private SimulationResult simulate(CalculationLimiter limiter) {
+        final int arrivalsPerTick = 5 * CAPACITY / BASE_LATENCY;
+        final int ticks = 20_000;
+
+        var running = new ArrayList<Calculation>();
+        var result = new SimulationResult();
+        long latencyTicks = 0;
+        long completed = 0;
+        for (int tick = 0; tick < ticks; tick++) {
+            now += TICK;
+            for (int i = 0; i < arrivalsPerTick; i++) {
+                try {
+                    running.add(new Calculation(limiter.acquire(), tick, BASE_LATENCY));
+                } catch (CalculationLimitExceededException e) {
+                    result.rejected++;
+                }
+            }
+
+            var share = Math.min(1.0, (double) CAPACITY / running.size());
+            var iterator = running.iterator();
+            while (iterator.hasNext()) {
+                var calculation = iterator.next();
+                calculation.remainingWork -= share;
+                var latency = tick - calculation.startTick + 1;
+                if (calculation.remainingWork <= 1e-9) {
+                    iterator.remove();
+                    calculation.permit.release(null);
+                    if (tick >= ticks / 2) {
+                        completed++;
+                        latencyTicks += latency;
+                    }
+                } else if (latency >= TIMEOUT) {
+                    iterator.remove();
+                    calculation.permit.release(new CalculationTimeoutException("timed out"));
+                }
+            }
+        }
+
+        result.goodput = (double) completed / (ticks / 2);
+        result.meanLatency = completed == 0 ? Double.POSITIVE_INFINITY : (double) latencyTicks / completed;
+        return result;
+    }
+
+    private static class SimulationResult {
+        private long rejected;
+        private double goodput;
+        private double meanLatency;
+    }
+
+    private static class Calculation {
+        private final CalculationLimiter.Permit permit;
+        private final int startTick;
+        private double remainingWork;
+
+        private Calculation(CalculationLimiter.Permit permit, int startTick, double work) {
+            this.permit = permit;
+            this.startTick = startTick;
+            this.remainingWork = work;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.shop.demo.service.pagination;
+
+import com.shop.demo.service.pagination.exception.InvalidCursorException;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeysetCursorTest {
+
+    @Test
+    void decode_OfEncodedId_ShouldReturnSameId() {
+        var id = UUID.randomUUID();
+
+        var cursor = KeysetCursor.encode(id);
+
+        assertEquals(22, cursor.length());
+        assertEquals(id, KeysetCursor.decode(cursor));
+    }
+
+    @Test
+    void decode_WithMalformedCursor_ShouldThrowException() {
+        assertThrows(InvalidCursorException.class, () -> KeysetCursor.decode("not a cursor!"));
+    }
+
+    @Test
+    void decode_WithWrongLength_ShouldThrowException() {
+        assertThrows(InvalidCursorException.class, () -> KeysetCursor.decode("AAAA"));
+    }
+}
@@ -0,0 +1,85 @@
+package com.shop.demo.service.product;
+
+import com.shop.demo.persistence.discountpolicy.entity.DiscountPolicyEntity;
+import com.shop.demo.persistence.discountpolicy.entity.DiscountType;
+import com.shop.demo.persistence.discountpolicy.repository.DiscountPolicyRepository;
+import com.shop.demo.persistence.product.entity.ProductEntity;
+import com.shop.demo.persistence.product.repository.ProductRepository;
+import com.shop.demo.service.product.excpetion.ProductAlreadyContainsPolicyException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class ProductBulkDiscountPolicyTest {
+    private static final int PRODUCT_COUNT = 1_500;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private DiscountPolicyRepository discountPolicyRepository;
+
+    private List<UUID> productIds;
+    private DiscountPolicyEntity policy;
+
+    @BeforeEach
+    void setUp() {
+        var products = new ArrayList<ProductEntity>();
+        for (int i = 0; i < PRODUCT_COUNT; i++) {
+            var product = new ProductEntity();
+            product.setName("Product " + i);
+            product.setPrice(new BigDecimal("10.00"));
+            products.add(product);
+        }
+        productIds = productRepository.saveAll(products).stream().map(ProductEntity::getId).toList();
+        policy = discountPolicy();
+    }
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAll();
+        discountPolicyRepository.deleteAll();
+    }
+
+    @Test
+    void addAndRemoveDiscountPolicy_ShouldUpdateEveryProduct() {
+        assertEquals(PRODUCT_COUNT, productService.addDiscountPolicyToProducts(policy.getId(), productIds));
+        assertTrue(productService.getProducts(productIds).stream()
+                .allMatch(product -> product.getDiscountPolicies().size() == 1));
+
+        assertEquals(PRODUCT_COUNT, productService.removeDiscountPolicyFromProducts(policy.getId(), productIds));
+        assertTrue(productService.getProducts(productIds).stream()
+                .allMatch(product -> product.getDiscountPolicies().isEmpty()));
+    }
+
+    @Test
+    void addDiscountPolicy_WhenAnyProductHasSamePolicy_ShouldChangeNothing() {
+        productService.addDiscountPolicy(productIds.get(PRODUCT_COUNT - 1), policy.getId());
+
+        assertThrows(ProductAlreadyContainsPolicyException.class, () ->
+                productService.addDiscountPolicyToProducts(policy.getId(), productIds));
+        assertTrue(productService.getProducts(productIds.subList(0, PRODUCT_COUNT - 1)).stream()
+                .allMatch(product -> product.getDiscountPolicies().isEmpty()));
+    }
+
+    private DiscountPolicyEntity discountPolicy() {
+        var entity = new DiscountPolicyEntity();
+        entity.setType(DiscountType.PERCENTAGE);
+        entity.setThreshold(10);
+        entity.setDiscountValue(new BigDecimal("5.00"));
+        return discountPolicyRepository.save(entity);
+    }
+}
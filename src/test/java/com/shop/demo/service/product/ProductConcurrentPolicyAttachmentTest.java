@@ -0,0 +1,138 @@
+package com.shop.demo.service.product;
+
+import com.shop.demo.persistence.discountpolicy.entity.DiscountPolicyEntity;
+import com.shop.demo.persistence.discountpolicy.entity.DiscountType;
+import com.shop.demo.persistence.discountpolicy.repository.DiscountPolicyRepository;
+import com.shop.demo.persistence.product.entity.ProductEntity;
+import com.shop.demo.persistence.product.repository.ProductRepository;
+import com.shop.demo.service.product.excpetion.ProductAlreadyContainsPolicyException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "shop.conflict-retry.max-attempts=20")
+class ProductConcurrentPolicyAttachmentTest {
+    private static final int THREADS = 8;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private DiscountPolicyRepository discountPolicyRepository;
+
+    private ExecutorService executor;
+    private UUID productId;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(THREADS);
+
+        var product = new ProductEntity();
+        product.setName("Product");
+        product.setPrice(new BigDecimal("10.00"));
+        productId = productRepository.save(product).getId();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+        productRepository.deleteAll();
+        discountPolicyRepository.deleteAll();
+    }
+
+    @Test
+    void addDiscountPolicy_WithDifferentPoliciesConcurrently_ShouldAttachAll() throws Exception {
+        var policyIds = new ArrayList<UUID>();
+        for (int i = 0; i < THREADS; i++) {
+            policyIds.add(discountPolicy(i + 1));
+        }
+
+        var outcomes = runConcurrently(i -> productService.addDiscountPolicy(productId, policyIds.get(i)));
+
+        outcomes.forEach(outcome -> assertNull(outcome, () -> "Unexpected failure: " + outcome));
+        assertEquals(THREADS, productService.getProducts(List.of(productId)).get(0).getDiscountPolicies().size());
+    }
+
+    @Test
+    void addDiscountPolicy_WithSamePolicyConcurrently_ShouldAttachOnce() throws Exception {
+        var policyId = discountPolicy(5);
+
+        var outcomes = runConcurrently(i -> productService.addDiscountPolicy(productId, policyId));
+
+        assertOneSucceeded(outcomes);
+        assertEquals(1, productService.getProducts(List.of(productId)).get(0).getDiscountPolicies().size());
+    }
+
+    @Test
+    void addDiscountPolicyToProducts_ConcurrentlyWithSingleAttach_ShouldAttachOnlyOne() throws Exception {
+        var policyId = discountPolicy(5);
+
+        var outcomes = runConcurrently(i -> i % 2 == 0
+                ? productService.addDiscountPolicyToProducts(policyId, List.of(productId))
+                : productService.addDiscountPolicy(productId, policyId));
+
+        assertTrue(outcomes.stream().anyMatch(outcome -> outcome == null));
+        assertEquals(1, productService.getProducts(List.of(productId)).get(0).getDiscountPolicies().size());
+    }
+
+    /**
+     * Starts all calls at once and returns, per call, {@code null} on success or the thrown exception.
+     */
+    private List<Throwable> runConcurrently(IntFunction<Object> call) throws Exception {
+        var start = new CountDownLatch(1);
+        var futures = new ArrayList<Future<Throwable>>();
+        for (int i = 0; i < THREADS; i++) {
+            var index = i;
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    call.apply(index);
+                    return null;
+                } catch (RuntimeException e) {
+                    return e;
+                }
+            }));
+        }
+
+        start.countDown();
+        var outcomes = new ArrayList<Throwable>();
+        for (Future<Throwable> future : futures) {
+            outcomes.add(future.get(30, TimeUnit.SECONDS));
+        }
+        return outcomes;
+    }
+
+    private void assertOneSucceeded(List<Throwable> outcomes) {
+        assertEquals(1, outcomes.stream().filter(outcome -> outcome == null).count());
+        outcomes.stream()
+                .filter(outcome -> outcome != null)
+                .forEach(outcome -> assertInstanceOf(ProductAlreadyContainsPolicyException.class, outcome));
+    }
+
+    private UUID discountPolicy(int threshold) {
+        var entity = new DiscountPolicyEntity();
+        entity.setType(DiscountType.PERCENTAGE);
+        entity.setThreshold(threshold);
+        entity.setDiscountValue(new BigDecimal("5.00"));
+        return discountPolicyRepository.save(entity).getId();
+    }
+}
@@ -0,0 +1,103 @@
+package com.shop.demo.service.product;
+
+import com.shop.demo.persistence.discountpolicy.entity.DiscountPolicyEntity;
+import com.shop.demo.persistence.discountpolicy.entity.DiscountType;
+import com.shop.demo.persistence.discountpolicy.repository.DiscountPolicyRepository;
+import com.shop.demo.persistence.product.entity.ProductEntity;
+import com.shop.demo.persistence.product.repository.ProductRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ProductListingStatementCountTest {
+    private static final int PRODUCT_COUNT = 60;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private DiscountPolicyRepository discountPolicyRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        var percentage = discountPolicy(DiscountType.PERCENTAGE, 5, "10.00");
+        var amount = discountPolicy(DiscountType.AMOUNT, 10, "2.00");
+        for (int i = 0; i < PRODUCT_COUNT; i++) {
+            var product = new ProductEntity();
+            product.setName("Product " + i);
+            product.setPrice(new BigDecimal("10.00"));
+            product.setDiscountPolicies(new HashSet<>(Set.of(percentage, amount)));
+            productRepository.save(product);
+        }
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAll();
+        discountPolicyRepository.deleteAll();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 50})
+    void getAllProducts_ShouldUseTwoStatementsWhateverThePageSize(int pageSize) {
+        statistics.clear();
+
+        var products = productService.getAllProducts(PageRequest.of(0, pageSize));
+
+        assertEquals(pageSize, products.size());
+        assertTrue(products.stream().allMatch(product -> product.getDiscountPolicies().size() == 2));
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void scrollProducts_ShouldVisitEveryProductOnceWithTwoStatementsPerPage() {
+        var seen = new ArrayList<UUID>();
+        String cursor = null;
+        do {
+            statistics.clear();
+            var page = productService.scrollProducts(cursor, 7);
+            assertEquals(2, statistics.getPrepareStatementCount());
+            page.getItems().forEach(product -> seen.add(product.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(PRODUCT_COUNT, seen.size());
+        assertEquals(PRODUCT_COUNT, new HashSet<>(seen).size());
+    }
+
+    private DiscountPolicyEntity discountPolicy(DiscountType type, int threshold, String value) {
+        var discountPolicy = new DiscountPolicyEntity();
+        discountPolicy.setType(type);
+        discountPolicy.setThreshold(threshold);
+        discountPolicy.setDiscountValue(new BigDecimal(value));
+        return discountPolicyRepository.save(discountPolicy);
+    }
+}
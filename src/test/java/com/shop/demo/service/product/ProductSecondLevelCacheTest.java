@@ -0,0 +1,165 @@
+package com.shop.demo.service.product;
+
+import com.shop.demo.persistence.discountpolicy.entity.DiscountPolicyEntity;
+import com.shop.demo.persistence.discountpolicy.entity.DiscountType;
+import com.shop.demo.persistence.discountpolicy.repository.DiscountPolicyRepository;
+import com.shop.demo.persistence.product.entity.ProductEntity;
+import com.shop.demo.persistence.product.repository.ProductRepository;
+import com.shop.demo.service.discountpolicy.DiscountPolicyService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ProductSecondLevelCacheTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private DiscountPolicyRepository discountPolicyRepository;
+
+    @Autowired
+    private DiscountPolicyService discountPolicyService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Statistics statistics;
+    private UUID productId;
+    private UUID policyId;
+
+    @BeforeEach
+    void setUp() {
+        var policy = new DiscountPolicyEntity();
+        policy.setType(DiscountType.PERCENTAGE);
+        policy.setThreshold(5);
+        policy.setDiscountValue(new BigDecimal("10.00"));
+        policy = discountPolicyRepository.save(policy);
+        policyId = policy.getId();
+
+        var product = new ProductEntity();
+        product.setName("Product");
+        product.setPrice(new BigDecimal("10.00"));
+        product.setDiscountPolicies(new HashSet<>(Set.of(policy)));
+        productId = productRepository.save(product).getId();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAll();
+        discountPolicyRepository.deleteAll();
+    }
+
+    @Test
+    void getDiscountPolicy_ShouldBeServedFromSecondLevelCache() {
+        discountPolicyService.getDiscountPolicy(policyId);
+        statistics.clear();
+
+        var policy = discountPolicyService.getDiscountPolicy(policyId);
+
+        assertEquals(policyId, policy.getId());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getDomainDataRegionStatistics(DiscountPolicyEntity.CACHE_REGION).getHitCount());
+    }
+
+    @Test
+    void productDiscountPolicies_ShouldBeServedFromSecondLevelCache() {
+        assertEquals(Set.of(policyId), loadPolicyIds());
+        statistics.clear();
+
+        assertEquals(Set.of(policyId), loadPolicyIds());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics
+                .getDomainDataRegionStatistics(ProductEntity.DISCOUNT_POLICIES_CACHE_REGION)
+                .getHitCount());
+    }
+
+    @Test
+    void deleteDiscountPolicy_ShouldEvictCachedProductDiscountPolicies() {
+        assertEquals(Set.of(policyId), loadPolicyIds());
+
+        discountPolicyService.deleteDiscountPolicy(policyId);
+
+        assertEquals(Set.of(), loadPolicyIds());
+        assertFalse(discountPolicyRepository.existsById(policyId));
+    }
+
+    @Test
+    void deleteDiscountPolicy_ShouldEvictLinkedProductFromProductCache() {
+        assertEquals(1, productService.getProduct(productId).getDiscountPolicies().size());
+
+        discountPolicyService.deleteDiscountPolicy(policyId);
+
+        assertTrue(productService.getProduct(productId).getDiscountPolicies().isEmpty());
+    }
+
+    @Test
+    void removeDiscountPolicyLinks_ShouldEvictCachedProductDiscountPolicies() {
+        assertEquals(Set.of(policyId), loadPolicyIds());
+
+        transactionTemplate.executeWithoutResult(status ->
+                productRepository.deleteDiscountPolicyLinks(policyId, Set.of(productId)));
+
+        assertEquals(Set.of(), loadPolicyIds());
+    }
+
+    @Test
+    void addDiscountPolicyLinks_ShouldEvictCachedProductDiscountPolicies() {
+        transactionTemplate.executeWithoutResult(status ->
+                productRepository.deleteDiscountPolicyLinks(policyId, Set.of(productId)));
+        assertEquals(Set.of(), loadPolicyIds());
+
+        transactionTemplate.executeWithoutResult(status ->
+                productRepository.insertDiscountPolicyLinks(policyId, Set.of(productId)));
+
+        assertEquals(Set.of(policyId), loadPolicyIds());
+    }
+
+    @Test
+    void secondLevelCacheRegions_ShouldBePublishedAsMetrics() {
+        discountPolicyService.getDiscountPolicy(policyId);
+
+        var hits = meterRegistry.find("hibernate.second.level.cache.requests")
+                .tag("region", DiscountPolicyEntity.CACHE_REGION)
+                .tag("result", "hit")
+                .functionCounter();
+
+        assertNotNull(hits);
+        assertTrue(hits.count() >= 1);
+    }
+
+    private Set<UUID> loadPolicyIds() {
+        return transactionTemplate.execute(status -> productRepository.findById(productId).orElseThrow()
+                .getDiscountPolicies().stream()
+                .map(DiscountPolicyEntity::getId)
+                .collect(Collectors.toSet()));
+    }
+}
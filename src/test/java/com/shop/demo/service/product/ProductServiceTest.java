@@ -6,24 +6,54 @@ import com.shop.demo.persistence.discountpolicy.repository.DiscountPolicyReposit
 import com.shop.demo.persistence.product.entity.ProductEntity;
 import com.shop.demo.persistence.product.repository.ProductRepository;
 import com.shop.demo.service.discountpolicy.exception.DiscountPolicyNotFoundException;
+import com.shop.demo.service.concurrency.ConflictRetryTemplate;
+import com.shop.demo.service.concurrency.config.ConflictRetryProperties;
+import com.shop.demo.service.concurrency.exception.ConcurrentUpdateException;
+import com.shop.demo.service.pagination.KeysetCursor;
+import com.shop.demo.service.pagination.KeysetPage;
+import com.shop.demo.service.pagination.exception.InvalidCursorException;
+import com.shop.demo.service.product.cache.ProductCache;
+import com.shop.demo.service.product.config.ProductCacheProperties;
+import com.shop.demo.service.product.event.ProductChangedEvent;
 import com.shop.demo.service.product.excpetion.ProductAlreadyContainsPolicyException;
 import com.shop.demo.service.product.excpetion.ProductNotFoundException;
 import com.shop.demo.service.product.mapper.ProductMapper;
 import com.shop.demo.service.product.model.ProductModel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -38,6 +68,17 @@ class ProductServiceTest {
     @Mock
     private ProductMapper productMapper;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ProductCache productCache;
+    private ConflictRetryProperties retryProperties;
     private ProductService productService;
 
     private UUID validProductId;
@@ -48,7 +89,14 @@ class ProductServiceTest {
 
     @BeforeEach
     void setUp() {
-        productService = new ProductServiceImpl(productRepository, productMapper, discountPolicyRepository);
+        productCache = new ProductCache(new ProductCacheProperties(), new SimpleMeterRegistry());
+        retryProperties = new ConflictRetryProperties();
+        retryProperties.setBackoff(Duration.ZERO);
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        productService = new ProductServiceImpl(productRepository, productMapper, discountPolicyRepository,
+                eventPublisher, productCache, new ConflictRetryTemplate(transactionTemplate, retryProperties),
+                transactionManager);
 
         validProductId = UUID.randomUUID();
         validPolicyId = UUID.randomUUID();
@@ -88,7 +136,7 @@ class ProductServiceTest {
 
     @Test
     void getProduct_WithExistingId_ShouldReturnProduct() {
-        when(productRepository.findById(validProductId)).thenReturn(Optional.of(validProductEntity));
+        when(productRepository.findWithDiscountPoliciesById(validProductId)).thenReturn(Optional.of(validProductEntity));
         when(productMapper.entityToModel(validProductEntity)).thenReturn(validProductModel);
 
         ProductModel result = productService.getProduct(validProductId);
@@ -101,27 +149,98 @@ class ProductServiceTest {
 
     @Test
     void getProduct_WithNonExistentId_ShouldThrowException() {
-        when(productRepository.findById(validProductId)).thenReturn(Optional.empty());
+        when(productRepository.findWithDiscountPoliciesById(validProductId)).thenReturn(Optional.empty());
 
         assertThrows(ProductNotFoundException.class, () ->
                 productService.getProduct(validProductId));
     }
 
+    @Test
+    void getProduct_CalledRepeatedly_ShouldLoadOnceUntilProductChanges() {
+        when(productRepository.findWithDiscountPoliciesById(validProductId)).thenReturn(Optional.of(validProductEntity));
+        when(productMapper.entityToModel(validProductEntity)).thenReturn(validProductModel);
+
+        productService.getProduct(validProductId);
+        productService.getProduct(validProductId);
+        productCache.onProductChanged(new ProductChangedEvent(validProductId));
+        productService.getProduct(validProductId);
+
+        verify(productRepository, times(2)).findWithDiscountPoliciesById(validProductId);
+        verify(transactionManager, times(2)).getTransaction(argThat(TransactionDefinition::isReadOnly));
+    }
+
+    @Test
+    void getProduct_WithConcurrentMisses_ShouldQueryOncePerBurst() throws Exception {
+        var release = new CountDownLatch(1);
+        when(productRepository.findWithDiscountPoliciesById(validProductId)).thenAnswer(invocation -> {
+            release.await();
+            return Optional.of(validProductEntity);
+        });
+        when(productMapper.entityToModel(validProductEntity)).thenReturn(validProductModel);
+
+        var results = burst(50, () -> productService.getProduct(validProductId), release);
+
+        verify(productRepository, times(1)).findWithDiscountPoliciesById(validProductId);
+        results.forEach(result -> assertSame(validProductModel, result));
+    }
+
+    @Test
+    void getProduct_WithConcurrentMissesForMissingProduct_ShouldQueryOncePerBurst() throws Exception {
+        var release = new CountDownLatch(1);
+        when(productRepository.findWithDiscountPoliciesById(validProductId)).thenAnswer(invocation -> {
+            release.await();
+            return Optional.empty();
+        });
+
+        var results = burst(50, () -> {
+            try {
+                return productService.getProduct(validProductId);
+            } catch (ProductNotFoundException e) {
+                return e;
+            }
+        }, release);
+
+        verify(productRepository, times(1)).findWithDiscountPoliciesById(validProductId);
+        results.forEach(result -> assertInstanceOf(ProductNotFoundException.class, result));
+    }
+
+    @Test
+    void getProduct_WithConcurrentMissesAndCacheDisabled_ShouldQueryOncePerBurst() throws Exception {
+        var properties = new ProductCacheProperties();
+        properties.setEnabled(false);
+        productService = new ProductServiceImpl(productRepository, productMapper, discountPolicyRepository,
+                eventPublisher, new ProductCache(properties, new SimpleMeterRegistry()),
+                new ConflictRetryTemplate(transactionTemplate, retryProperties), transactionManager);
+        var release = new CountDownLatch(1);
+        when(productRepository.findWithDiscountPoliciesById(validProductId)).thenAnswer(invocation -> {
+            release.await();
+            return Optional.of(validProductEntity);
+        });
+        when(productMapper.entityToModel(validProductEntity)).thenReturn(validProductModel);
+
+        var results = burst(50, () -> productService.getProduct(validProductId), release);
+        productService.getProduct(validProductId);
+
+        verify(productRepository, times(2)).findWithDiscountPoliciesById(validProductId);
+        results.forEach(result -> assertSame(validProductModel, result));
+    }
+
     @Test
     void getAllProducts_WithEmptyRepository_ShouldReturnEmptyList() {
-        Page<ProductEntity> emptyPage = new PageImpl<>(List.of());
-        when(productRepository.findAll(any(PageRequest.class))).thenReturn(emptyPage);
+        when(productRepository.findIdsBy(any(Pageable.class))).thenReturn(new SliceImpl<>(List.of()));
 
         List<ProductModel> result = productService.getAllProducts(PageRequest.of(0, 10));
 
         assertNotNull(result);
         assertTrue(result.isEmpty());
+        verify(productRepository, never()).findAllWithDiscountPoliciesByIdIn(any());
     }
 
     @Test
     void getAllProducts_WithOneProduct_ShouldReturnListWithOneElement() {
-        Page<ProductEntity> page = new PageImpl<>(List.of(validProductEntity));
-        when(productRepository.findAll(any(PageRequest.class))).thenReturn(page);
+        when(productRepository.findIdsBy(any(Pageable.class))).thenReturn(new SliceImpl<>(List.of(validProductId)));
+        when(productRepository.findAllWithDiscountPoliciesByIdIn(List.of(validProductId)))
+                .thenReturn(List.of(validProductEntity));
         when(productMapper.entityToModel(validProductEntity)).thenReturn(validProductModel);
 
         List<ProductModel> result = productService.getAllProducts(PageRequest.of(0, 10));
@@ -132,7 +251,7 @@ class ProductServiceTest {
     }
 
     @Test
-    void getAllProducts_WithMultipleProducts_ShouldReturnAllProducts() {
+    void getAllProducts_WithMultipleProducts_ShouldKeepPageOrder() {
         ProductEntity secondEntity = new ProductEntity();
         secondEntity.setId(UUID.randomUUID());
         secondEntity.setName("Second Product");
@@ -146,62 +265,133 @@ class ProductServiceTest {
                 .discountPolicies(List.of())
                 .build();
 
-        Page<ProductEntity> page = new PageImpl<>(List.of(validProductEntity, secondEntity));
-        when(productRepository.findAll(any(PageRequest.class))).thenReturn(page);
+        var ids = List.of(secondEntity.getId(), validProductId);
+        when(productRepository.findIdsBy(any(Pageable.class))).thenReturn(new SliceImpl<>(ids));
+        when(productRepository.findAllWithDiscountPoliciesByIdIn(ids))
+                .thenReturn(List.of(validProductEntity, secondEntity));
         when(productMapper.entityToModel(validProductEntity)).thenReturn(validProductModel);
         when(productMapper.entityToModel(secondEntity)).thenReturn(secondModel);
 
         List<ProductModel> result = productService.getAllProducts(PageRequest.of(0, 10));
 
         assertNotNull(result);
-        assertEquals(2, result.size());
+        assertEquals(List.of(secondEntity.getId(), validProductId), result.stream().map(ProductModel::getId).toList());
     }
 
     @Test
-    void getAllProducts_ShouldRespectPagination() {
+    void getAllProducts_ShouldRespectPaginationAndOrderById() {
         PageRequest pageRequest = PageRequest.of(1, 5);
-        Page<ProductEntity> page = new PageImpl<>(List.of(validProductEntity));
-        when(productRepository.findAll(pageRequest)).thenReturn(page);
+        when(productRepository.findIdsBy(any(Pageable.class))).thenReturn(new SliceImpl<>(List.of(validProductId)));
+        when(productRepository.findAllWithDiscountPoliciesByIdIn(List.of(validProductId)))
+                .thenReturn(List.of(validProductEntity));
         when(productMapper.entityToModel(validProductEntity)).thenReturn(validProductModel);
 
         List<ProductModel> result = productService.getAllProducts(pageRequest);
 
         assertNotNull(result);
-        verify(productRepository).findAll(pageRequest);
+        verify(productRepository).findIdsBy(PageRequest.of(1, 5, Sort.by("id")));
+    }
+
+    @Test
+    void scrollProducts_WithoutCursor_ShouldStartFromFirstIdAndReturnNextCursor() {
+        UUID nextId = UUID.randomUUID();
+        when(productRepository.findIdsOrderById(Limit.of(2))).thenReturn(List.of(validProductId, nextId));
+        when(productRepository.findAllWithDiscountPoliciesByIdIn(List.of(validProductId)))
+                .thenReturn(List.of(validProductEntity));
+        when(productMapper.entityToModel(validProductEntity)).thenReturn(validProductModel);
+
+        KeysetPage<ProductModel> result = productService.scrollProducts(null, 1);
+
+        assertEquals(List.of(validProductModel), result.getItems());
+        assertEquals(KeysetCursor.encode(validProductId), result.getNextCursor());
+    }
+
+    @Test
+    void scrollProducts_WithCursorOnLastPage_ShouldReturnNoNextCursor() {
+        UUID lastSeenId = UUID.randomUUID();
+        when(productRepository.findIdsAfterOrderById(lastSeenId, Limit.of(11))).thenReturn(List.of(validProductId));
+        when(productRepository.findAllWithDiscountPoliciesByIdIn(List.of(validProductId)))
+                .thenReturn(List.of(validProductEntity));
+        when(productMapper.entityToModel(validProductEntity)).thenReturn(validProductModel);
+
+        KeysetPage<ProductModel> result = productService.scrollProducts(KeysetCursor.encode(lastSeenId), 10);
+
+        assertEquals(List.of(validProductModel), result.getItems());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void scrollProducts_WithInvalidCursor_ShouldThrowException() {
+        assertThrows(InvalidCursorException.class, () -> productService.scrollProducts("%%%", 10));
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void scrollProductsByDiscountPolicy_ShouldLookUpOnlyLinkedProducts() {
+        UUID lastSeenId = UUID.randomUUID();
+        UUID nextId = UUID.randomUUID();
+        when(discountPolicyRepository.existsById(validPolicyId)).thenReturn(true);
+        when(productRepository.findIdsByDiscountPolicyAfterOrderById(validPolicyId, lastSeenId, Limit.of(2)))
+                .thenReturn(List.of(validProductId, nextId));
+        when(productRepository.findAllWithDiscountPoliciesByIdIn(List.of(validProductId)))
+                .thenReturn(List.of(validProductEntity));
+        when(productMapper.entityToModel(validProductEntity)).thenReturn(validProductModel);
+
+        KeysetPage<ProductModel> result = productService.scrollProductsByDiscountPolicy(
+                validPolicyId, KeysetCursor.encode(lastSeenId), 1);
+
+        assertEquals(List.of(validProductModel), result.getItems());
+        assertEquals(KeysetCursor.encode(validProductId), result.getNextCursor());
+        verify(productRepository, never()).findIdsOrderById(any());
+    }
+
+    @Test
+    void scrollProductsByDiscountPolicy_WithNonExistentPolicy_ShouldThrowException() {
+        when(discountPolicyRepository.existsById(validPolicyId)).thenReturn(false);
+
+        assertThrows(DiscountPolicyNotFoundException.class, () ->
+                productService.scrollProductsByDiscountPolicy(validPolicyId, null, 10));
+        verifyNoInteractions(productRepository);
     }
 
     @Test
     void updateProduct_WithValidData_ShouldReturnUpdatedProduct() {
-        when(productRepository.findById(validProductId)).thenReturn(Optional.of(validProductEntity));
-        when(productRepository.save(any(ProductEntity.class))).thenReturn(validProductEntity);
+        when(productRepository.updateNameAndPrice(validProductId, "Updated Product", new BigDecimal("149.99")))
+                .thenReturn(1);
+        when(productRepository.findWithDiscountPoliciesById(validProductId)).thenReturn(Optional.of(validProductEntity));
         when(productMapper.entityToModel(validProductEntity)).thenReturn(validProductModel);
 
         ProductModel result = productService.updateProduct(validProductId, "Updated Product", new BigDecimal("149.99"));
 
         assertNotNull(result);
-        verify(productRepository).save(any(ProductEntity.class));
+        verify(productRepository, never()).findById(any());
+        verify(productRepository, never()).save(any());
+        verify(eventPublisher).publishEvent(new ProductChangedEvent(validProductId));
     }
 
     @Test
     void updateProduct_WithNonExistentId_ShouldThrowException() {
-        when(productRepository.findById(validProductId)).thenReturn(Optional.empty());
+        when(productRepository.updateNameAndPrice(validProductId, "Updated Product", new BigDecimal("149.99")))
+                .thenReturn(0);
 
         assertThrows(ProductNotFoundException.class, () ->
                 productService.updateProduct(validProductId, "Updated Product", new BigDecimal("149.99")));
-        verify(productRepository, never()).save(any());
+        verify(productRepository, never()).findWithDiscountPoliciesById(any());
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
     void addDiscountPolicy_WithValidData_ShouldReturnUpdatedProduct() {
         when(productRepository.findById(validProductId)).thenReturn(Optional.of(validProductEntity));
         when(discountPolicyRepository.findById(validPolicyId)).thenReturn(Optional.of(validPolicyEntity));
-        when(productRepository.save(any(ProductEntity.class))).thenReturn(validProductEntity);
+        when(productRepository.saveAndFlush(any(ProductEntity.class))).thenReturn(validProductEntity);
         when(productMapper.entityToModel(validProductEntity)).thenReturn(validProductModel);
 
         ProductModel result = productService.addDiscountPolicy(validProductId, validPolicyId);
 
         assertNotNull(result);
-        verify(productRepository).save(any(ProductEntity.class));
+        verify(productRepository).saveAndFlush(any(ProductEntity.class));
+        verify(eventPublisher).publishEvent(new ProductChangedEvent(validProductId));
     }
 
     @Test
@@ -210,7 +400,7 @@ class ProductServiceTest {
 
         assertThrows(ProductNotFoundException.class, () ->
                 productService.addDiscountPolicy(validProductId, validPolicyId));
-        verify(productRepository, never()).save(any());
+        verify(productRepository, never()).saveAndFlush(any());
     }
 
     @Test
@@ -220,7 +410,7 @@ class ProductServiceTest {
 
         assertThrows(DiscountPolicyNotFoundException.class, () ->
                 productService.addDiscountPolicy(validProductId, validPolicyId));
-        verify(productRepository, never()).save(any());
+        verify(productRepository, never()).saveAndFlush(any());
     }
 
     @Test
@@ -232,37 +422,285 @@ class ProductServiceTest {
 
         assertThrows(ProductAlreadyContainsPolicyException.class, () ->
                 productService.addDiscountPolicy(validProductId, validPolicyId));
-        verify(productRepository, never()).save(any());
+        verify(productRepository, never()).saveAndFlush(any());
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
-    void removeDiscountPolicy_WithValidData_ShouldReturnUpdatedProduct() {
-        validProductEntity.getDiscountPolicies().add(validPolicyEntity);
+    void addDiscountPolicy_WhenConcurrentUpdateWins_ShouldRetry() {
+        when(productRepository.findById(validProductId)).thenAnswer(invocation -> Optional.of(reloadedProduct()));
+        when(discountPolicyRepository.findById(validPolicyId)).thenReturn(Optional.of(validPolicyEntity));
+        when(productRepository.saveAndFlush(any(ProductEntity.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(ProductEntity.class, validProductId))
+                .thenReturn(validProductEntity);
+        when(productMapper.entityToModel(validProductEntity)).thenReturn(validProductModel);
 
-        when(productRepository.findById(validProductId)).thenReturn(Optional.of(validProductEntity));
-        when(productRepository.save(any(ProductEntity.class))).thenReturn(validProductEntity);
+        ProductModel result = productService.addDiscountPolicy(validProductId, validPolicyId);
+
+        assertNotNull(result);
+        verify(transactionTemplate, times(2)).execute(any());
+        verify(eventPublisher).publishEvent(new ProductChangedEvent(validProductId));
+    }
+
+    @Test
+    void addDiscountPolicy_WhenConcurrentInsertAddedSameLink_ShouldRetry() {
+        when(productRepository.findById(validProductId)).thenAnswer(invocation -> Optional.of(reloadedProduct()));
+        when(discountPolicyRepository.findById(validPolicyId)).thenReturn(Optional.of(validPolicyEntity));
+        when(productRepository.saveAndFlush(any(ProductEntity.class)))
+                .thenThrow(constraintViolation("\"PUBLIC.UK_PRODUCT_DISCOUNT_POLICY_PRODUCT_POLICY ON " +
+                        "PUBLIC.PRODUCT_DISCOUNT_POLICY(PRODUCT_ID NULLS FIRST, DISCOUNT_POLICY_ID NULLS FIRST)\""))
+                .thenReturn(validProductEntity);
+        when(productMapper.entityToModel(validProductEntity)).thenReturn(validProductModel);
+
+        productService.addDiscountPolicy(validProductId, validPolicyId);
+
+        verify(transactionTemplate, times(2)).execute(any());
+    }
+
+    @Test
+    void addDiscountPolicy_WithOtherIntegrityViolation_ShouldRethrowWithoutRetry() {
+        when(productRepository.findById(validProductId)).thenAnswer(invocation -> Optional.of(reloadedProduct()));
+        when(discountPolicyRepository.findById(validPolicyId)).thenReturn(Optional.of(validPolicyEntity));
+        when(productRepository.saveAndFlush(any(ProductEntity.class))).thenThrow(constraintViolation("CONSTRAINT_9F4"));
+
+        assertThrows(DataIntegrityViolationException.class, () ->
+                productService.addDiscountPolicy(validProductId, validPolicyId));
+        verify(transactionTemplate, times(1)).execute(any());
+    }
+
+    @Test
+    void addDiscountPolicy_WhenConflictsPersist_ShouldGiveUp() {
+        when(productRepository.findById(validProductId)).thenAnswer(invocation -> Optional.of(reloadedProduct()));
+        when(discountPolicyRepository.findById(validPolicyId)).thenReturn(Optional.of(validPolicyEntity));
+        when(productRepository.saveAndFlush(any(ProductEntity.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(ProductEntity.class, validProductId));
+
+        assertThrows(ConcurrentUpdateException.class, () ->
+                productService.addDiscountPolicy(validProductId, validPolicyId));
+        verify(transactionTemplate, times(retryProperties.getMaxAttempts())).execute(any());
+    }
+
+    @Test
+    void removeDiscountPolicy_WithValidData_ShouldDeleteLinkAndReturnUpdatedProduct() {
+        when(productRepository.deleteDiscountPolicyLinks(validPolicyId, List.of(validProductId))).thenReturn(1);
+        when(productRepository.findWithDiscountPoliciesById(validProductId)).thenReturn(Optional.of(validProductEntity));
         when(productMapper.entityToModel(validProductEntity)).thenReturn(validProductModel);
 
         ProductModel result = productService.removeDiscountPolicy(validProductId, validPolicyId);
 
         assertNotNull(result);
-        verify(productRepository).save(any(ProductEntity.class));
+        verify(productRepository).incrementVersions(List.of(validProductId));
+        verify(productRepository, never()).findById(any());
+        verify(productRepository, never()).save(any());
+        verify(eventPublisher).publishEvent(new ProductChangedEvent(validProductId));
+    }
+
+    @Test
+    void removeDiscountPolicy_WhenPolicyNotAttached_ShouldLeaveProductUnchanged() {
+        when(productRepository.deleteDiscountPolicyLinks(validPolicyId, List.of(validProductId))).thenReturn(0);
+        when(productRepository.findWithDiscountPoliciesById(validProductId)).thenReturn(Optional.of(validProductEntity));
+        when(productMapper.entityToModel(validProductEntity)).thenReturn(validProductModel);
+
+        ProductModel result = productService.removeDiscountPolicy(validProductId, validPolicyId);
+
+        assertSame(validProductModel, result);
+        verify(productRepository, never()).incrementVersions(any());
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
     void removeDiscountPolicy_WithNonExistentProduct_ShouldThrowException() {
-        when(productRepository.findById(validProductId)).thenReturn(Optional.empty());
+        when(productRepository.deleteDiscountPolicyLinks(validPolicyId, List.of(validProductId))).thenReturn(0);
+        when(productRepository.findWithDiscountPoliciesById(validProductId)).thenReturn(Optional.empty());
 
         assertThrows(ProductNotFoundException.class, () ->
                 productService.removeDiscountPolicy(validProductId, validPolicyId));
+        verify(productRepository, never()).incrementVersions(any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void addDiscountPolicyToProducts_WithValidData_ShouldInsertLinksInOneStatement() {
+        var otherProductId = UUID.randomUUID();
+        var productIds = List.of(validProductId, otherProductId, validProductId);
+        var distinctIds = List.of(validProductId, otherProductId);
+        when(discountPolicyRepository.existsById(validPolicyId)).thenReturn(true);
+        when(productRepository.incrementVersions(distinctIds)).thenReturn(2);
+        when(productRepository.findIdsWithSameDiscountPolicy(validPolicyId, distinctIds)).thenReturn(List.of());
+        when(productRepository.insertDiscountPolicyLinks(validPolicyId, distinctIds)).thenReturn(2);
+
+        int result = productService.addDiscountPolicyToProducts(validPolicyId, productIds);
+
+        assertEquals(2, result);
+        verify(productRepository, never()).findById(any());
+        verify(eventPublisher).publishEvent(new ProductChangedEvent(validProductId));
+        verify(eventPublisher).publishEvent(new ProductChangedEvent(otherProductId));
+    }
+
+    @Test
+    void addDiscountPolicyToProducts_WithManyProducts_ShouldWorkInChunks() {
+        var productIds = new ArrayList<UUID>();
+        for (int i = 0; i < 2_500; i++) {
+            productIds.add(UUID.randomUUID());
+        }
+        when(discountPolicyRepository.existsById(validPolicyId)).thenReturn(true);
+        when(productRepository.incrementVersions(anyList()))
+                .thenAnswer(invocation -> invocation.<List<UUID>>getArgument(0).size());
+        when(productRepository.findIdsWithSameDiscountPolicy(eq(validPolicyId), anyList())).thenReturn(List.of());
+        when(productRepository.insertDiscountPolicyLinks(eq(validPolicyId), anyList()))
+                .thenAnswer(invocation -> invocation.<List<UUID>>getArgument(1).size());
+
+        int result = productService.addDiscountPolicyToProducts(validPolicyId, productIds);
+
+        assertEquals(2_500, result);
+        verify(productRepository, times(3)).insertDiscountPolicyLinks(eq(validPolicyId), anyList());
+        verify(productRepository, times(3)).findIdsWithSameDiscountPolicy(eq(validPolicyId), anyList());
+    }
+
+    @Test
+    void addDiscountPolicyToProducts_WithNonExistentPolicy_ShouldThrowException() {
+        when(discountPolicyRepository.existsById(validPolicyId)).thenReturn(false);
+
+        assertThrows(DiscountPolicyNotFoundException.class, () ->
+                productService.addDiscountPolicyToProducts(validPolicyId, List.of(validProductId)));
+        verify(productRepository, never()).insertDiscountPolicyLinks(any(), any());
+    }
+
+    @Test
+    void addDiscountPolicyToProducts_WithNonExistentProduct_ShouldThrowException() {
+        var missingId = UUID.randomUUID();
+        when(discountPolicyRepository.existsById(validPolicyId)).thenReturn(true);
+        when(productRepository.incrementVersions(List.of(validProductId, missingId))).thenReturn(1);
+        when(productRepository.findIdsByIdIn(List.of(validProductId, missingId))).thenReturn(List.of(validProductId));
+
+        var exception = assertThrows(ProductNotFoundException.class, () ->
+                productService.addDiscountPolicyToProducts(validPolicyId, List.of(validProductId, missingId)));
+        assertTrue(exception.getMessage().contains(missingId.toString()));
+        verify(productRepository, never()).insertDiscountPolicyLinks(any(), any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void addDiscountPolicyToProducts_WithSamePolicyOnAnyProduct_ShouldThrowException() {
+        when(discountPolicyRepository.existsById(validPolicyId)).thenReturn(true);
+        when(productRepository.incrementVersions(List.of(validProductId))).thenReturn(1);
+        when(productRepository.findIdsWithSameDiscountPolicy(validPolicyId, List.of(validProductId)))
+                .thenReturn(List.of(validProductId));
+
+        assertThrows(ProductAlreadyContainsPolicyException.class, () ->
+                productService.addDiscountPolicyToProducts(validPolicyId, List.of(validProductId)));
+        verify(productRepository, never()).insertDiscountPolicyLinks(any(), any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void removeDiscountPolicyFromProducts_WithValidData_ShouldDeleteLinksInOneStatement() {
+        when(productRepository.incrementVersions(List.of(validProductId))).thenReturn(1);
+        when(productRepository.deleteDiscountPolicyLinks(validPolicyId, List.of(validProductId))).thenReturn(1);
+
+        int result = productService.removeDiscountPolicyFromProducts(validPolicyId, List.of(validProductId));
+
+        assertEquals(1, result);
         verify(productRepository, never()).save(any());
+        verify(eventPublisher).publishEvent(new ProductChangedEvent(validProductId));
+    }
+
+    @Test
+    void removeDiscountPolicyFromProducts_WithNonExistentProduct_ShouldThrowException() {
+        when(productRepository.incrementVersions(List.of(validProductId))).thenReturn(0);
+        when(productRepository.findIdsByIdIn(List.of(validProductId))).thenReturn(List.of());
+
+        assertThrows(ProductNotFoundException.class, () ->
+                productService.removeDiscountPolicyFromProducts(validPolicyId, List.of(validProductId)));
+        verify(productRepository, never()).deleteDiscountPolicyLinks(any(), any());
     }
 
     @Test
     void deleteProduct_WithExistingId_ShouldDeleteSuccessfully() {
-        doNothing().when(productRepository).deleteById(validProductId);
+        when(productRepository.deleteProductById(validProductId)).thenReturn(1);
 
         assertDoesNotThrow(() -> productService.deleteProduct(validProductId));
-        verify(productRepository).deleteById(validProductId);
+        verify(productRepository, never()).findById(any());
+        verify(eventPublisher).publishEvent(new ProductChangedEvent(validProductId));
+    }
+
+    @Test
+    void deleteProduct_WithNonExistentId_ShouldThrowException() {
+        when(productRepository.deleteProductById(validProductId)).thenReturn(0);
+
+        assertThrows(ProductNotFoundException.class, () -> productService.deleteProduct(validProductId));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void getProducts_WithExistingIds_ShouldLoadAllInOneQuery() {
+        when(productRepository.findAllWithDiscountPoliciesByIdIn(Set.of(validProductId)))
+                .thenReturn(List.of(validProductEntity));
+        when(productMapper.entityToModel(validProductEntity)).thenReturn(validProductModel);
+
+        List<ProductModel> result = productService.getProducts(Set.of(validProductId));
+
+        assertEquals(1, result.size());
+        assertEquals(validProductId, result.get(0).getId());
+        verify(productRepository, never()).findById(any());
+    }
+
+    @Test
+    void getProducts_WithMissingId_ShouldThrowException() {
+        var missingId = UUID.randomUUID();
+        when(productRepository.findAllWithDiscountPoliciesByIdIn(Set.of(validProductId, missingId)))
+                .thenReturn(List.of(validProductEntity));
+        when(productMapper.entityToModel(validProductEntity)).thenReturn(validProductModel);
+
+        var exception = assertThrows(ProductNotFoundException.class, () ->
+                productService.getProducts(Set.of(validProductId, missingId)));
+        assertTrue(exception.getMessage().contains(missingId.toString()));
+    }
+
+    /**
+     * Every attempt of a retried transaction reads the product again.
+     */
+    private ProductEntity reloadedProduct() {
+        var product = new ProductEntity();
+        product.setId(validProductId);
+        product.setName(validProductEntity.getName());
+        product.setPrice(validProductEntity.getPrice());
+        return product;
+    }
+
+    private static DataIntegrityViolationException constraintViolation(String constraintName) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("could not execute statement", new SQLException(), constraintName));
+    }
+
+    /**
+     * Starts the callers together and releases the blocked load only once every caller is parked, either inside the
+     * load or waiting for it, so all of them overlap with the in-flight query.
+     */
+    private <T> List<T> burst(int callers, Callable<T> call, CountDownLatch release) throws Exception {
+        var executor = Executors.newFixedThreadPool(callers);
+        try {
+            var threads = ConcurrentHashMap.<Thread>newKeySet();
+            var futures = new ArrayList<Future<T>>();
+            for (int i = 0; i < callers; i++) {
+                futures.add(executor.submit(() -> {
+                    threads.add(Thread.currentThread());
+                    return call.call();
+                }));
+            }
+            while (threads.size() < callers || !threads.stream().allMatch(thread ->
+                    thread.getState() == Thread.State.WAITING || thread.getState() == Thread.State.TIMED_WAITING)) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+
+            var results = new ArrayList<T>();
+            for (Future<T> future : futures) {
+                results.add(future.get(5, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
     }
 }
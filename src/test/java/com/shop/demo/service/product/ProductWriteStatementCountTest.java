@@ -0,0 +1,110 @@
+package com.shop.demo.service.product;
+
+import com.shop.demo.persistence.discountpolicy.entity.DiscountPolicyEntity;
+import com.shop.demo.persistence.discountpolicy.entity.DiscountType;
+import com.shop.demo.persistence.discountpolicy.repository.DiscountPolicyRepository;
+import com.shop.demo.persistence.product.entity.ProductEntity;
+import com.shop.demo.persistence.product.repository.ProductRepository;
+import com.shop.demo.service.product.excpetion.ProductNotFoundException;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ProductWriteStatementCountTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private DiscountPolicyRepository discountPolicyRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private UUID productId;
+    private UUID policyId;
+
+    @BeforeEach
+    void setUp() {
+        var policy = new DiscountPolicyEntity();
+        policy.setType(DiscountType.PERCENTAGE);
+        policy.setThreshold(5);
+        policy.setDiscountValue(new BigDecimal("10.00"));
+        policy = discountPolicyRepository.save(policy);
+        policyId = policy.getId();
+
+        var product = new ProductEntity();
+        product.setName("Product");
+        product.setPrice(new BigDecimal("10.00"));
+        product.setDiscountPolicies(new HashSet<>(Set.of(policy)));
+        productId = productRepository.save(product).getId();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAll();
+        discountPolicyRepository.deleteAll();
+    }
+
+    @Test
+    void updateProduct_ShouldUpdateAndReadOnce() {
+        var product = productService.updateProduct(productId, "Renamed", new BigDecimal("12.50"));
+
+        assertEquals("Renamed", product.getName());
+        assertEquals(0, new BigDecimal("12.50").compareTo(product.getPrice()));
+        assertEquals(1, product.getDiscountPolicies().size());
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(1, productRepository.findById(productId).orElseThrow().getVersion());
+    }
+
+    @Test
+    void removeDiscountPolicy_ShouldDeleteLinkBumpVersionAndReadOnce() {
+        var product = productService.removeDiscountPolicy(productId, policyId);
+
+        assertTrue(product.getDiscountPolicies().isEmpty());
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertTrue(discountPolicyRepository.existsById(policyId));
+        assertEquals(1, productRepository.findById(productId).orElseThrow().getVersion());
+    }
+
+    @Test
+    void removeDiscountPolicy_WhenPolicyNotAttached_ShouldOnlyDeleteAndRead() {
+        productService.removeDiscountPolicy(productId, policyId);
+        statistics.clear();
+
+        var product = productService.removeDiscountPolicy(productId, policyId);
+
+        assertTrue(product.getDiscountPolicies().isEmpty());
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(1, productRepository.findById(productId).orElseThrow().getVersion());
+    }
+
+    @Test
+    void deleteProduct_ShouldIssueSingleDelete() {
+        productService.deleteProduct(productId);
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertFalse(productRepository.existsById(productId));
+        assertThrows(ProductNotFoundException.class, () -> productService.deleteProduct(productId));
+    }
+}
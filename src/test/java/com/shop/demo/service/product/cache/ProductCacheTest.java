@@ -0,0 +1,176 @@
+package com.shop.demo.service.product.cache;
+
+import com.shop.demo.persistence.discountpolicy.entity.DiscountType;
+import com.shop.demo.service.discountpolicy.event.DiscountPolicyChangedEvent;
+import com.shop.demo.service.discountpolicy.model.DiscountPolicyModel;
+import com.shop.demo.service.product.config.ProductCacheProperties;
+import com.shop.demo.service.product.event.ProductChangedEvent;
+import com.shop.demo.service.product.model.ProductModel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductCacheTest {
+
+    private ProductCacheProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private UUID policyId;
+    private ProductModel productWithPolicy;
+    private ProductModel productWithoutPolicy;
+    private AtomicInteger loads;
+    private Function<UUID, ProductModel> loader;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ProductCacheProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        policyId = UUID.randomUUID();
+        productWithPolicy = product(List.of(DiscountPolicyModel.builder()
+                .id(policyId)
+                .type(DiscountType.PERCENTAGE)
+                .threshold(5)
+                .value(new BigDecimal("10.00"))
+                .build()));
+        productWithoutPolicy = product(List.of());
+        loads = new AtomicInteger();
+        loader = id -> {
+            loads.incrementAndGet();
+            return id.equals(productWithPolicy.getId()) ? productWithPolicy : productWithoutPolicy;
+        };
+    }
+
+    @Test
+    void get_WhenCached_ShouldNotLoadAgain() {
+        var productCache = new ProductCache(properties, meterRegistry);
+
+        var first = productCache.get(productWithPolicy.getId(), loader);
+        var second = productCache.get(productWithPolicy.getId(), loader);
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void get_WhenDisabled_ShouldAlwaysLoad() {
+        properties.setEnabled(false);
+        var productCache = new ProductCache(properties, meterRegistry);
+
+        productCache.get(productWithPolicy.getId(), loader);
+        productCache.get(productWithPolicy.getId(), loader);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void onProductChanged_ShouldEvictOnlyThatProduct() {
+        var productCache = new ProductCache(properties, meterRegistry);
+        productCache.get(productWithPolicy.getId(), loader);
+        productCache.get(productWithoutPolicy.getId(), loader);
+
+        productCache.onProductChanged(new ProductChangedEvent(productWithPolicy.getId()));
+        productCache.get(productWithPolicy.getId(), loader);
+        productCache.get(productWithoutPolicy.getId(), loader);
+
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void onDiscountPolicyChanged_ShouldEvictOnlyLinkedProducts() {
+        var productCache = new ProductCache(properties, meterRegistry);
+        productCache.get(productWithPolicy.getId(), loader);
+        productCache.get(productWithoutPolicy.getId(), loader);
+
+        productCache.onDiscountPolicyChanged(new DiscountPolicyChangedEvent(policyId,
+                List.of(productWithPolicy.getId())));
+        productCache.get(productWithPolicy.getId(), loader);
+        productCache.get(productWithoutPolicy.getId(), loader);
+
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void get_WhenInvalidatedDuringLoad_ShouldNotKeepLoadedProduct() {
+        var productCache = new ProductCache(properties, meterRegistry);
+        Function<UUID, ProductModel> racingLoader = id -> {
+            var product = loader.apply(id);
+            productCache.onProductChanged(new ProductChangedEvent(id));
+            return product;
+        };
+
+        productCache.get(productWithPolicy.getId(), racingLoader);
+        productCache.get(productWithPolicy.getId(), loader);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_ShouldPublishHitAndMissMetrics() {
+        var productCache = new ProductCache(properties, meterRegistry);
+
+        productCache.get(productWithPolicy.getId(), loader);
+        productCache.get(productWithPolicy.getId(), loader);
+        productCache.get(productWithPolicy.getId(), loader);
+
+        assertEquals(2, meterRegistry.get("cache.gets").tags("cache", ProductCache.NAME, "result", "hit")
+                .functionCounter().count());
+        assertEquals(1, meterRegistry.get("cache.gets").tags("cache", ProductCache.NAME, "result", "miss")
+                .functionCounter().count());
+        assertNotNull(meterRegistry.get("cache.evictions").tags("cache", ProductCache.NAME).functionCounter());
+    }
+
+    @Test
+    void get_AfterProductChangedDuringLoad_ShouldStartNewLoadInsteadOfJoining() throws Exception {
+        var productCache = new ProductCache(properties, meterRegistry);
+        var release = new CountDownLatch(1);
+        Function<UUID, ProductModel> blockingLoader = id -> {
+            if (loads.get() == 0) {
+                loads.incrementAndGet();
+                awaitUninterruptibly(release);
+                return productWithoutPolicy;
+            }
+            return loader.apply(id);
+        };
+        var staleLoad = CompletableFuture.supplyAsync(() -> productCache.get(productWithPolicy.getId(), blockingLoader));
+        while (loads.get() == 0) {
+            Thread.onSpinWait();
+        }
+
+        productCache.onProductChanged(new ProductChangedEvent(productWithPolicy.getId()));
+        var fresh = assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> productCache.get(productWithPolicy.getId(), blockingLoader));
+        release.countDown();
+
+        assertSame(productWithPolicy, fresh);
+        assertSame(productWithoutPolicy, staleLoad.get(5, TimeUnit.SECONDS));
+        assertEquals(2, loads.get());
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private ProductModel product(List<DiscountPolicyModel> discountPolicies) {
+        return ProductModel.builder()
+                .id(UUID.randomUUID())
+                .name("Product")
+                .price(new BigDecimal("100.00"))
+                .discountPolicies(discountPolicies)
+                .build();
+    }
+}
@@ -0,0 +1,136 @@
+package com.shop.demo.service.product.importing;
+
+import com.shop.demo.persistence.product.entity.ProductEntity;
+import com.shop.demo.persistence.product.repository.ProductRepository;
+import com.shop.demo.service.product.config.ProductImportProperties;
+import com.shop.demo.service.product.model.ProductImportRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductImportServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private ProductImportProperties properties;
+    private ProductImportServiceImpl productImportService;
+    private List<Integer> savedBatchSizes;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ProductImportProperties();
+        properties.setBatchSize(3);
+        productImportService = new ProductImportServiceImpl(productRepository, transactionTemplate, properties);
+        savedBatchSizes = new ArrayList<>();
+
+        lenient().doAnswer(invocation -> {
+            invocation.<Consumer<Object>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @Test
+    void importProducts_ShouldInsertInBatchesOfConfiguredSize() {
+        recordSavedBatches();
+
+        var result = productImportService.importProducts(validRows(7));
+
+        assertEquals(7, result.getImported());
+        assertEquals(0, result.getFailed());
+        assertTrue(result.getFailures().isEmpty());
+        assertEquals(List.of(3, 3, 1), savedBatchSizes);
+        verify(transactionTemplate, times(3)).executeWithoutResult(any());
+    }
+
+    @Test
+    void importProducts_WithInvalidRows_ShouldReportThemAndImportTheRest() {
+        recordSavedBatches();
+        var rows = Stream.of(
+                valid(1),
+                ProductImportRow.builder().lineNumber(2).error("name:Name must not be blank").build(),
+                valid(3));
+
+        var result = productImportService.importProducts(rows);
+
+        assertEquals(2, result.getImported());
+        assertEquals(1, result.getFailed());
+        assertEquals(2, result.getFailures().get(0).getLineNumber());
+        assertEquals("name:Name must not be blank", result.getFailures().get(0).getMessage());
+        assertEquals(List.of(2), savedBatchSizes);
+    }
+
+    @Test
+    void importProducts_WhenBatchIsRejected_ShouldRetryRowByRow() {
+        when(productRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<ProductEntity> entities = invocation.getArgument(0);
+            if (entities.stream().anyMatch(entity -> entity.getName().equals("Product 2"))) {
+                throw new DataIntegrityViolationException("rejected");
+            }
+            return entities;
+        });
+
+        var result = productImportService.importProducts(validRows(3));
+
+        assertEquals(2, result.getImported());
+        assertEquals(1, result.getFailed());
+        assertEquals(2, result.getFailures().get(0).getLineNumber());
+        assertEquals("rejected", result.getFailures().get(0).getMessage());
+        verify(productRepository, times(4)).saveAll(anyList());
+    }
+
+    @Test
+    void importProducts_ShouldCapReportedFailures() {
+        properties.setMaximumReportedFailures(2);
+        var rows = LongStream.rangeClosed(1, 5)
+                .mapToObj(line -> ProductImportRow.builder().lineNumber(line).error("invalid").build());
+
+        var result = productImportService.importProducts(rows);
+
+        assertEquals(0, result.getImported());
+        assertEquals(5, result.getFailed());
+        assertEquals(2, result.getFailures().size());
+        verifyNoInteractions(productRepository);
+    }
+
+    private void recordSavedBatches() {
+        when(productRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<ProductEntity> entities = invocation.getArgument(0);
+            savedBatchSizes.add(entities.size());
+            return entities;
+        });
+    }
+
+    private Stream<ProductImportRow> validRows(int count) {
+        return LongStream.rangeClosed(1, count).mapToObj(this::valid);
+    }
+
+    private ProductImportRow valid(long lineNumber) {
+        return ProductImportRow.builder()
+                .lineNumber(lineNumber)
+                .name("Product " + lineNumber)
+                .price(new BigDecimal("10.00"))
+                .build();
+    }
+}
@@ -0,0 +1,80 @@
+package com.shop.demo.service.product.importing;
+
+import com.shop.demo.persistence.product.repository.ProductRepository;
+import com.shop.demo.service.product.model.ProductImportRow;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "shop.product-import.batch-size=500"
+})
+class ProductImportStatementCountTest {
+    private static final int ROW_COUNT = 2_000;
+
+    @Autowired
+    private ProductImportService productImportService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void importProducts_ShouldPrepareOneInsertPerBatch() {
+        var rows = LongStream.rangeClosed(1, ROW_COUNT).mapToObj(line -> ProductImportRow.builder()
+                .lineNumber(line)
+                .name("Imported " + line)
+                .price(new BigDecimal("10.00"))
+                .build());
+
+        var result = productImportService.importProducts(rows);
+        var preparedStatements = statistics.getPrepareStatementCount();
+
+        assertEquals(ROW_COUNT, result.getImported());
+        assertEquals(ROW_COUNT, statistics.getEntityInsertCount());
+        assertEquals(ROW_COUNT / 500, preparedStatements);
+        assertEquals(ROW_COUNT, productRepository.count());
+    }
+
+    @Test
+    void importProducts_WhenRowIsRejectedByDatabase_ShouldImportTheRestOfTheBatch() {
+        var rows = LongStream.rangeClosed(1, 10).mapToObj(line -> ProductImportRow.builder()
+                .lineNumber(line)
+                .name("Imported " + line)
+                .price(line == 5 ? new BigDecimal("123456789012.00") : new BigDecimal("10.00"))
+                .build());
+
+        var result = productImportService.importProducts(rows);
+
+        assertEquals(9, result.getImported());
+        assertEquals(1, result.getFailed());
+        assertEquals(5, result.getFailures().get(0).getLineNumber());
+        assertEquals(9, productRepository.count());
+    }
+}